@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
-import { apiService } from '../services/api';
+import { apiService, carImageUrl } from '../services/api';
 import { useAuth } from '../context/AuthContext';
 import type { Car, PricingPlan, PriceCalculation } from '../types';
 import BookingForm from './BookingForm';
@@ -122,9 +122,9 @@ const CarDetails: React.FC = () => {
         <div>
           <div className="bg-white rounded-lg shadow-lg overflow-hidden mb-6">
             <div className="h-96 bg-gray-200 flex items-center justify-center">
-              {car.imageUrl ? (
+              {carImageUrl(car, 'medium') ? (
                 <img
-                  src={car.imageUrl}
+                  src={carImageUrl(car, 'medium')}
                   alt={`${car.brand} ${car.model}`}
                   className="h-full w-full object-cover"
                   onError={(e) => {
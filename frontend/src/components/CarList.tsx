@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
-import { apiService } from '../services/api';
+import { apiService, carImageUrl } from '../services/api';
 import type { Car, Category } from '../types';
 
 /**
@@ -165,9 +165,9 @@ const CarList: React.FC = () => {
               style={{ animationDelay: `${index * 0.1}s` }}
             >
               <div className="h-48 bg-gradient-to-br from-dark-card to-dark-surface flex items-center justify-center relative overflow-hidden">
-                {car.imageUrl ? (
+                {carImageUrl(car) ? (
                   <img
-                    src={car.imageUrl}
+                    src={carImageUrl(car)}
                     alt={`${car.brand} ${car.model}`}
                     className="h-full w-full object-cover group-hover:scale-110 transition-transform duration-500"
                     onError={(e) => {
@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate, useLocation } from 'react-router-dom';
-import { apiService } from '../services/api';
+import { apiService, carImageUrl } from '../services/api';
 import type { Car, PriceCalculation } from '../types';
 
 /**
@@ -92,9 +92,9 @@ const Configuration: React.FC = () => {
             <h1 className="text-4xl font-bold mb-4 animate-slide-down">Configure Your Rental</h1>
             <div className="flex items-center space-x-6 mt-6">
               <div className="h-32 w-48 bg-white/10 backdrop-blur-sm rounded-xl flex items-center justify-center border-2 border-white/20 animate-scale-in">
-                {car.imageUrl ? (
+                {carImageUrl(car, 'medium') ? (
                   <img
-                    src={car.imageUrl}
+                    src={carImageUrl(car, 'medium')}
                     alt={`${car.brand} ${car.model}`}
                     className="h-full w-full object-cover rounded-xl"
                     onError={(e) => {
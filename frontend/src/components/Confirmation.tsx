@@ -1,6 +1,7 @@
 import React from 'react';
 import { useNavigate, useLocation } from 'react-router-dom';
 import type { Car, PriceCalculation, Booking, Payment } from '../types';
+import { carImageUrl } from '../services/api';
 
 /**
  * Confirmation Page - Dark Theme with Animations
@@ -80,9 +81,9 @@ const Confirmation: React.FC = () => {
                   </h2>
                   <div className="flex items-center space-x-6 glass rounded-xl p-6">
                     <div className="h-24 w-36 bg-dark-card rounded-xl flex items-center justify-center border-2 border-dark-border">
-                      {car.imageUrl ? (
+                      {carImageUrl(car, 'medium') ? (
                         <img
-                          src={car.imageUrl}
+                          src={carImageUrl(car, 'medium')}
                           alt={`${car.brand} ${car.model}`}
                           className="h-full w-full object-cover rounded-xl"
                           onError={(e) => {
@@ -32,7 +32,7 @@ const Dashboard: React.FC = () => {
 
     setIsLoading(true);
     try {
-      const response = await apiService.getUserBookings(user.id);
+      const response = await apiService.syncUserBookings(user.id);
       if (response.success && response.data) {
         setBookings(response.data);
       } else {
@@ -1,6 +1,6 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useNavigate, useLocation } from 'react-router-dom';
-import { apiService } from '../services/api';
+import { apiService, carImageUrl } from '../services/api';
 import { useAuth } from '../context/AuthContext';
 import type { Car, PriceCalculation, BookingRequest } from '../types';
 
@@ -19,6 +19,13 @@ const Review: React.FC = () => {
 
   const [startDate, setStartDate] = useState('');
   const [isProcessing, setIsProcessing] = useState(false);
+  // One key per checkout: pressing confirm again after a timeout replays the first booking
+  const idempotencyKey = useRef(crypto.randomUUID());
+
+  // A different start date is a different booking request
+  useEffect(() => {
+    idempotencyKey.current = crypto.randomUUID();
+  }, [startDate]);
   const [error, setError] = useState('');
 
   useEffect(() => {
@@ -58,7 +65,7 @@ const Review: React.FC = () => {
       console.log('Creating booking with data:', bookingData);
       console.log('JWT Token:', apiService.getToken() ? 'Present' : 'Missing');
 
-      const bookingResponse = await apiService.createBooking(bookingData);
+      const bookingResponse = await apiService.createBooking(bookingData, idempotencyKey.current);
 
       console.log('Booking response:', bookingResponse);
 
@@ -179,9 +186,9 @@ const Review: React.FC = () => {
             <div className="glass rounded-xl p-6">
               <div className="flex items-center space-x-6">
                 <div className="h-28 w-40 bg-dark-card rounded-xl flex items-center justify-center border-2 border-dark-border">
-                  {car.imageUrl ? (
+                  {carImageUrl(car, 'medium') ? (
                     <img
-                      src={car.imageUrl}
+                      src={carImageUrl(car, 'medium')}
                       alt={`${car.brand} ${car.model}`}
                       className="h-full w-full object-cover rounded-xl"
                       onError={(e) => {
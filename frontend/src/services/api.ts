@@ -9,6 +9,7 @@ import type {
   Car,
   Category,
   Booking,
+  BookingSync,
   Payment,
   PriceCalculation
 } from '../types';
@@ -25,6 +26,8 @@ import type {
 
 class ApiService {
   private api: AxiosInstance;
+  // Booking history per user, kept current with incremental syncs (see syncUserBookings)
+  private bookingHistory = new Map<number, { watermark: string | null; bookings: Map<number, Booking> }>();
 
   constructor() {
     // Create axios instance with base configuration
@@ -109,6 +112,7 @@ class ApiService {
 
   clearToken(): void {
     localStorage.removeItem('authToken');
+    this.bookingHistory.clear();
   }
 
   // Auth endpoints
@@ -178,10 +182,16 @@ class ApiService {
   }
 
   // Booking endpoints
-  async createBooking(bookingData: BookingRequest): Promise<ApiResponse<Booking>> {
+  // Reuse the same idempotencyKey when retrying a booking so the server replays instead of booking twice
+  async createBooking(
+    bookingData: BookingRequest,
+    idempotencyKey: string = crypto.randomUUID()
+  ): Promise<ApiResponse<Booking>> {
     console.log('API: Creating booking at /bookings with data:', bookingData);
     try {
-      const response = await this.api.post<ApiResponse<Booking>>('/bookings', bookingData);
+      const response = await this.api.post<ApiResponse<Booking>>('/bookings', bookingData, {
+        headers: { 'Idempotency-Key': idempotencyKey },
+      });
       console.log('API: Booking created successfully:', response.data);
       return response.data;
     } catch (error) {
@@ -195,6 +205,22 @@ class ApiService {
     return response.data;
   }
 
+  // Only fetches bookings changed since the last call and merges them by ID into the cached history
+  async syncUserBookings(userId: number): Promise<ApiResponse<Booking[]>> {
+    const history = this.bookingHistory.get(userId) ?? { watermark: null, bookings: new Map<number, Booking>() };
+    const response = await this.api.get<ApiResponse<BookingSync>>(`/bookings/user/${userId}/sync`, {
+      params: history.watermark ? { since: history.watermark } : undefined,
+    });
+    if (!response.data.success || !response.data.data) {
+      return { ...response.data, data: null };
+    }
+    response.data.data.bookings.forEach((booking) => history.bookings.set(booking.id, booking));
+    history.watermark = response.data.data.watermark;
+    this.bookingHistory.set(userId, history);
+    const bookings = [...history.bookings.values()].sort((a, b) => a.id - b.id);
+    return { ...response.data, data: bookings };
+  }
+
   async getBookingById(id: number): Promise<ApiResponse<Booking>> {
     const response = await this.api.get<ApiResponse<Booking>>(`/bookings/${id}`);
     return response.data;
@@ -219,3 +245,15 @@ class ApiService {
 
 // Export singleton instance
 export const apiService = new ApiService();
+
+// Uploaded car images are served by key (thumb / medium / original); older cars still carry a full imageUrl
+export const carImageUrl = (
+  car: Pick<Car, 'imageKey' | 'imageUrl'>,
+  variant: 'thumb' | 'medium' | 'original' = 'thumb'
+): string | undefined => {
+  if (car.imageKey) {
+    const base = import.meta.env.DEV ? '/api' : 'http://localhost:8080/api';
+    return `${base}/images/${car.imageKey}/${variant}`;
+  }
+  return car.imageUrl;
+};
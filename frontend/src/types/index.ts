@@ -20,8 +20,9 @@ export interface Car {
   id: number;
   brand: string;
   model: string;
+  imageKey?: string;
   imageUrl?: string;
-  status: 'AVAILABLE' | 'RENTED' | 'MAINTENENCE';
+  status: 'AVAILABLE' | 'RENTED' | 'MAINTENENCE' | 'HELD';
   category: Category;
 }
 
@@ -48,6 +49,12 @@ export interface Booking {
   updatedAt: string;
 }
 
+// GET /bookings/user/{id}/sync: bookings changed since `since`, and the watermark for the next call
+export interface BookingSync {
+  bookings: Booking[];
+  watermark: string | null;
+}
+
 export interface Payment {
   id: number;
   bookingId: number;
@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# Measures time from JVM launch to the first successful GET /api/cars.
+#
+# Usage:
+#   scripts/startup-benchmark.sh [baseline|aot] [runs]
+#
+#   baseline  plain boot jar from build/libs            (./gradlew bootJar)
+#   aot       extracted jar + Spring AOT + JVM AOT cache (./gradlew -Paot trainAotCache)
+#
+# Prints one line per run and a final "median_ms=<n>" line that CI can scrape.
+
+set -euo pipefail
+
+MODE="${1:-baseline}"
+RUNS="${2:-5}"
+PORT="${PORT:-8080}"
+URL="http://localhost:${PORT}/api/cars"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+
+case "$MODE" in
+  baseline)
+    JAR="$(ls "$ROOT"/build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)"
+    CMD=("$JAVA" -jar "$JAR")
+    ;;
+  aot)
+    JAR="$(ls "$ROOT"/build/startup/app/*.jar | head -n 1)"
+    CMD=("$JAVA" -XX:AOTCache="$ROOT/build/startup/app.aot" -Dspring.aot.enabled=true -jar "$JAR")
+    ;;
+  *)
+    echo "Unknown mode: $MODE (expected baseline or aot)" >&2
+    exit 1
+    ;;
+esac
+
+now_ms() {
+  date +%s%3N
+}
+
+results=()
+for i in $(seq 1 "$RUNS"); do
+  start=$(now_ms)
+  "${CMD[@]}" --server.port="$PORT" --app.seed.enabled=false > /dev/null 2>&1 &
+  pid=$!
+
+  until curl -sf -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "Application exited before serving $URL" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+
+  elapsed=$(( $(now_ms) - start ))
+  results+=("$elapsed")
+  echo "run=$i mode=$MODE time_to_first_response_ms=$elapsed"
+
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+done
+
+median=$(printf '%s\n' "${results[@]}" | sort -n | awk '{a[NR]=$1} END {print a[int((NR + 1) / 2)]}')
+echo "median_ms=$median"
@@ -0,0 +1,59 @@
+package com.sixt.carrental.common;
+
+import com.sixt.carrental.dto.response.PriceCalculationResponse;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// BigDecimal vs Money for the quote path. Run with the gc profiler (default in build.gradle)
+// and compare gc.alloc.rate.norm (bytes per operation).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoneyBenchmark {
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    private BigDecimal pricePerMonth;
+    private Money pricePerMonthMoney;
+    private int durationMonths;
+
+    // Shape of the quote response before Money was introduced
+    public record BigDecimalQuote(Long categoryId, String categoryName, Integer durationMonths,
+                                  Integer kmPackage, BigDecimal pricePerMonth, BigDecimal totalAmount) {
+    }
+
+    @Setup
+    public void setUp() {
+        pricePerMonth = new BigDecimal("26000.00");
+        pricePerMonthMoney = Money.of(pricePerMonth);
+        durationMonths = 3;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalTotal() {
+        return pricePerMonth.multiply(BigDecimal.valueOf(durationMonths));
+    }
+
+    @Benchmark
+    public long moneyTotal() {
+        return pricePerMonthMoney.times(durationMonths).getMinorUnits();
+    }
+
+    @Benchmark
+    public void bigDecimalQuoteJson() {
+        BigDecimal total = pricePerMonth.multiply(BigDecimal.valueOf(durationMonths));
+        mapper.writeValue(sink, new BigDecimalQuote(1L, "Standard Sedan", durationMonths, 1000, pricePerMonth, total));
+    }
+
+    @Benchmark
+    public void moneyQuoteJson() {
+        Money total = pricePerMonthMoney.times(durationMonths);
+        mapper.writeValue(sink, new PriceCalculationResponse(1L, "Standard Sedan", durationMonths, 1000,
+                pricePerMonthMoney, total));
+    }
+}
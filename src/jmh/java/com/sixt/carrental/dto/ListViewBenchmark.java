@@ -0,0 +1,88 @@
+package com.sixt.carrental.dto;
+
+import com.sixt.carrental.dto.response.ApiResponse;
+import com.sixt.carrental.dto.response.CarSummary;
+import com.sixt.carrental.entity.Car;
+import com.sixt.carrental.entity.Category;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// GET /api/cars body for a 200-car fleet: full entities vs the lean CarSummary view, JSON vs CBOR.
+// Serialization time per list is measured; body sizes (raw and gzipped) are printed once in setup.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ListViewBenchmark {
+
+    private static final int CARS = 200;
+
+    private final ObjectMapper json = JsonMapper.builder().build();
+    private final ObjectMapper cbor = CBORMapper.builder().build();
+
+    private ApiResponse entities;
+    private ApiResponse summaries;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Car> cars = new ArrayList<>(CARS);
+        for (int i = 0; i < CARS; i++) {
+            Category category = new Category();
+            category.setId((long) (i % 6));
+            category.setCode("CATEGORY_" + (i % 6));
+            category.setName("Category " + (i % 6));
+            category.setDescription("Comfortable cars for everyday subscriptions, category " + (i % 6));
+            category.setCreatedAt(LocalDateTime.now());
+
+            Car car = new Car();
+            car.setId((long) i);
+            car.setCategory(category);
+            car.setBrand("Brand" + (i % 12));
+            car.setModel("Model " + i);
+            car.setImageUrl("https://images.example.com/fleet/" + i + "/front-three-quarter.jpg");
+            car.setStatus(Car.CarStatus.AVAILABLE);
+            car.setVersion(3L);
+            car.setCreatedAt(LocalDateTime.now());
+            car.setUpdatedAt(LocalDateTime.now());
+            cars.add(car);
+        }
+        entities = ApiResponse.success("Cars fetched successfully", cars);
+        summaries = ApiResponse.success("Cars fetched successfully", cars.stream().map(CarSummary::from).toList());
+
+        report("entities/json", json.writeValueAsBytes(entities));
+        report("summary/json", json.writeValueAsBytes(summaries));
+        report("summary/cbor", cbor.writeValueAsBytes(summaries));
+    }
+
+    @Benchmark
+    public byte[] entitiesJson() {
+        return json.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] summariesJson() {
+        return json.writeValueAsBytes(summaries);
+    }
+
+    @Benchmark
+    public byte[] summariesCbor() {
+        return cbor.writeValueAsBytes(summaries);
+    }
+
+    private static void report(String variant, byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        System.out.printf("%n%-14s %7d bytes, %6d gzipped%n", variant, body.length, out.size());
+    }
+}
@@ -0,0 +1,49 @@
+package com.sixt.carrental.pricing;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Quotes per second on one core (single thread, ops/s): multiplier lookup + price adjustment
+// over varying inputs.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+public class PricingRulesBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    private PricingRules rules;
+    private long[] basePrices;
+    private int[] utilization;
+    private long[] leadDays;
+    private int[] months;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        rules = PricingRules.compile("60:1.05,80:1.10,90:1.20", "0:1.08,7:1.03,30:1.00,90:0.97",
+                "1.00,1.00,1.00,1.00,1.05,1.10,1.10,1.10,1.00,1.00,1.05,1.10", "0.90", "1.30");
+
+        basePrices = new long[INPUTS];
+        utilization = new int[INPUTS];
+        leadDays = new long[INPUTS];
+        months = new int[INPUTS];
+        Random random = new Random(42);
+        for (int i = 0; i < INPUTS; i++) {
+            basePrices[i] = 1_500_000L + random.nextInt(3_000_000);
+            utilization[i] = random.nextInt(101);
+            leadDays[i] = random.nextInt(180);
+            months[i] = 1 + random.nextInt(12);
+        }
+    }
+
+    @Benchmark
+    public long quote() {
+        int i = index++ & (INPUTS - 1);
+        long multiplier = rules.multiplier(utilization[i], leadDays[i], months[i]);
+        return rules.apply(basePrices[i], multiplier);
+    }
+}
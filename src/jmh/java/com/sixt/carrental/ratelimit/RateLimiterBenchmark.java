@@ -0,0 +1,47 @@
+package com.sixt.carrental.ratelimit;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost RateLimitFilter adds per request: key lookup + one CAS.
+// "hotKey" is a single client hammering (contended CAS), "manyKeys" is a spread of IPs.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimiterBenchmark {
+
+    private static final int KEY_COUNT = 10_000;
+
+    private RateLimiter limiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        // Effectively unlimited so we measure the bookkeeping, not the rejections
+        limiter = new RateLimiter("bench", Integer.MAX_VALUE / 2, 1_000_000_000d, KEY_COUNT * 2);
+        keys = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean hotKey() {
+        return limiter.tryAcquire("ip:10.0.0.1");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean manyKeys(Cursor cursor) {
+        int i = cursor.next;
+        cursor.next = i + 1 == KEY_COUNT ? 0 : i + 1;
+        return limiter.tryAcquire(keys[i]);
+    }
+}
@@ -0,0 +1,124 @@
+package com.sixt.carrental.repository;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Booking status change: old load-and-save (SELECT + full-row UPDATE) vs the guarded
+// single-column UPDATE used by BookingRepository.transitionStatus.
+// Defaults to in-memory H2; pass -Djmh.jdbcUrl/-Djmh.jdbcUser/-Djmh.jdbcPassword to run
+// against PostgreSQL, where the saved round trip dominates.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatusTransitionBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    private Connection connection;
+    private PreparedStatement select;
+    private PreparedStatement fullUpdate;
+    private PreparedStatement guardedUpdate;
+    private long counter;
+
+    @Setup
+    public void setUp() throws SQLException {
+        String url = System.getProperty("jmh.jdbcUrl", "jdbc:h2:mem:bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        connection = DriverManager.getConnection(url,
+                System.getProperty("jmh.jdbcUser", "sa"), System.getProperty("jmh.jdbcPassword", ""));
+        connection.setAutoCommit(true);
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS bench_bookings");
+            ddl.execute("CREATE TABLE bench_bookings (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, " +
+                    "car_id BIGINT NOT NULL, duration_months INT NOT NULL, km_package INT NOT NULL, " +
+                    "price_per_month NUMERIC(10,2) NOT NULL, total_amount NUMERIC(10,2) NOT NULL, " +
+                    "start_date DATE NOT NULL, end_date DATE NOT NULL, status VARCHAR(20) NOT NULL, " +
+                    "version BIGINT NOT NULL, created_at TIMESTAMP, updated_at TIMESTAMP)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_bookings VALUES (?, ?, ?, 3, 1000, 26000.00, 78000.00, ?, ?, 'PENDING', 0, ?, ?)")) {
+            for (int id = 0; id < ROWS; id++) {
+                insert.setLong(1, id);
+                insert.setLong(2, id % 100);
+                insert.setLong(3, id % 50);
+                insert.setDate(4, Date.valueOf(LocalDate.of(2025, 1, 1)));
+                insert.setDate(5, Date.valueOf(LocalDate.of(2025, 4, 1)));
+                insert.setTimestamp(6, new Timestamp(System.currentTimeMillis()));
+                insert.setTimestamp(7, new Timestamp(System.currentTimeMillis()));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        select = connection.prepareStatement("SELECT * FROM bench_bookings WHERE id = ?");
+        fullUpdate = connection.prepareStatement("UPDATE bench_bookings SET user_id = ?, car_id = ?, " +
+                "duration_months = ?, km_package = ?, price_per_month = ?, total_amount = ?, start_date = ?, " +
+                "end_date = ?, status = ?, version = ?, updated_at = ? WHERE id = ? AND version = ?");
+        guardedUpdate = connection.prepareStatement("UPDATE bench_bookings SET status = ?, version = version + 1, " +
+                "updated_at = ? WHERE id = ? AND status = ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    // What confirmBooking did before: load the entity, then write every column back
+    @Benchmark
+    public int loadAndSaveFullRow() throws SQLException {
+        int id = (int) (nextCall() % ROWS);
+        select.setLong(1, id);
+        try (ResultSet row = select.executeQuery()) {
+            row.next();
+            long version = row.getLong("version");
+            fullUpdate.setLong(1, row.getLong("user_id"));
+            fullUpdate.setLong(2, row.getLong("car_id"));
+            fullUpdate.setInt(3, row.getInt("duration_months"));
+            fullUpdate.setInt(4, row.getInt("km_package"));
+            fullUpdate.setBigDecimal(5, row.getBigDecimal("price_per_month"));
+            fullUpdate.setBigDecimal(6, row.getBigDecimal("total_amount"));
+            fullUpdate.setDate(7, row.getDate("start_date"));
+            fullUpdate.setDate(8, row.getDate("end_date"));
+            fullUpdate.setString(9, flip(row.getString("status")));
+            fullUpdate.setLong(10, version + 1);
+            fullUpdate.setTimestamp(11, new Timestamp(System.currentTimeMillis()));
+            fullUpdate.setLong(12, id);
+            fullUpdate.setLong(13, version);
+        }
+        return expectOneRow(fullUpdate.executeUpdate(), id);
+    }
+
+    // Guarded transition: one statement, no read
+    @Benchmark
+    public int guardedSingleColumnUpdate() throws SQLException {
+        long call = nextCall();
+        int id = (int) (call % ROWS);
+        // Rows are seeded PENDING and every pass visits each row once: even passes confirm, odd passes
+        // revert, so the guard matches on every call (a 0-row no-op probe would flatter this variant)
+        boolean toConfirmed = (call / ROWS) % 2 == 0;
+        guardedUpdate.setString(1, toConfirmed ? "CONFIRMED" : "PENDING");
+        guardedUpdate.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+        guardedUpdate.setLong(3, id);
+        guardedUpdate.setString(4, toConfirmed ? "PENDING" : "CONFIRMED");
+        return expectOneRow(guardedUpdate.executeUpdate(), id);
+    }
+
+    private long nextCall() {
+        return counter++;
+    }
+
+    // Sanity check: both variants must really write the row on every call to be comparable
+    private static int expectOneRow(int updated, int id) {
+        if (updated != 1) {
+            throw new IllegalStateException("Expected to update booking " + id + " but updated " + updated + " rows");
+        }
+        return updated;
+    }
+
+    private static String flip(String status) {
+        return "PENDING".equals(status) ? "CONFIRMED" : "PENDING";
+    }
+}
@@ -0,0 +1,80 @@
+package com.sixt.carrental.search;
+
+import com.sixt.carrental.cache.InvalidationPublisher;
+import com.sixt.carrental.cache.LocalInvalidationBus;
+import com.sixt.carrental.dto.response.CarSearchResponse;
+import com.sixt.carrental.entity.Car;
+import com.sixt.carrental.entity.Car.CarStatus;
+import com.sixt.carrental.entity.Category;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Search latency over a 100k car index (target: well under 1 ms per query)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CarSearchBenchmark {
+
+    private static final String[] BRANDS = {"Honda", "Toyota", "Hyundai", "Volkswagen", "Mahindra", "Kia",
+            "BMW", "Mercedes-Benz", "Audi", "Skoda", "Tata", "Renault"};
+    private static final String[] MODELS = {"City", "Camry", "Verna", "Virtus", "Fortuner", "XUV700",
+            "Creta", "Seltos", "5 Series", "E-Class", "A6", "X5", "Octavia", "Nexon", "Kiger"};
+
+    private CarSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new CarSearchIndex(null, null, new InvalidationPublisher(new LocalInvalidationBus()));
+        Category[] categories = {
+                new Category(1L, "SEDAN_STANDARD", "Standard Sedan", null, null),
+                new Category(2L, "SUV_STANDARD", "Standard SUV", null, null),
+                new Category(3L, "LUXURY_EXECUTIVE", "Luxury Executive", null, null)
+        };
+        for (Category category : categories) {
+            index.indexCategory(category);
+        }
+
+        CarStatus[] statuses = CarStatus.values();
+        for (long id = 1; id <= 100_000; id++) {
+            Car car = new Car();
+            car.setId(id);
+            car.setCategory(categories[(int) (id % categories.length)]);
+            car.setBrand(BRANDS[(int) (id % BRANDS.length)]);
+            car.setModel(MODELS[(int) (id * 7 % MODELS.length)] + " " + (id % 50));
+            car.setStatus(statuses[(int) (id % statuses.length)]);
+            index.index(car);
+        }
+    }
+
+    @Benchmark
+    public CarSearchResponse prefixWithFilters() {
+        return index.search("mer", null, 3L, CarStatus.AVAILABLE, 20);
+    }
+
+    @Benchmark
+    public CarSearchResponse typoTolerant() {
+        return index.search("fortunr", null, null, null, 20);
+    }
+
+    @Benchmark
+    public CarSearchResponse multiTerm() {
+        return index.search("toyota camry", null, null, CarStatus.AVAILABLE, 20);
+    }
+
+    // Facet browsing without a text query (category page, status filter)
+    @Benchmark
+    public CarSearchResponse browseCategoryAndStatus() {
+        return index.search(null, null, 3L, CarStatus.AVAILABLE, 20);
+    }
+
+    @Benchmark
+    public CarSearchResponse browseBrand() {
+        return index.search(null, "audi", null, null, 20);
+    }
+
+    @Benchmark
+    public CarSearchResponse browseAll() {
+        return index.search(null, null, null, null, 20);
+    }
+}
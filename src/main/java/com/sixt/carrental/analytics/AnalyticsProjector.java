@@ -0,0 +1,202 @@
+package com.sixt.carrental.analytics;
+
+import com.sixt.carrental.common.ClusterLock;
+import com.sixt.carrental.entity.AnalyticsCursor;
+import com.sixt.carrental.entity.Booking.BookingStatus;
+import com.sixt.carrental.entity.OutboxEvent.EventType;
+import com.sixt.carrental.outbox.OutboxEventPublished;
+import com.sixt.carrental.repository.AnalyticsCursorRepository;
+import com.sixt.carrental.repository.ArchivedBookingRepository;
+import com.sixt.carrental.repository.BookingRepository;
+import com.sixt.carrental.repository.OutboxEventRepository;
+import com.sixt.carrental.repository.RevenueRollupRepository;
+import com.sixt.carrental.repository.UtilizationRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Folds relayed booking events into the revenue and utilization summary tables.
+// A subscription counts once it is CONFIRMED (payment succeeded, same transaction) and is reversed
+// in full if a confirmed subscription is cancelled; completion changes nothing.
+//  - revenue: each monthly fee is booked in the calendar month its billing period starts
+//  - utilization: car-days of [startDate, endDate) split across calendar months
+// Runs inside the relay transaction and claims each event (outbox_events.projected_at) before applying it,
+// so a re-delivered batch is skipped instead of double counted - whatever order the IDs commit in.
+@Component
+@Slf4j
+public class AnalyticsProjector {
+
+    private static final int BACKFILL_ATTEMPTS = 3;
+    private static final String BACKFILL_LOCK = "analytics-backfill";
+
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final UtilizationRollupRepository utilizationRollupRepository;
+    private final AnalyticsCursorRepository analyticsCursorRepository;
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ClusterLock clusterLock;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public AnalyticsProjector(RevenueRollupRepository revenueRollupRepository,
+                              UtilizationRollupRepository utilizationRollupRepository,
+                              AnalyticsCursorRepository analyticsCursorRepository,
+                              BookingRepository bookingRepository,
+                              ArchivedBookingRepository archivedBookingRepository,
+                              OutboxEventRepository outboxEventRepository,
+                              ClusterLock clusterLock,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              // Events only reach the JVM that relayed them, so project wherever the relay may run
+                              @Value("${app.outbox.relay-enabled:true}") boolean enabled) {
+        this.revenueRollupRepository = revenueRollupRepository;
+        this.utilizationRollupRepository = utilizationRollupRepository;
+        this.analyticsCursorRepository = analyticsCursorRepository;
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.clusterLock = clusterLock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Backfill reads the bookings and marks the outbox in one snapshot, so no commit falls between them
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    @EventListener
+    public void on(OutboxEventPublished event) {
+        if (!enabled) {
+            return;
+        }
+        if (!analyticsCursorRepository.existsById(AnalyticsCursor.ROLLUPS)) {
+            return; // not backfilled yet: left unclaimed for the backfill (or its catch-up)
+        }
+        project(event.id(), event.eventType(), event.payload());
+    }
+
+    // First start only: seed the rollups from the bookings (live and archived), then continue from the outbox
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (!enabled || analyticsCursorRepository.existsById(AnalyticsCursor.ROLLUPS)) {
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                // Nodes start together: one seeds, the others skip (or, once it committed, see the cursor)
+                snapshotTransaction.executeWithoutResult(status -> {
+                    if (clusterLock.tryLock(BACKFILL_LOCK) && !analyticsCursorRepository.existsById(AnalyticsCursor.ROLLUPS)) {
+                        backfill();
+                    }
+                });
+                break;
+            } catch (ConcurrencyFailureException e) {
+                // Repeatable read: the relay updated some of the same outbox rows meanwhile
+                if (attempt >= BACKFILL_ATTEMPTS) {
+                    throw e;
+                }
+                log.info("Analytics backfill conflicted with a concurrent outbox update, retrying");
+            }
+        }
+
+        // Events relayed while the backfill ran were committed after its snapshot and skipped by on()
+        transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.findByProjectedAtIsNullAndPublishedAtIsNotNullOrderByIdAsc()
+                        .forEach(event -> project(event.getId(), event.getEventType(), event.getPayload())));
+    }
+
+    private void backfill() {
+        // Events visible in this snapshot are already reflected in the bookings we are about to read;
+        // anything committed later stays unclaimed and is projected on its own
+        long lastEventId = outboxEventRepository.findMaxId();
+        outboxEventRepository.markAllProjected(LocalDateTime.now());
+        AtomicInteger count = new AtomicInteger();
+        EnumSet<BookingStatus> counted = EnumSet.of(BookingStatus.CONFIRMED, BookingStatus.COMPLETED);
+        try (Stream<BookingFacts> facts = Stream.concat(bookingRepository.streamFactsByStatusIn(counted),
+                archivedBookingRepository.streamFactsByStatusIn(counted))) {
+            facts.forEach(f -> {
+                apply(f, 1);
+                count.incrementAndGet();
+            });
+        }
+        analyticsCursorRepository.save(new AnalyticsCursor(AnalyticsCursor.ROLLUPS, lastEventId));
+        log.info("Analytics rollups backfilled from {} bookings (outbox at event {})", count.get(), lastEventId);
+    }
+
+    // Claim-then-apply: the guarded UPDATE makes a re-delivered event a no-op, regardless of ID order
+    private void project(Long eventId, EventType eventType, String payload) {
+        if (outboxEventRepository.markProjected(eventId, LocalDateTime.now()) == 0) {
+            return; // already applied
+        }
+        int sign = signOf(eventType, payload);
+        if (sign != 0) {
+            apply(factsFrom(payload), sign);
+        }
+    }
+
+    private int signOf(EventType eventType, String payload) {
+        if (eventType == EventType.BOOKING_CONFIRMED) {
+            return 1;
+        }
+        if (eventType == EventType.BOOKING_CANCELLED) {
+            JsonNode previous = objectMapper.readTree(payload).get("previousStatus");
+            boolean wasConfirmed = previous != null && BookingStatus.CONFIRMED.name().equals(previous.asString());
+            return wasConfirmed ? -1 : 0;
+        }
+        return 0;
+    }
+
+    private BookingFacts factsFrom(String payload) {
+        JsonNode json = objectMapper.readTree(payload);
+        return new BookingFacts(
+                json.get("categoryId").asLong(),
+                json.get("kmPackage").asInt(),
+                json.get("pricePerMonth").decimalValue().setScale(2, RoundingMode.HALF_UP),
+                LocalDate.parse(json.get("startDate").asString()),
+                json.get("durationMonths").asInt());
+    }
+
+    // sign = +1 to add a confirmed subscription, -1 to reverse it
+    void apply(BookingFacts facts, int sign) {
+        LocalDate start = facts.startDate();
+        LocalDate end = start.plusMonths(facts.durationMonths());
+        BigDecimal fee = facts.pricePerMonth().multiply(BigDecimal.valueOf(sign));
+
+        for (int i = 0; i < facts.durationMonths(); i++) {
+            LocalDate month = start.plusMonths(i).withDayOfMonth(1);
+            int bookings = i == 0 ? sign : 0;
+            int cancellations = i == 0 && sign < 0 ? 1 : 0;
+            revenueRollupRepository.add(month, facts.categoryId(), facts.kmPackage(), fee, bookings, cancellations);
+        }
+
+        for (LocalDate month = start.withDayOfMonth(1); month.isBefore(end); month = month.plusMonths(1)) {
+            LocalDate from = start.isAfter(month) ? start : month;
+            LocalDate nextMonth = month.plusMonths(1);
+            LocalDate to = end.isBefore(nextMonth) ? end : nextMonth;
+            long days = ChronoUnit.DAYS.between(from, to);
+            if (days > 0) {
+                utilizationRollupRepository.add(month, facts.categoryId(), sign * days);
+            }
+        }
+    }
+}
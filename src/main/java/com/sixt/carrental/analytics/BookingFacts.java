@@ -0,0 +1,12 @@
+package com.sixt.carrental.analytics;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// The booking attributes the rollups are derived from (from an outbox payload or the backfill query)
+public record BookingFacts(Long categoryId,
+                           Integer kmPackage,
+                           BigDecimal pricePerMonth,
+                           LocalDate startDate,
+                           Integer durationMonths) {
+}
@@ -0,0 +1,115 @@
+package com.sixt.carrental.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+// Serialized catalog responses (UTF-8 JSON bytes) keyed by path + query.
+// One map per catalog version: a version bump simply swaps in an empty map.
+@Component
+@Slf4j
+public class CatalogResponseCache {
+
+    private final CatalogVersion catalogVersion;
+    private final int maxEntries;
+    private final int gzipMinBytes;
+
+    private volatile Generation generation;
+
+    public CatalogResponseCache(CatalogVersion catalogVersion,
+                                @Value("${app.catalog-cache.max-entries:1024}") int maxEntries,
+                                @Value("${app.catalog-cache.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.catalogVersion = catalogVersion;
+        this.maxEntries = maxEntries;
+        this.gzipMinBytes = gzipMinBytes;
+        this.generation = new Generation(catalogVersion.current());
+    }
+
+    public CachedBody get(String key) {
+        return currentGeneration().entries.get(key);
+    }
+
+    // version = catalog version observed BEFORE the response was built
+    public void put(String key, long version, String contentType, byte[] body) {
+        Generation current = currentGeneration();
+        if (current.version != version) {
+            return; // catalog changed while the response was being built
+        }
+        if (current.entries.size() >= maxEntries) {
+            log.debug("Catalog response cache full ({} entries), not caching {}", maxEntries, key);
+            return;
+        }
+        current.entries.putIfAbsent(key, new CachedBody(contentType, body, gzipMinBytes));
+    }
+
+    public long currentVersion() {
+        return catalogVersion.current();
+    }
+
+    private Generation currentGeneration() {
+        Generation current = generation;
+        long version = catalogVersion.current();
+        if (current.version != version) {
+            current = new Generation(version);
+            generation = current;
+        }
+        return current;
+    }
+
+    private record Generation(long version, ConcurrentHashMap<String, CachedBody> entries) {
+        Generation(long version) {
+            this(version, new ConcurrentHashMap<>());
+        }
+    }
+
+    public static final class CachedBody {
+        private final String contentType;
+        private final byte[] identity;
+        private final int gzipMinBytes;
+        private volatile byte[] gzip;
+
+        CachedBody(String contentType, byte[] identity, int gzipMinBytes) {
+            this.contentType = contentType;
+            this.identity = identity;
+            this.gzipMinBytes = gzipMinBytes;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getIdentity() {
+            return identity;
+        }
+
+        public boolean isCompressible() {
+            return identity.length >= gzipMinBytes;
+        }
+
+        // Compressed lazily on the first gzip-capable request, then reused
+        public byte[] getGzip() {
+            byte[] compressed = gzip;
+            if (compressed == null) {
+                compressed = compress(identity);
+                gzip = compressed;
+            }
+            return compressed;
+        }
+
+        private static byte[] compress(byte[] body) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+            try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+                gzipOut.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+    }
+}
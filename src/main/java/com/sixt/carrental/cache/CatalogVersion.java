@@ -0,0 +1,47 @@
+package com.sixt.carrental.cache;
+
+import com.sixt.carrental.cache.Invalidation.Topic;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Monotonic version of the car/category/pricing catalog.
+// Every catalog write bumps it; cached catalog responses are only valid for the version they were built at.
+// The number is per node: other nodes bump their own version when the invalidation reaches them.
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+    private final InvalidationPublisher invalidationPublisher;
+
+    public CatalogVersion(InvalidationPublisher invalidationPublisher) {
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    // Bump once the surrounding transaction has committed (immediately if there is none),
+    // so a reader can never cache pre-commit data under the new version
+    public void bump() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+        invalidationPublisher.publish(Topic.CATALOG, null);
+    }
+
+    // Another node changed the catalog
+    void bumpLocal() {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,33 @@
+package com.sixt.carrental.cache;
+
+// One cache invalidation broadcast to the other nodes.
+// origin identifies the sending JVM; sequence counts up per origin (no gaps), so a receiver can drop
+// duplicates and detect lost messages. key is the car/category/user ID (null for CATALOG, FLEET and HEARTBEAT).
+// A HEARTBEAT does not take a sequence of its own: it repeats the origin's latest one, so a receiver that is
+// behind learns about a lost broadcast even while the origin has nothing new to send.
+public record Invalidation(String origin, long sequence, Topic topic, Long key) {
+
+    public enum Topic {
+        CATALOG,    // catalog version bump: cached catalog responses
+        CAR,        // search index document of one car
+        FLEET,      // whole search index (bulk fleet import)
+        CATEGORY,   // search index terms of one category
+        USER,       // user cache entry
+        STATUS,     // not a cache: a committed status change for live event streams (key = outbox event ID)
+        HEARTBEAT   // nothing to invalidate, carries the origin's latest sequence
+    }
+
+    // Wire format, one line per invalidation: origin seq TOPIC key ("-" for none)
+    public String encode() {
+        return origin + ' ' + sequence + ' ' + topic + ' ' + (key == null ? "-" : key);
+    }
+
+    public static Invalidation decode(String line) {
+        String[] parts = line.split(" ");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed invalidation: " + line);
+        }
+        return new Invalidation(parts[0], Long.parseLong(parts[1]), Topic.valueOf(parts[2]),
+                "-".equals(parts[3]) ? null : Long.valueOf(parts[3]));
+    }
+}
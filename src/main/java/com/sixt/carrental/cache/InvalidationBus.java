@@ -0,0 +1,18 @@
+package com.sixt.carrental.cache;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// Transport for cache invalidations between nodes (see CacheBusConfig for the implementations).
+// Delivery is at most once; receivers rely on the per-origin sequence to notice losses.
+public interface InvalidationBus {
+
+    // Broadcast a batch, in order, to every subscribed node (the sender's own subscription included)
+    void send(List<Invalidation> batch);
+
+    // receiver gets every invalidation; onResync runs when messages may have been missed (e.g. reconnect)
+    void subscribe(Consumer<Invalidation> receiver, Runnable onResync);
+
+    default void close() {
+    }
+}
@@ -0,0 +1,91 @@
+package com.sixt.carrental.cache;
+
+import com.sixt.carrental.cache.Invalidation.Topic;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// Queues this node's cache invalidations once the write has committed and broadcasts them to the other nodes.
+// Sequence numbers are handed out in queue order and one sender thread drains the queue in order,
+// so every node sees this origin's sequence without gaps unless a broadcast was lost. A periodic heartbeat
+// repeats the latest sequence, so a lost broadcast is noticed within one interval rather than on the next write.
+@Component
+@Slf4j
+public class InvalidationPublisher {
+
+    private static final int MAX_BATCH = 256;
+
+    private final InvalidationBus bus;
+    private final String origin = UUID.randomUUID().toString();
+    private final LinkedBlockingQueue<Invalidation> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(
+            runnable -> Thread.ofPlatform().name("cache-invalidation-sender").daemon().unstarted(runnable));
+    private long sequence;
+
+    public InvalidationPublisher(InvalidationBus bus) {
+        this.bus = bus;
+        sender.execute(this::drain);
+    }
+
+    public String origin() {
+        return origin;
+    }
+
+    // After commit (immediately without a transaction), like the local cache updates it mirrors
+    public void publish(Topic topic, Long key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(topic, key);
+                }
+            });
+        } else {
+            enqueue(topic, key);
+        }
+    }
+
+    // Queued behind any pending invalidations, so it only goes out once everything up to its sequence has
+    @Scheduled(fixedDelayString = "${app.cache-bus.heartbeat-ms:5000}")
+    public synchronized void heartbeat() {
+        queue.add(new Invalidation(origin, sequence, Topic.HEARTBEAT, null));
+    }
+
+    private synchronized void enqueue(Topic topic, Long key) {
+        queue.add(new Invalidation(origin, ++sequence, topic, key));
+    }
+
+    private void drain() {
+        List<Invalidation> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH - 1);
+                try {
+                    bus.send(batch);
+                } catch (RuntimeException e) {
+                    // Receivers see the gap with the next heartbeat at the latest and flush
+                    log.warn("Could not broadcast {} cache invalidations: {}", batch.size(), e.getMessage());
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+}
@@ -0,0 +1,102 @@
+package com.sixt.carrental.cache;
+
+import com.sixt.carrental.cache.Invalidation.Topic;
+import com.sixt.carrental.notification.StatusStreamRegistry;
+import com.sixt.carrental.search.CarSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Applies other nodes' invalidations to this node's caches (local-only, nothing is re-broadcast) and hands
+// their status changes to this node's event streams.
+// Per origin, a sequence at or below the last one seen is a duplicate and skipped; a jump means
+// messages were lost, and since we can't tell which, every cache is flushed. A heartbeat ahead of the
+// last sequence seen means the same thing.
+@Component
+@Slf4j
+public class InvalidationReceiver {
+
+    private final InvalidationBus bus;
+    private final InvalidationPublisher publisher;
+    private final CatalogVersion catalogVersion;
+    private final UserCache userCache;
+    private final CarSearchIndex carSearchIndex;
+    private final StatusStreamRegistry statusStreamRegistry;
+    private final Map<String, Long> lastSequence = new HashMap<>();
+
+    public InvalidationReceiver(InvalidationBus bus,
+                                InvalidationPublisher publisher,
+                                CatalogVersion catalogVersion,
+                                UserCache userCache,
+                                CarSearchIndex carSearchIndex,
+                                StatusStreamRegistry statusStreamRegistry) {
+        this.bus = bus;
+        this.publisher = publisher;
+        this.catalogVersion = catalogVersion;
+        this.userCache = userCache;
+        this.carSearchIndex = carSearchIndex;
+        this.statusStreamRegistry = statusStreamRegistry;
+    }
+
+    // Subscribe once the caches are built (the search index builds on the same event, registered earlier)
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        bus.subscribe(this::receive, this::flushAll);
+    }
+
+    synchronized void receive(Invalidation invalidation) {
+        if (publisher.origin().equals(invalidation.origin())) {
+            return; // applied locally at commit time
+        }
+        if (invalidation.topic() == Topic.HEARTBEAT) {
+            heartbeat(invalidation);
+            return;
+        }
+        Long last = lastSequence.put(invalidation.origin(), invalidation.sequence());
+        if (last != null && invalidation.sequence() <= last) {
+            lastSequence.put(invalidation.origin(), last);
+            return;
+        }
+        if (last != null && invalidation.sequence() > last + 1) {
+            log.warn("Missed {} cache invalidations from node {}, flushing caches",
+                    invalidation.sequence() - last - 1, invalidation.origin());
+            flushAll();
+            return;
+        }
+        apply(invalidation);
+    }
+
+    private void heartbeat(Invalidation heartbeat) {
+        Long last = lastSequence.get(heartbeat.origin());
+        if (last != null && heartbeat.sequence() <= last) {
+            return;
+        }
+        lastSequence.put(heartbeat.origin(), heartbeat.sequence());
+        if (last != null) {
+            log.warn("Heartbeat shows {} missed cache invalidations from node {}, flushing caches",
+                    heartbeat.sequence() - last, heartbeat.origin());
+            flushAll();
+        }
+    }
+
+    private void apply(Invalidation invalidation) {
+        switch (invalidation.topic()) {
+            case CATALOG -> catalogVersion.bumpLocal();
+            case CAR -> carSearchIndex.refreshCar(invalidation.key());
+            case FLEET -> carSearchIndex.rebuild();
+            case CATEGORY -> carSearchIndex.refreshCategory(invalidation.key());
+            case USER -> userCache.evictLocal(invalidation.key());
+            case STATUS -> statusStreamRegistry.onRemoteStatusChange(invalidation.key());
+        }
+    }
+
+    synchronized void flushAll() {
+        catalogVersion.bumpLocal();
+        userCache.clear();
+        carSearchIndex.rebuild();
+    }
+}
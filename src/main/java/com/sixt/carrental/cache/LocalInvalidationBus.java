@@ -0,0 +1,23 @@
+package com.sixt.carrental.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// In-process stand-in for a broker: single-node setups and tests (several nodes can share one instance)
+public class LocalInvalidationBus implements InvalidationBus {
+
+    private final List<Consumer<Invalidation>> receivers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(List<Invalidation> batch) {
+        for (Consumer<Invalidation> receiver : receivers) {
+            batch.forEach(receiver);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<Invalidation> receiver, Runnable onResync) {
+        receivers.add(receiver);
+    }
+}
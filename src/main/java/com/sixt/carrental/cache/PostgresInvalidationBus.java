@@ -0,0 +1,135 @@
+package com.sixt.carrental.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Invalidations over Postgres LISTEN/NOTIFY: no extra infrastructure, every node already talks to the database.
+// Sending borrows a pooled connection for one auto-commit pg_notify per ~7KB of invalidations (Postgres caps
+// payloads at 8000 bytes). Receiving uses one dedicated connection outside the pool, polled by a daemon thread;
+// after a connection loss the receiver is told to resync, since NOTIFYs sent meanwhile are gone.
+@Slf4j
+public class PostgresInvalidationBus implements InvalidationBus {
+
+    private static final String CHANNEL = "cache_invalidation";
+    private static final int MAX_PAYLOAD_CHARS = 7000;
+    private static final int POLL_TIMEOUT_MS = 1000;
+    private static final long RECONNECT_BACKOFF_MS = 2000;
+
+    private final DataSource dataSource;
+    private final String url;
+    private final String username;
+    private final String password;
+    private volatile boolean running = true;
+    private Thread listener;
+
+    public PostgresInvalidationBus(DataSource dataSource, String url, String username, String password) {
+        this.dataSource = dataSource;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    @Override
+    public void send(List<Invalidation> batch) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement notify = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            StringBuilder payload = new StringBuilder();
+            for (Invalidation invalidation : batch) {
+                String line = invalidation.encode();
+                if (!payload.isEmpty() && payload.length() + line.length() + 1 > MAX_PAYLOAD_CHARS) {
+                    notify(notify, payload);
+                }
+                if (!payload.isEmpty()) {
+                    payload.append('\n');
+                }
+                payload.append(line);
+            }
+            if (!payload.isEmpty()) {
+                notify(notify, payload);
+            }
+        } catch (SQLException e) {
+            // Receivers see the sequence gap with the next message or heartbeat and resync
+            log.warn("Could not broadcast {} cache invalidations: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static void notify(PreparedStatement notify, StringBuilder payload) throws SQLException {
+        notify.setString(1, CHANNEL);
+        notify.setString(2, payload.toString());
+        notify.execute();
+        payload.setLength(0);
+    }
+
+    @Override
+    public synchronized void subscribe(Consumer<Invalidation> receiver, Runnable onResync) {
+        if (listener != null) {
+            throw new IllegalStateException("Already subscribed");
+        }
+        listener = Thread.ofPlatform().name("cache-invalidation-listener").daemon().start(() -> listen(receiver, onResync));
+    }
+
+    private void listen(Consumer<Invalidation> receiver, Runnable onResync) {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnecting) {
+                    log.info("Cache invalidation listener reconnected, resyncing caches");
+                    onResync.run();
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        deliver(notification.getParameter(), receiver);
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection: {}", e.getMessage());
+                reconnecting = true;
+                try {
+                    Thread.sleep(RECONNECT_BACKOFF_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void deliver(String payload, Consumer<Invalidation> receiver) {
+        for (String line : payload.split("\n")) {
+            try {
+                receiver.accept(Invalidation.decode(line));
+            } catch (RuntimeException e) {
+                log.warn("Could not apply cache invalidation '{}': {}", line, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.sixt.carrental.cache;
+
+import com.sixt.carrental.cache.Invalidation.Topic;
+import com.sixt.carrental.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process user cache in front of the users table: entries by ID plus an email -> ID index.
+// Entries are detached snapshots; every hit returns a fresh copy so callers can't mutate
+// (or attach to a persistence context) the shared instance.
+// Bounded: expired entries are swept at most once per second when full, and if it is still
+// full new users are simply not cached. Evictions are broadcast so other nodes drop their copy too.
+@Component
+public class UserCache {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final ConcurrentHashMap<Long, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> idByEmail = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+    private final InvalidationPublisher invalidationPublisher;
+
+    public UserCache(@Value("${app.user-cache.enabled:true}") boolean enabled,
+                     @Value("${app.user-cache.ttl-seconds:60}") long ttlSeconds,
+                     @Value("${app.user-cache.max-entries:10000}") int maxEntries,
+                     InvalidationPublisher invalidationPublisher) {
+        this.invalidationPublisher = invalidationPublisher;
+        this.enabled = enabled;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = maxEntries;
+    }
+
+    public Optional<User> getById(Long id) {
+        if (!enabled || id == null) {
+            return Optional.empty();
+        }
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            evictExpired(entry);
+            return Optional.empty();
+        }
+        return Optional.of(copy(entry.user));
+    }
+
+    public Optional<User> getByEmail(String email) {
+        if (!enabled || email == null) {
+            return Optional.empty();
+        }
+        Long id = idByEmail.get(email);
+        if (id == null) {
+            return Optional.empty();
+        }
+        // Guard against an email that moved to another user since it was indexed
+        return getById(id).filter(user -> user.getEmail().equals(email));
+    }
+
+    public void put(User user) {
+        if (!enabled || user == null || user.getId() == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (!byId.containsKey(user.getId()) && byId.size() >= maxEntries) {
+            sweep(now);
+            if (byId.size() >= maxEntries) {
+                return;
+            }
+        }
+        Entry previous = byId.put(user.getId(), new Entry(copy(user), now + ttlNanos));
+        if (previous != null && !previous.user.getEmail().equals(user.getEmail())) {
+            idByEmail.remove(previous.user.getEmail(), user.getId());
+        }
+        idByEmail.put(user.getEmail(), user.getId());
+    }
+
+    public void evict(Long id) {
+        evictLocal(id);
+        if (enabled) {
+            invalidationPublisher.publish(Topic.USER, id);
+        }
+    }
+
+    // Another node changed or deleted the user
+    void evictLocal(Long id) {
+        Entry removed = byId.remove(id);
+        if (removed != null) {
+            idByEmail.remove(removed.user.getEmail(), id);
+        }
+    }
+
+    void clear() {
+        byId.clear();
+        idByEmail.clear();
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    // Only removes this exact entry, not one a concurrent put just replaced it with
+    private void evictExpired(Entry entry) {
+        if (byId.remove(entry.user.getId(), entry)) {
+            idByEmail.remove(entry.user.getEmail(), entry.user.getId());
+        }
+    }
+
+    private void sweep(long nowNanos) {
+        long last = lastSweep.get();
+        if (nowNanos - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, nowNanos)) {
+            return;
+        }
+        byId.values().removeIf(entry -> {
+            if (!entry.isExpired(nowNanos)) {
+                return false;
+            }
+            idByEmail.remove(entry.user.getEmail(), entry.user.getId());
+            return true;
+        });
+    }
+
+    private static User copy(User user) {
+        return new User(user.getId(), user.getEmail(), user.getPassword(), user.getFirstName(),
+                user.getLastName(), user.getPhoneNumber(), user.getRole(), user.getCreatedAt(), user.getUpdatedAt());
+    }
+
+    private record Entry(User user, long expiresAtNanos) {
+        boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos > 0;
+        }
+    }
+}
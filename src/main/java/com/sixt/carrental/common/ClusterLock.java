@@ -0,0 +1,23 @@
+package com.sixt.carrental.common;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Lets a scheduled job run on every node while only one node at a time does the work.
+// Postgres transaction-level advisory lock keyed by the job name: it is released when the surrounding
+// transaction ends (commit, rollback or a dead connection), so a node that goes away never keeps it.
+@Component
+public class ClusterLock {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClusterLock(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Must run inside a transaction; false if another node holds the lock right now (never waits)
+    public boolean tryLock(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, name));
+    }
+}
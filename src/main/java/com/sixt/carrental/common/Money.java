@@ -0,0 +1,118 @@
+package com.sixt.carrental.common;
+
+import tools.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+// Fixed-point money: long minor units (2 decimals) + currency.
+// Used for all quote arithmetic; convert to BigDecimal only when writing entities.
+@JsonSerialize(using = MoneySerializer.class)
+public final class Money {
+
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("INR");
+    public static final int SCALE = 2;
+
+    private static final long MINOR_PER_MAJOR = 100L;
+
+    private final long minorUnits;
+    private final Currency currency;
+
+    private Money(long minorUnits, Currency currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return new Money(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    // Persistence boundary: entity BigDecimal -> Money
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount must not be null");
+        }
+        return new Money(amount.movePointRight(SCALE).longValueExact(), DEFAULT_CURRENCY);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public Money times(int factor) {
+        return new Money(Math.multiplyExact(minorUnits, factor), currency);
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    // Persistence boundary: Money -> entity BigDecimal (scale 2, matches the column definitions)
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    // Writes the plain decimal form (e.g. "78000.00") into buf and returns the length.
+    // buf must hold at least 22 chars. Used by the serializer to avoid String/BigDecimal garbage.
+    public int writeTo(char[] buf) {
+        long value = minorUnits;
+        boolean negative = value < 0;
+        int pos = buf.length;
+
+        // Fraction digits (Long.MIN_VALUE safe: work on negative remainders)
+        for (int i = 0; i < SCALE; i++) {
+            buf[--pos] = (char) ('0' + Math.abs(value % 10));
+            value /= 10;
+        }
+        buf[--pos] = '.';
+        do {
+            buf[--pos] = (char) ('0' + Math.abs(value % 10));
+            value /= 10;
+        } while (value != 0);
+        if (negative) {
+            buf[--pos] = '-';
+        }
+
+        int length = buf.length - pos;
+        System.arraycopy(buf, pos, buf, 0, length);
+        return length;
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " vs " + other.currency);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Money other)) return false;
+        return minorUnits == other.minorUnits && currency.equals(other.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        char[] buf = new char[MoneySerializer.BUFFER_SIZE];
+        return new String(buf, 0, writeTo(buf)) + " " + currency.getCurrencyCode();
+    }
+}
@@ -0,0 +1,21 @@
+package com.sixt.carrental.common;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+// Writes Money as a plain JSON number straight from a per-thread char buffer
+public class MoneySerializer extends ValueSerializer<Money> {
+
+    static final int BUFFER_SIZE = 24;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[BUFFER_SIZE]);
+
+    @Override
+    public void serialize(Money value, JsonGenerator gen, SerializationContext ctxt) throws JacksonException {
+        char[] buf = BUFFER.get();
+        int length = value.writeTo(buf);
+        gen.writeNumber(buf, 0, length);
+    }
+}
@@ -0,0 +1,66 @@
+package com.sixt.carrental.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Runs an action in its own transaction and retries it when an @Version check fails.
+// Backoff is exponential with full jitter so contending writers spread out instead of colliding again.
+// When a transaction is already running the conflict dooms the outer transaction anyway,
+// so the action runs once and the exception goes to the outermost caller.
+@Component
+@Slf4j
+public class OptimisticRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+
+    public OptimisticRetry(PlatformTransactionManager transactionManager,
+                           @Value("${app.retry.max-attempts:4}") int maxAttempts,
+                           @Value("${app.retry.base-backoff-ms:10}") long baseBackoffMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoffMillis;
+    }
+
+    public <T> T inTransaction(Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Giving up after {} optimistic lock conflicts: {}", attempt, e.getMessage());
+                    throw e;
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(backoffMillis(attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while retrying after a conflict", e);
+        }
+    }
+
+    // Full jitter: uniform in [0, base * 2^(attempt-1)], the exponent capped at 10
+    long backoffMillis(int attempt) {
+        long cap = baseBackoffMillis << Math.min(attempt - 1, 10);
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+}
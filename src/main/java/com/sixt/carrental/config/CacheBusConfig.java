@@ -0,0 +1,31 @@
+package com.sixt.carrental.config;
+
+import com.sixt.carrental.cache.InvalidationBus;
+import com.sixt.carrental.cache.LocalInvalidationBus;
+import com.sixt.carrental.cache.PostgresInvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Cache invalidation transport between nodes:
+//  - postgres: LISTEN/NOTIFY on the application database (multi-node deployments)
+//  - local:    in-process only (single node, tests)
+// A different broker only needs another InvalidationBus implementation here.
+@Configuration
+public class CacheBusConfig {
+
+    @Bean(destroyMethod = "close")
+    public InvalidationBus invalidationBus(@Value("${app.cache-bus.type:local}") String type,
+                                           DataSource dataSource,
+                                           @Value("${spring.datasource.url}") String url,
+                                           @Value("${spring.datasource.username:}") String username,
+                                           @Value("${spring.datasource.password:}") String password) {
+        return switch (type) {
+            case "postgres" -> new PostgresInvalidationBus(dataSource, url, username, password);
+            case "local" -> new LocalInvalidationBus();
+            default -> throw new IllegalStateException("Unknown app.cache-bus.type: " + type);
+        };
+    }
+}
@@ -0,0 +1,174 @@
+package com.sixt.carrental.config;
+
+import com.sixt.carrental.cache.CatalogResponseCache;
+import com.sixt.carrental.cache.CatalogResponseCache.CachedBody;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Serves catalog GETs (cars, categories, pricing) from pre-serialized bytes.
+// Misses go through the controller once and the rendered body is stored for the current catalog version.
+// Entries are keyed by the format the controller actually produced (its Content-Type), never by what the
+// request looked like; a request is served the entry of the format its Accept header ranks highest
+// (q-value, then specificity, then header order), and bypasses the cache if it accepts none of them.
+@Component
+@RequiredArgsConstructor
+public class CatalogCacheFilter extends OncePerRequestFilter {
+
+    private static final String[] CATALOG_PREFIXES = {"/api/cars", "/api/categories", "/api/pricing"};
+    // Dynamic quotes depend on the clock and live utilization, not only on the catalog version
+    private static final String QUOTE_PATH = "/api/pricing/quote";
+    // Server preference, as in WebFormatConfig: JSON first, so */* gets JSON
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+            MediaType.valueOf("application/x-jackson-smile"));
+    private static final Comparator<MediaType> PREFERRED_FIRST = Comparator
+            .comparingDouble(MediaType::getQualityValue).reversed()
+            .thenComparing(type -> type.isWildcardType() ? 2 : type.isWildcardSubtype() ? 1 : 0);
+
+    private final CatalogResponseCache cache;
+
+    @Value("${app.catalog-cache.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String uri = request.getRequestURI();
+        if (uri.equals(QUOTE_PATH)) {
+            return true;
+        }
+        for (String prefix : CATALOG_PREFIXES) {
+            if (uri.startsWith(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        MediaType requested = requestedFormat(request.getHeader(HttpHeaders.ACCEPT));
+        if (requested == null) {
+            filterChain.doFilter(request, response); // nothing cacheable is acceptable (406 or another format)
+            return;
+        }
+        String path = pathOf(request);
+        CachedBody cached = cache.get(keyOf(requested, path));
+        if (cached != null) {
+            writeCached(cached, request, response);
+            return;
+        }
+
+        // Capture the version before the controller reads the database
+        long version = cache.currentVersion();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        MediaType produced = producedFormat(wrapper.getContentType());
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && produced != null) {
+            cache.put(keyOf(produced, path), version, wrapper.getContentType(), wrapper.getContentAsByteArray());
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void writeCached(CachedBody cached, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        byte[] body = cached.getIdentity();
+        if (cached.isCompressible() && acceptsGzip(request)) {
+            body = cached.getGzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        response.setContentType(cached.getContentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query;
+    }
+
+    private static String keyOf(MediaType format, String path) {
+        return format.getSubtype() + ":" + path;
+    }
+
+    // Highest-ranked accepted media range that one of the formats satisfies; null if none (or unparseable)
+    private static MediaType requestedFormat(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        accepted.sort(PREFERRED_FIRST); // stable: equal ranks keep header order
+        for (MediaType range : accepted) {
+            if (range.getQualityValue() == 0) {
+                break;
+            }
+            for (MediaType format : FORMATS) {
+                if (range.includes(format) && !excluded(format, accepted)) {
+                    return format;
+                }
+            }
+        }
+        return null;
+    }
+
+    // "application/cbor;q=0" rules CBOR out even when a wildcard would include it
+    private static boolean excluded(MediaType format, List<MediaType> accepted) {
+        for (MediaType range : accepted) {
+            if (range.getQualityValue() == 0 && range.includes(format)
+                    && !range.isWildcardType() && !range.isWildcardSubtype()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MediaType producedFormat(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        MediaType produced;
+        try {
+            produced = MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        for (MediaType format : FORMATS) {
+            if (format.equalsTypeAndSubtype(produced)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -1,8 +1,10 @@
 package com.sixt.carrental.config;
 
+import com.sixt.carrental.cache.CatalogVersion;
 import com.sixt.carrental.entity.*;
 import com.sixt.carrental.repository.*;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
@@ -13,12 +15,14 @@ import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class DataSeeder implements CommandLineRunner {
 
     private final CategoryRepository categoryRepository;
     private final PricingPlanRepository pricingPlanRepository;
     private final CarRepository carRepository;
     private final Environment environment;
+    private final CatalogVersion catalogVersion;
 
     @Override
     @Transactional
@@ -26,17 +30,23 @@ public class DataSeeder implements CommandLineRunner {
         // Skip data seeding during tests
         // String datasourceUrl = environment.getProperty("spring.datasource.url", "");
         // if (datasourceUrl.contains("h2") || datasourceUrl.contains("mem:")) {
-        //     System.out.println("Skipping data seeding in test environment");
+        //     log.info("Skipping data seeding in test environment");
         //     return;
         // }
 
+        // Seeding can be switched off for rolling restarts and AOT training runs.
+        // Read at runtime (not via @ConditionalOnProperty) so it still works with AOT-processed contexts.
+        if (!environment.getProperty("app.seed.enabled", Boolean.class, true)) {
+            return;
+        }
+
         // Check if data already exists
         if (categoryRepository.count() > 0) {
-            System.out.println("Sample data already exists. Skipping seed.");
+            log.info("Sample data already exists. Skipping seed.");
             return;
         }
 
-        System.out.println("Seeding sample data...");
+        log.info("Seeding sample data...");
 
         try {
             // CREATE CATEGORIES
@@ -58,7 +68,7 @@ public class DataSeeder implements CommandLineRunner {
             luxuryCategory.setDescription("Premium luxury vehicles");
             luxuryCategory = categoryRepository.save(luxuryCategory);
 
-            System.out.println("Created 3 categories");
+            log.info("Created 3 categories");
 
             // CREATEing PRICING PLANS
             // Sedan - 9 plans
@@ -94,7 +104,7 @@ public class DataSeeder implements CommandLineRunner {
             createPricingPlan(luxuryCategory, 6, 1000, "75000");
             createPricingPlan(luxuryCategory, 6, 2000, "85000");
 
-            System.out.println("Created 27 pricing plans");
+            log.info("Created 27 pricing plans");
 
             // CREATE CARS
             createCar(sedanCategory, "Honda", "City", "https://images.unsplash.com/photo-1549317661-bd32c8ce0db2?w=800&h=600&fit=crop");
@@ -112,12 +122,14 @@ public class DataSeeder implements CommandLineRunner {
             createCar(luxuryCategory, "Audi", "A6", "https://images.unsplash.com/photo-1606220945770-b5b6c2c55bf1?w=800&h=600&fit=crop");
             createCar(luxuryCategory, "BMW", "X5", "https://images.unsplash.com/photo-1555215695-3004980ad54e?w=800&h=600&fit=crop");
 
-            System.out.println("Created 12 cars");
-            System.out.println("Sample data seeded successfully!");
+            log.info("Created 12 cars");
+
+            // Drop anything cached while the catalog was still empty
+            catalogVersion.bump();
+            log.info("Sample data seeded successfully!");
 
         } catch (Exception e) {
-            System.err.println("Error seeding data: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error seeding data: {}", e.getMessage(), e);
         }
     }
 
@@ -133,8 +145,7 @@ public class DataSeeder implements CommandLineRunner {
                 PricingPlan plan = existingPlan.get();
                 plan.setPricePerMonth(new BigDecimal(pricePerMonth));
                 pricingPlanRepository.save(plan);
-                System.out.println("Updated pricing plan: " + category.getName() + 
-                " - " + durationMonths + " months, " + kmPackage + " km");
+                log.debug("Updated pricing plan: {} - {} months, {} km", category.getName(), durationMonths, kmPackage);
             } else {
             // Create new plan
                 PricingPlan plan = new PricingPlan();
@@ -144,8 +155,7 @@ public class DataSeeder implements CommandLineRunner {
                 plan.setPricePerMonth(new BigDecimal(pricePerMonth));
                 plan.setIsActive(true);
                 pricingPlanRepository.save(plan);
-                System.out.println("Created pricing plan: " + category.getName() + 
-                " - " + durationMonths + " months, " + kmPackage + " km");
+                log.debug("Created pricing plan: {} - {} months, {} km", category.getName(), durationMonths, kmPackage);
             }
         }
 
@@ -0,0 +1,205 @@
+package com.sixt.carrental.config;
+
+import com.sixt.carrental.idempotency.IdempotencyStore;
+import com.sixt.carrental.idempotency.IdempotencyStore.Lookup;
+import com.sixt.carrental.idempotency.IdempotencyStore.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+
+// Idempotency-Key support for booking creation: a retried POST /api/bookings with the same key gets
+// the first response replayed (Idempotent-Replayed: true) without reaching the booking code.
+// Keys are scoped to the caller (user ID from the JWT) and bound to a fingerprint of the request body.
+// Server errors are not stored, so they can be retried with the same key.
+// The store is per node: with several nodes, a retry is only recognised when it lands on the node that
+// saw the first request. The load balancer does not pin callers, so a cross-node retry runs again; for
+// bookings the car status guard still rejects a second booking of the same car, and clients must not rely
+// on replay beyond that.
+// The body is buffered for the fingerprint, so it is capped at max-body-bytes (413 above that).
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> PATHS = Set.of("/api/bookings");
+
+    private final IdempotencyStore store;
+    private final boolean enabled;
+    private final int maxBodyBytes;
+
+    public IdempotencyFilter(IdempotencyStore store,
+                             @Value("${app.idempotency.enabled:true}") boolean enabled,
+                             @Value("${app.idempotency.max-body-bytes:65536}") int maxBodyBytes) {
+        this.store = store;
+        this.enabled = enabled;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null
+                || !PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Invalid Idempotency-Key header");
+            return;
+        }
+
+        // Declared length first, then the bytes actually sent (chunked requests have no Content-Length)
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            writeError(response, HttpStatus.CONTENT_TOO_LARGE, "Request body too large");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body.length > maxBodyBytes) {
+            writeError(response, HttpStatus.CONTENT_TOO_LARGE, "Request body too large");
+            return;
+        }
+        String key = callerOf(request) + ":" + request.getRequestURI() + ":" + idempotencyKey;
+        String fingerprint = fingerprint(body);
+
+        Lookup lookup = store.begin(key, fingerprint);
+        switch (lookup.status()) {
+            case REPLAY -> {
+                replay(lookup.response(), response);
+                return;
+            }
+            case IN_PROGRESS -> {
+                writeError(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+                return;
+            }
+            case MISMATCH -> {
+                writeError(response, HttpStatus.UNPROCESSABLE_CONTENT,
+                        "Idempotency-Key was already used for a different request");
+                return;
+            }
+            case STARTED -> {
+                // First time: run the request
+            }
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), wrapper);
+        } catch (ServletException | IOException | RuntimeException e) {
+            store.abandon(key);
+            throw e;
+        }
+        if (wrapper.getStatus() < 500) {
+            store.complete(key, fingerprint,
+                    new StoredResponse(wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray()));
+        } else {
+            store.abandon(key);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        byte[] body = ("{\"success\":false,\"message\":\"" + message + "\",\"data\":null}").getBytes(StandardCharsets.UTF_8);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static String callerOf(HttpServletRequest request) {
+        Object userId = request.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+        return userId != null ? "user:" + userId : "ip:" + request.getRemoteAddr();
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The body was consumed for the fingerprint; hand the same bytes to the controller
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // Everything is in memory already: report it as available and, once read, as complete
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -13,12 +14,18 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // Request attribute carrying the authenticated user's ID (used for per-user rate limits)
+    public static final String USER_ID_ATTRIBUTE = "carrental.userId";
+
+    // Browser EventSource cannot set headers, so the event stream may pass the token as a query parameter
+    private static final String EVENT_STREAM_PATH = "/api/events/stream";
+
     private final JwtTokenProvider jwtTokenProvider;
 
     @Override
@@ -34,15 +41,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 // Token is valid, extract user info
                 String email = jwtTokenProvider.getEmailFromToken(jwt);
                 Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+                String role = jwtTokenProvider.getRoleFromToken(jwt);
 
-                // Create authentication object
+                // Create authentication object (role -> ROLE_* authority for hasRole checks)
+                List<SimpleGrantedAuthority> authorities = role == null
+                        ? List.of()
+                        : List.of(new SimpleGrantedAuthority("ROLE_" + role));
                 UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(email, null, new ArrayList<>());
+                        new UsernamePasswordAuthenticationToken(email, null, authorities);
 
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 // Set authentication in security context
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                request.setAttribute(USER_ID_ATTRIBUTE, userId);
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -60,6 +72,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return bearerToken.substring(7); // Remove "Bearer " prefix
         }
 
+        if (EVENT_STREAM_PATH.equals(request.getRequestURI())) {
+            return request.getParameter("access_token");
+        }
+
         return null;
     }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.sixt.carrental.config;
 
+import com.sixt.carrental.logging.LogSampling;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -10,6 +12,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 
 @Component
+@Slf4j
 public class JwtTokenProvider {
 
     @Value("${jwt.secret}")
@@ -61,6 +64,19 @@ public class JwtTokenProvider {
         return claims.get("userId", Long.class);
     }
 
+    // Get role (CUSTOMER / ADMIN) from JWT token
+    public String getRoleFromToken(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+
+        Claims claims = Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+
+        return claims.get("role", String.class);
+    }
+
     // Validate JWT token
     public boolean validateToken(String token) {
         try {
@@ -73,7 +89,7 @@ public class JwtTokenProvider {
 
             return true;
         } catch (JwtException | IllegalArgumentException e) {
-            System.err.println("Invalid JWT token: " + e.getMessage());
+            log.info(LogSampling.SAMPLED, "Invalid JWT token: {}", e.getMessage());
             return false;
         }
     }
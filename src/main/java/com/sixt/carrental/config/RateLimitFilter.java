@@ -0,0 +1,91 @@
+package com.sixt.carrental.config;
+
+import com.sixt.carrental.ratelimit.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// Rejects with 429 before any controller, database or BCrypt work.
+// Runs right after JwtAuthenticationFilter so authenticated calls are keyed by user ID, others by client IP
+// (the forwarded client address behind the load balancer, see server.forward-headers-strategy).
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] TOO_MANY_REQUESTS_BODY =
+            "{\"success\":false,\"message\":\"Too many requests, please retry later\",\"data\":null}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private final boolean enabled;
+    private final RateLimiter authLimiter;
+    private final RateLimiter catalogLimiter;
+    private final RateLimiter apiLimiter;
+
+    public RateLimitFilter(@Value("${app.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.rate-limit.max-keys:100000}") int maxKeys,
+                           @Value("${app.rate-limit.auth.capacity:10}") int authCapacity,
+                           @Value("${app.rate-limit.auth.refill-per-second:0.2}") double authRefill,
+                           @Value("${app.rate-limit.catalog.capacity:100}") int catalogCapacity,
+                           @Value("${app.rate-limit.catalog.refill-per-second:20}") double catalogRefill,
+                           @Value("${app.rate-limit.api.capacity:50}") int apiCapacity,
+                           @Value("${app.rate-limit.api.refill-per-second:10}") double apiRefill) {
+        this.enabled = enabled;
+        this.authLimiter = new RateLimiter("auth", authCapacity, authRefill, maxKeys);
+        this.catalogLimiter = new RateLimiter("catalog", catalogCapacity, catalogRefill, maxKeys);
+        this.apiLimiter = new RateLimiter("api", apiCapacity, apiRefill, maxKeys);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || "OPTIONS".equals(request.getMethod()) || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        RateLimiter limiter = limiterFor(request.getRequestURI());
+        String key = clientKey(request, limiter);
+
+        if (!limiter.tryAcquire(key)) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(limiter.retryAfterSeconds(key)));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(TOO_MANY_REQUESTS_BODY.length);
+            response.getOutputStream().write(TOO_MANY_REQUESTS_BODY);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimiter limiterFor(String uri) {
+        if (uri.startsWith("/api/auth/")) {
+            return authLimiter;
+        }
+        if (uri.startsWith("/api/cars") || uri.startsWith("/api/categories") || uri.startsWith("/api/pricing")
+                || uri.startsWith("/api/images")) {
+            return catalogLimiter;
+        }
+        return apiLimiter;
+    }
+
+    // Login/signup are always keyed by IP: the caller has no token yet and must not pick its own key
+    private String clientKey(HttpServletRequest request, RateLimiter limiter) {
+        Object userId = request.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+        if (userId != null && limiter != authLimiter) {
+            return "u:" + userId;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,22 @@
+package com.sixt.carrental.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Compact binary bodies for clients that ask for them:
+//   Accept: application/cbor            -> CBOR
+//   Accept: application/x-jackson-smile -> Smile
+// Same object model and annotations as JSON. JSON stays the default (it is ordered first),
+// so "Accept: */*" and browsers keep getting JSON.
+@Configuration
+public class WebFormatConfig implements WebMvcConfigurer {
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new JacksonCborHttpMessageConverter())
+                .withSmileConverter(new JacksonSmileHttpMessageConverter());
+    }
+}
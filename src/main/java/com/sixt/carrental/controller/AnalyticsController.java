@@ -0,0 +1,47 @@
+package com.sixt.carrental.controller;
+
+import com.sixt.carrental.dto.response.ApiResponse;
+import com.sixt.carrental.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+// Admin-only (see SecurityConfig). Months are yyyy-MM, both ends inclusive.
+@RestController
+@RequestMapping("/api/admin/analytics")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    // GET /api/admin/analytics/revenue?from=2025-01&to=2025-12
+    @GetMapping("/revenue")
+    public ResponseEntity<ApiResponse> revenue(@RequestParam YearMonth from, @RequestParam YearMonth to) {
+        if (to.isBefore(from)) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("'to' must not be before 'from'"));
+        }
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Revenue report", analyticsService.revenue(from, to)));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to build revenue report: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/admin/analytics/utilization?from=2025-01&to=2025-12
+    @GetMapping("/utilization")
+    public ResponseEntity<ApiResponse> utilization(@RequestParam YearMonth from, @RequestParam YearMonth to) {
+        if (to.isBefore(from)) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("'to' must not be before 'from'"));
+        }
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Utilization report", analyticsService.utilization(from, to)));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to build utilization report: " + e.getMessage()));
+        }
+    }
+}
@@ -7,8 +7,10 @@ import com.sixt.carrental.dto.response.ApiResponse;
 import com.sixt.carrental.dto.response.LoginResponse;
 import com.sixt.carrental.entity.User;
 import com.sixt.carrental.entity.User.UserRole;
+import com.sixt.carrental.service.PasswordHashingService.HashingBusyException;
 import com.sixt.carrental.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -60,6 +62,8 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("User registered successfully", loginResponse));
 
+        } catch (HashingBusyException e) {
+            return busy(e);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponse.error(e.getMessage()));
@@ -80,8 +84,8 @@ public class AuthController {
 
             User user = userOpt.get();
 
-            // Verify password using BCrypt
-            if (!userService.verifyPassword(request.getPassword(), user.getPassword())) {
+            // Verify password using BCrypt (rehashes if the work factor changed)
+            if (!userService.verifyPassword(user, request.getPassword())) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(ApiResponse.error("Invalid email or password"));
             }
@@ -105,9 +109,18 @@ public class AuthController {
 
             return ResponseEntity.ok(ApiResponse.success("Login successful", loginResponse));
 
+        } catch (HashingBusyException e) {
+            return busy(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Login failed: " + e.getMessage()));
         }
     }
+
+    // Password hashing pool is saturated - tell the client to back off instead of queueing
+    private ResponseEntity<ApiResponse> busy(HashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(e.getMessage()));
+    }
 }
\ No newline at end of file
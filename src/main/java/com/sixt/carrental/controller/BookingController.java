@@ -2,16 +2,25 @@ package com.sixt.carrental.controller;
 
 import com.sixt.carrental.dto.request.BookingRequest;
 import com.sixt.carrental.dto.response.ApiResponse;
+import com.sixt.carrental.dto.response.BookingSummary;
+import com.sixt.carrental.dto.response.BookingSyncResponse;
 import com.sixt.carrental.entity.Booking;
+import com.sixt.carrental.logging.LogSampling;
+import com.sixt.carrental.service.BookingArchiveService;
 import com.sixt.carrental.service.BookingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -21,20 +30,16 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingArchiveService bookingArchiveService;
 
     // POST /api/bookings - Create new booking
     @PostMapping
     public ResponseEntity<ApiResponse> createBooking(@RequestBody BookingRequest request) {
-        log.info("Received booking request: userId={}, carId={}, categoryId={}, durationMonths={}, kmPackage={}, startDate={}",
-                request.getUserId(), request.getCarId(), request.getCategoryId(),
-                request.getDurationMonths(), request.getKmPackage(), request.getStartDate());
-        
         try {
             // Validate request
             if (request.getUserId() == null || request.getCarId() == null || 
                 request.getCategoryId() == null || request.getDurationMonths() == null ||
                 request.getKmPackage() == null || request.getStartDate() == null) {
-                log.error("Missing required fields in booking request");
                 return ResponseEntity.badRequest()
                         .body(ApiResponse.error("All fields are required"));
             }
@@ -48,12 +53,17 @@ public class BookingController {
                     request.getStartDate()
             );
 
-            log.info("Booking created successfully with ID: {}", booking.getId());
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("Booking created successfully", booking));
 
+        } catch (OptimisticLockingFailureException e) {
+            // Someone else booked the same car concurrently (Car @Version check)
+            log.info(LogSampling.SAMPLED, "Concurrent booking conflict for car {}", request.getCarId());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Car is no longer available for booking"));
         } catch (RuntimeException e) {
-            log.error("Error creating booking: {}", e.getMessage(), e);
+            // Business rejections (car taken, no plan, ...) - expected at peak, no stack trace
+            log.info(LogSampling.SAMPLED, "Booking rejected for car {}: {}", request.getCarId(), e.getMessage());
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
@@ -67,7 +77,9 @@ public class BookingController {
     @GetMapping("/user/{userId}")
     public ResponseEntity<ApiResponse> getUserBookings(@PathVariable Long userId) {
         try {
-            List<Booking> bookings = bookingService.getUserBookings(userId);
+            List<BookingSummary> bookings = bookingService.getUserBookings(userId).stream()
+                    .map(BookingSummary::from)
+                    .toList();
             return ResponseEntity.ok(ApiResponse.success("Bookings fetched successfully", bookings));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -75,6 +87,42 @@ public class BookingController {
         }
     }
 
+    // GET /api/bookings/user/{userId}/sync?since=2025-06-01T10:15:30 - only bookings changed since the watermark
+    @GetMapping("/user/{userId}/sync")
+    public ResponseEntity<ApiResponse> syncUserBookings(
+            @PathVariable Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        try {
+            List<Booking> changed = bookingService.getUserBookingsChangedSince(userId, since);
+            LocalDateTime watermark = changed.stream()
+                    .map(Booking::getUpdatedAt)
+                    .filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder())
+                    .filter(latest -> since == null || latest.isAfter(since)) // overlap rows never move it back
+                    .orElse(since);
+            List<BookingSummary> bookings = changed.stream().map(BookingSummary::from).toList();
+            return ResponseEntity.ok(ApiResponse.success("Bookings synced successfully",
+                    new BookingSyncResponse(bookings, watermark)));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to sync bookings: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/bookings/user/{userId}/archive - finished subscriptions moved out of the live table
+    @GetMapping("/user/{userId}/archive")
+    public ResponseEntity<ApiResponse> getUserArchivedBookings(@PathVariable Long userId) {
+        try {
+            List<BookingSummary> bookings = bookingArchiveService.getUserArchive(userId).stream()
+                    .map(BookingSummary::from)
+                    .toList();
+            return ResponseEntity.ok(ApiResponse.success("Archived bookings fetched successfully", bookings));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to fetch archived bookings: " + e.getMessage()));
+        }
+    }
+
     // GET /api/bookings/{id}
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse> getBookingById(@PathVariable Long id) {
@@ -94,6 +142,9 @@ public class BookingController {
         try {
             Booking booking = bookingService.cancelBooking(id);
             return ResponseEntity.ok(ApiResponse.success("Booking cancelled successfully", booking));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Booking was modified concurrently, please retry"));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage()));
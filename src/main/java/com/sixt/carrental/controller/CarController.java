@@ -1,7 +1,9 @@
 package com.sixt.carrental.controller;
 
 import com.sixt.carrental.dto.response.ApiResponse;
-import com.sixt.carrental.entity.Car;
+import com.sixt.carrental.dto.response.CarSearchResponse;
+import com.sixt.carrental.dto.response.CarSummary;
+import com.sixt.carrental.entity.Car.CarStatus;
 import com.sixt.carrental.service.CarService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -21,7 +23,7 @@ public class CarController {
     @GetMapping
     public ResponseEntity<ApiResponse> getAllAvailableCars() {
         try {
-            List<Car> cars = carService.getAvailableCars();
+            List<CarSummary> cars = carService.getAvailableCars().stream().map(CarSummary::from).toList();
             return ResponseEntity.ok(ApiResponse.success("Cars fetched successfully", cars));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -33,7 +35,7 @@ public class CarController {
     @GetMapping("/category/{categoryId}")
     public ResponseEntity<ApiResponse> getCarsByCategory(@PathVariable Long categoryId) {
         try {
-            List<Car> cars = carService.getAvailableCarsByCategory(categoryId);
+            List<CarSummary> cars = carService.getAvailableCarsByCategory(categoryId).stream().map(CarSummary::from).toList();
             return ResponseEntity.ok(ApiResponse.success("Cars fetched successfully", cars));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -45,7 +47,7 @@ public class CarController {
     @GetMapping("/brand/{brand}")
     public ResponseEntity<ApiResponse> getCarsByBrand(@PathVariable String brand) {
         try {
-            List<Car> cars = carService.getAvailableCarsByBrand(brand);
+            List<CarSummary> cars = carService.getAvailableCarsByBrand(brand).stream().map(CarSummary::from).toList();
             return ResponseEntity.ok(ApiResponse.success("Cars fetched successfully", cars));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -53,6 +55,25 @@ public class CarController {
         }
     }
 
+    // GET /api/cars/search?q=bmw&categoryId=3&status=AVAILABLE&limit=20
+    // Prefix and typo tolerant; brand/categoryId/status are filters, facets are returned for all three
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse> searchCars(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) CarStatus status,
+            @RequestParam(defaultValue = "20") Integer limit) {
+        try {
+            int boundedLimit = Math.max(0, Math.min(limit, 100));
+            CarSearchResponse response = carService.searchCars(q, brand, categoryId, status, boundedLimit);
+            return ResponseEntity.ok(ApiResponse.success("Search completed successfully", response));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to search cars: " + e.getMessage()));
+        }
+    }
+
     // GET /api/cars/{id}
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse> getCarById(@PathVariable Long id) {
@@ -0,0 +1,35 @@
+package com.sixt.carrental.controller;
+
+import com.sixt.carrental.config.JwtAuthenticationFilter;
+import com.sixt.carrental.notification.StatusStreamRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class EventStreamController {
+
+    private final StatusStreamRegistry statusStreamRegistry;
+
+    // GET /api/events/stream - live booking/payment status changes for the logged-in user
+    // Event names: BOOKING_CREATED, BOOKING_CONFIRMED, ..., PAYMENT_SUCCEEDED, PAYMENT_FAILED, WAITLIST_OFFERED
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(HttpServletRequest request) {
+        Object userId = request.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+        if (!(userId instanceof Long id)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authentication required");
+        }
+        try {
+            return statusStreamRegistry.subscribe(id);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        }
+    }
+}
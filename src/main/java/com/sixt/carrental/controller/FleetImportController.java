@@ -0,0 +1,50 @@
+package com.sixt.carrental.controller;
+
+import com.sixt.carrental.dto.response.ApiResponse;
+import com.sixt.carrental.dto.response.FleetImportReport;
+import com.sixt.carrental.fleet.CarImportReader;
+import com.sixt.carrental.service.FleetImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+// Admin-only (see SecurityConfig). The raw request body is streamed, never buffered:
+//   curl -X POST -H 'Content-Type: text/csv' --data-binary @fleet.csv .../api/admin/cars/import
+//   curl -X POST -H 'Content-Type: application/x-ndjson' --data-binary @fleet.ndjson .../api/admin/cars/import
+@RestController
+@RequestMapping("/api/admin/cars")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Slf4j
+public class FleetImportController {
+
+    private final FleetImportService fleetImportService;
+    private final ObjectMapper objectMapper;
+
+    // POST /api/admin/cars/import - rows without id are inserted, rows with id update that car
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ApiResponse> importCars(HttpServletRequest request) {
+        try (Reader body = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)) {
+            String contentType = request.getContentType();
+            CarImportReader reader = contentType != null && contentType.contains("ndjson")
+                    ? CarImportReader.ndjson(body, objectMapper)
+                    : CarImportReader.csv(body);
+            FleetImportReport report = fleetImportService.importCars(reader);
+            return ResponseEntity.ok(ApiResponse.success("Import finished: " + report.inserted() + " inserted, "
+                    + report.updated() + " updated, " + report.failed() + " failed", report));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Fleet import failed: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to import cars: " + e.getMessage()));
+        }
+    }
+}
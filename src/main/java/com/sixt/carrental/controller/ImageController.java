@@ -0,0 +1,111 @@
+package com.sixt.carrental.controller;
+
+import com.sixt.carrental.dto.response.ApiResponse;
+import com.sixt.carrental.image.ImageStore;
+import com.sixt.carrental.image.ImageVariant;
+import com.sixt.carrental.service.CarService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Slf4j
+public class ImageController {
+
+    // Image files never change (content-addressed keys), so clients and CDNs may keep them for a year
+    private static final String CACHE_FOREVER = "public, max-age=31536000, immutable";
+
+    // Tomcat's sendfile hand-off: the connector streams the file itself with FileChannel.transferTo
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ImageStore imageStore;
+    private final CarService carService;
+
+    // POST /api/admin/cars/{carId}/image (multipart "file") - stores original + thumbnails, links the car
+    @PostMapping("/admin/cars/{carId}/image")
+    public ResponseEntity<ApiResponse> uploadCarImage(@PathVariable Long carId,
+                                                      @RequestParam("file") MultipartFile file) {
+        try {
+            if (carService.findById(carId).isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Car not found with ID: " + carId));
+            }
+            String key = imageStore.store(file.getBytes());
+            carService.updateImage(carId, key);
+            return ResponseEntity.ok(ApiResponse.success("Image uploaded successfully", Map.of("imageKey", key)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Image upload failed for car {}: {}", carId, e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to upload image: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/images/{key}/{variant} - variant is thumb, medium or original
+    @GetMapping("/images/{key}/{variant}")
+    public void getImage(@PathVariable String key,
+                         @PathVariable String variant,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        Path file;
+        try {
+            file = imageStore.locate(key, ImageVariant.fromPathName(variant));
+        } catch (IllegalArgumentException e) {
+            file = null;
+        }
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String etag = "\"" + key + "-" + variant + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_FOREVER);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+            response.setContentLengthLong(size);
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, file.toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, size);
+                return;
+            }
+
+            // No sendfile (small file or other container): still copy channel-to-channel
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
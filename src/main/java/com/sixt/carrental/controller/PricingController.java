@@ -1,16 +1,18 @@
 package com.sixt.carrental.controller;
 
+import com.sixt.carrental.common.Money;
 import com.sixt.carrental.dto.response.ApiResponse;
 import com.sixt.carrental.dto.response.PriceCalculationResponse;
 import com.sixt.carrental.entity.Category;
 import com.sixt.carrental.entity.PricingPlan;
+import com.sixt.carrental.pricing.PriceQuote;
 import com.sixt.carrental.service.CategoryService;
 import com.sixt.carrental.service.PricingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -49,8 +51,9 @@ public class PricingController {
             PricingPlan plan = pricingService.findPricingPlan(categoryId, durationMonths, kmPackage)
                     .orElseThrow(() -> new RuntimeException("Pricing plan not found"));
 
-            // Calculate total
-            BigDecimal totalAmount = pricingService.calculateTotalPrice(categoryId, durationMonths, kmPackage);
+            // Calculate total (reuse the loaded plan instead of querying it again)
+            Money pricePerMonth = Money.of(plan.getPricePerMonth());
+            Money totalAmount = pricingService.calculateTotalPrice(plan, durationMonths);
 
             // Create response
             PriceCalculationResponse response = new PriceCalculationResponse(
@@ -58,7 +61,7 @@ public class PricingController {
                     category.getName(),
                     durationMonths,
                     kmPackage,
-                    plan.getPricePerMonth(),
+                    pricePerMonth,
                     totalAmount
             );
 
@@ -69,4 +72,25 @@ public class PricingController {
                     .body(ApiResponse.error("Failed to calculate price: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    // GET /api/pricing/quote?categoryId=1&durationMonths=3&kmPackage=1000&startDate=2025-03-01
+    // Dynamic price for a start date - the price a booking made now would lock in
+    @GetMapping("/quote")
+    public ResponseEntity<ApiResponse> quote(
+            @RequestParam Long categoryId,
+            @RequestParam Integer durationMonths,
+            @RequestParam Integer kmPackage,
+            @RequestParam LocalDate startDate) {
+        try {
+            PricingPlan plan = pricingService.findPricingPlan(categoryId, durationMonths, kmPackage)
+                    .orElseThrow(() -> new RuntimeException("Pricing plan not found"));
+
+            PriceQuote quote = pricingService.quote(plan, startDate);
+            return ResponseEntity.ok(ApiResponse.success("Price quoted successfully", quote));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to quote price: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.sixt.carrental.controller;
+
+import com.sixt.carrental.config.JwtAuthenticationFilter;
+import com.sixt.carrental.dto.response.ApiResponse;
+import com.sixt.carrental.dto.response.WaitlistEntryResponse;
+import com.sixt.carrental.entity.WaitlistEntry;
+import com.sixt.carrental.service.WaitlistService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    // POST /api/waitlist/{categoryId} - queue up for a sold-out category
+    @PostMapping("/{categoryId}")
+    public ResponseEntity<ApiResponse> join(@PathVariable Long categoryId, HttpServletRequest request) {
+        Long userId = currentUserId(request);
+        try {
+            WaitlistEntry entry = waitlistService.join(userId, categoryId);
+            // Not queued in memory until commit, so the new entry is last in line
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Joined the waitlist", WaitlistEntryResponse.from(entry, null)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // GET /api/waitlist/me - own entries with queue position or the pending offer
+    @GetMapping("/me")
+    public ResponseEntity<ApiResponse> myEntries(HttpServletRequest request) {
+        List<WaitlistEntryResponse> entries = waitlistService.getUserEntries(currentUserId(request)).stream()
+                .map(entry -> WaitlistEntryResponse.from(entry, waitlistService.position(entry).orElse(null)))
+                .toList();
+        return ResponseEntity.ok(ApiResponse.success("Waitlist entries retrieved successfully", entries));
+    }
+
+    // DELETE /api/waitlist/{id} - leave the queue or decline an offer
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse> cancel(@PathVariable Long id, HttpServletRequest request) {
+        Long userId = currentUserId(request);
+        try {
+            waitlistService.cancel(userId, id);
+            return ResponseEntity.ok(ApiResponse.success("Left the waitlist"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    private static Long currentUserId(HttpServletRequest request) {
+        Object userId = request.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+        if (!(userId instanceof Long id)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authentication required");
+        }
+        return id;
+    }
+}
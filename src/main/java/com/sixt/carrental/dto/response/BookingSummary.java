@@ -0,0 +1,37 @@
+package com.sixt.carrental.dto.response;
+
+import com.sixt.carrental.common.Money;
+import com.sixt.carrental.entity.ArchivedBooking;
+import com.sixt.carrental.entity.Booking;
+import com.sixt.carrental.entity.Booking.BookingStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Lean list view of a booking: IDs instead of the user/car associations, no updatedAt/version
+public record BookingSummary(Long id,
+                             Long carId,
+                             BookingStatus status,
+                             Integer durationMonths,
+                             Integer kmPackage,
+                             Money pricePerMonth,
+                             Money totalAmount,
+                             LocalDate startDate,
+                             LocalDate endDate,
+                             LocalDateTime createdAt) {
+
+    // car.getId() on the lazy proxy does not load the car
+    public static BookingSummary from(Booking booking) {
+        return new BookingSummary(booking.getId(), booking.getCar().getId(), booking.getStatus(),
+                booking.getDurationMonths(), booking.getKmPackage(), Money.of(booking.getPricePerMonth()),
+                Money.of(booking.getTotalAmount()), booking.getStartDate(), booking.getEndDate(),
+                booking.getCreatedAt());
+    }
+
+    public static BookingSummary from(ArchivedBooking booking) {
+        return new BookingSummary(booking.getId(), booking.getCarId(), booking.getStatus(),
+                booking.getDurationMonths(), booking.getKmPackage(), Money.of(booking.getPricePerMonth()),
+                Money.of(booking.getTotalAmount()), booking.getStartDate(), booking.getEndDate(),
+                booking.getCreatedAt());
+    }
+}
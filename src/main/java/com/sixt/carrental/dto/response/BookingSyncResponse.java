@@ -0,0 +1,9 @@
+package com.sixt.carrental.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Incremental booking history: the bookings changed since the request's watermark, and the watermark
+// to send next time (latest updatedAt seen; unchanged when nothing changed, null while there are none)
+public record BookingSyncResponse(List<BookingSummary> bookings, LocalDateTime watermark) {
+}
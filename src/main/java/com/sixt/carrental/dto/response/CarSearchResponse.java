@@ -0,0 +1,18 @@
+package com.sixt.carrental.dto.response;
+
+import com.sixt.carrental.search.CarDocument;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class CarSearchResponse {
+
+    private Integer total;
+    private List<CarDocument> results;
+    // facet name (brand, category, status) -> value -> count
+    private Map<String, Map<String, Integer>> facets;
+}
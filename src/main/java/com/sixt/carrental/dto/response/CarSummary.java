@@ -0,0 +1,31 @@
+package com.sixt.carrental.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sixt.carrental.entity.Car;
+import com.sixt.carrental.entity.Car.CarStatus;
+import com.sixt.carrental.entity.Category;
+
+// Lean list view of a car: what the fleet list renders, nothing else
+// (no timestamps, version or full category). GET /api/cars/{id} still returns the full car.
+// Uploaded images are referenced by imageKey only (thumbnail: /api/images/{imageKey}/thumb);
+// imageUrl is sent only for cars that still point at an external image.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CarSummary(Long id,
+                         String brand,
+                         String model,
+                         CarStatus status,
+                         String imageKey,
+                         String imageUrl,
+                         CategoryRef category) {
+
+    public record CategoryRef(Long id, String code, String name) {
+    }
+
+    // Expects the category to be fetched with the car (see CarRepository entity graphs)
+    public static CarSummary from(Car car) {
+        Category category = car.getCategory();
+        return new CarSummary(car.getId(), car.getBrand(), car.getModel(), car.getStatus(), car.getImageKey(),
+                car.getImageKey() == null ? car.getImageUrl() : null,
+                new CategoryRef(category.getId(), category.getCode(), category.getName()));
+    }
+}
@@ -0,0 +1,15 @@
+package com.sixt.carrental.dto.response;
+
+import java.util.List;
+
+// Outcome of a bulk fleet import. errors lists the failed rows by line number (capped; failed has the full count).
+public record FleetImportReport(long rows,
+                                long inserted,
+                                long updated,
+                                long failed,
+                                List<RowError> errors,
+                                long durationMillis) {
+
+    public record RowError(long line, String message) {
+    }
+}
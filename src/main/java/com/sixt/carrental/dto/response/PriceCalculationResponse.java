@@ -1,10 +1,9 @@
 package com.sixt.carrental.dto.response;
 
+import com.sixt.carrental.common.Money;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
-import java.math.BigDecimal;
-
 @Data
 @AllArgsConstructor
 public class PriceCalculationResponse {
@@ -13,6 +12,6 @@ public class PriceCalculationResponse {
     private String categoryName;
     private Integer durationMonths;
     private Integer kmPackage;
-    private BigDecimal pricePerMonth;
-    private BigDecimal totalAmount;
+    private Money pricePerMonth;
+    private Money totalAmount;
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.sixt.carrental.dto.response;
+
+import com.sixt.carrental.common.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.YearMonth;
+
+@Data
+@AllArgsConstructor
+public class RevenueReportRow {
+
+    private YearMonth month;
+    private Long categoryId;
+    private String categoryName;
+    private Integer kmPackage;
+    private Money revenue;
+    private Integer bookings;
+    private Integer cancellations;
+}
@@ -0,0 +1,20 @@
+package com.sixt.carrental.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.YearMonth;
+
+@Data
+@AllArgsConstructor
+public class UtilizationReportRow {
+
+    private YearMonth month;
+    private Long categoryId;
+    private String categoryName;
+    private Long rentedCarDays;
+    // Current fleet size x days in month (fleet history is not tracked)
+    private Long fleetCarDays;
+    // rentedCarDays / fleetCarDays, 0..1
+    private Double utilization;
+}
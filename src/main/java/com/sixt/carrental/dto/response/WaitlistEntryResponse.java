@@ -0,0 +1,23 @@
+package com.sixt.carrental.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sixt.carrental.entity.WaitlistEntry;
+import com.sixt.carrental.entity.WaitlistEntry.WaitlistStatus;
+
+import java.time.LocalDateTime;
+
+// position is set while WAITING, carId/offerExpiresAt while OFFERED (book that car before the offer expires)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record WaitlistEntryResponse(Long id,
+                                    Long categoryId,
+                                    WaitlistStatus status,
+                                    Integer position,
+                                    Long carId,
+                                    LocalDateTime offerExpiresAt,
+                                    LocalDateTime createdAt) {
+
+    public static WaitlistEntryResponse from(WaitlistEntry entry, Integer position) {
+        return new WaitlistEntryResponse(entry.getId(), entry.getCategoryId(), entry.getStatus(), position,
+                entry.getCarId(), entry.getOfferExpiresAt(), entry.getCreatedAt());
+    }
+}
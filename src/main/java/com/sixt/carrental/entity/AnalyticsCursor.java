@@ -0,0 +1,25 @@
+package com.sixt.carrental.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Present once the rollups have been seeded from the bookings; lastEventId is the outbox high-water
+// mark at that moment, kept for diagnostics. Which events are applied is tracked per event
+// (outbox_events.projected_at): IDENTITY values can commit out of order, so an ID cursor would skip some.
+@Entity
+@Table(name = "analytics_cursor")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class AnalyticsCursor {
+
+    public static final Long ROLLUPS = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId;
+}
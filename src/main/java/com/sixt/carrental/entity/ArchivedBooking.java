@@ -0,0 +1,85 @@
+package com.sixt.carrental.entity;
+
+import com.sixt.carrental.entity.Booking.BookingStatus;
+import com.sixt.carrental.entity.Payment.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Cold storage for finished subscriptions (see BookingArchiveService): a COMPLETED or CANCELLED booking
+// moves here, flattened together with its payment, once it has been terminal for the retention period.
+// Plain IDs instead of associations, so nothing references or locks the hot tables.
+@Entity
+@Table(name = "bookings_archive", indexes = {
+        @Index(name = "idx_bookings_archive_user", columnList = "user_id, start_date"),
+        @Index(name = "idx_bookings_archive_car", columnList = "car_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ArchivedBooking {
+
+    // Same ID as in bookings
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "car_id", nullable = false)
+    private Long carId;
+
+    // Category at archival time, for the analytics backfill
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "duration_months", nullable = false)
+    private Integer durationMonths;
+
+    @Column(name = "km_package", nullable = false)
+    private Integer kmPackage;
+
+    @Column(name = "price_per_month", nullable = false, precision = 10, scale = 2)
+    private BigDecimal pricePerMonth;
+
+    @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BookingStatus status;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Payment columns are null when the booking was never paid
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status", length = 20)
+    private PaymentStatus paymentStatus;
+
+    @Column(name = "payment_amount", precision = 10, scale = 2)
+    private BigDecimal paymentAmount;
+
+    @Column(name = "transaction_id", length = 100)
+    private String transactionId;
+
+    @Column(name = "paid_at")
+    private LocalDateTime paidAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -3,6 +3,7 @@ package com.sixt.carrental.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -10,7 +11,14 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@DynamicUpdate
+// Live bookings only: finished ones move to bookings_archive (BookingArchiveService), so this table
+// and its indexes stay proportional to the active fleet rather than to the full history
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_user_updated", columnList = "user_id, updated_at"),
+        @Index(name = "idx_bookings_car", columnList = "car_id"),
+        @Index(name = "idx_bookings_status_updated", columnList = "status, updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -53,6 +61,10 @@ public class Booking {
     @Column(nullable = false, length = 20)
     private BookingStatus status = BookingStatus.PENDING;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -3,10 +3,12 @@ package com.sixt.carrental.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate // UPDATE only the columns that actually changed
 @Table(name = "cars")
 @Getter
 @Setter
@@ -32,10 +34,19 @@ public class Car {
     @Column(name = "image_url", length = 500)
     private String imageUrl;
 
+    // Key of an uploaded image (see image.ImageStore); served from /api/images/{key}/{variant}
+    @Column(name = "image_key", length = 32)
+    private String imageKey;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private CarStatus status = CarStatus.AVAILABLE;
 
+    // Optimistic lock; default 0 so existing rows get a value when the column is added
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -47,7 +58,8 @@ public class Car {
     public enum CarStatus{
         AVAILABLE,
         RENTED,
-        MAINTENENCE
+        MAINTENENCE,
+        HELD        // reserved for a waitlist offer until it is booked or the offer expires
     }
 
 }
\ No newline at end of file
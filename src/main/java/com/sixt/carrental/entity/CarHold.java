@@ -0,0 +1,35 @@
+package com.sixt.carrental.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// Checkout hold: the car of a PENDING booking is blocked only until expires_at unless the booking is paid.
+// The row is deleted when the booking leaves PENDING (paid -> the rental is permanent, cancelled -> released).
+@Entity
+@Table(name = "car_holds", indexes = {
+        @Index(name = "idx_car_holds_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class CarHold {
+
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "car_id", nullable = false)
+    private Long carId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,67 @@
+package com.sixt.carrental.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_unpublished", columnList = "published_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregate_type", nullable = false, length = 20)
+    private AggregateType aggregateType;
+
+    // Ordering key: booking ID for both booking and payment events, entry ID for waitlist events
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private EventType eventType;
+
+    // JSON document, written in the same transaction as the state change
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    // Null until the relay has handed the event to the sink(s)
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    // Null until the analytics projector has folded the event into the rollups (see AnalyticsProjector)
+    @Column(name = "projected_at")
+    private LocalDateTime projectedAt;
+
+    public enum AggregateType {
+        BOOKING,
+        PAYMENT,
+        WAITLIST
+    }
+
+    public enum EventType {
+        BOOKING_CREATED,
+        BOOKING_CONFIRMED,
+        BOOKING_CANCELLED,
+        BOOKING_COMPLETED,
+        PAYMENT_SUCCEEDED,
+        PAYMENT_FAILED,
+        WAITLIST_OFFERED
+    }
+}
@@ -0,0 +1,46 @@
+package com.sixt.carrental.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Materialized revenue summary, maintained incrementally from booking events (see analytics.AnalyticsProjector)
+@Entity
+@Table(name = "revenue_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_revenue_rollup_bucket", columnNames = {"period_month", "category_id", "km_package"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class RevenueRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // First day of the calendar month
+    @Column(name = "period_month", nullable = false)
+    private LocalDate month;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "km_package", nullable = false)
+    private Integer kmPackage;
+
+    // Monthly fees billed in this month by confirmed subscriptions
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    // Confirmed subscriptions starting in this month (net of cancellations)
+    @Column(nullable = false)
+    private Integer bookings;
+
+    // Confirmed subscriptions starting in this month that were later cancelled
+    @Column(nullable = false)
+    private Integer cancellations;
+}
@@ -0,0 +1,33 @@
+package com.sixt.carrental.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+// Materialized car-days rented per category and month, maintained incrementally from booking events
+@Entity
+@Table(name = "utilization_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_utilization_rollup_bucket", columnNames = {"period_month", "category_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class UtilizationRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // First day of the calendar month
+    @Column(name = "period_month", nullable = false)
+    private LocalDate month;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "rented_car_days", nullable = false)
+    private Long rentedCarDays;
+}
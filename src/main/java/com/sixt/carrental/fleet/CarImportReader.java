@@ -0,0 +1,183 @@
+package com.sixt.carrental.fleet;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Pulls import rows one line at a time from the request body, so a file of any size is never held in memory.
+// CSV: a header line naming the columns (id, categoryCode, brand, model, imageUrl, status - any order,
+// id/imageUrl/status optional), then one car per line; fields may be double-quoted ("" escapes a quote).
+// NDJSON: one JSON object per line with the same field names.
+// A line that cannot be parsed becomes a Line with an error instead of failing the whole import.
+public abstract class CarImportReader {
+
+    public record Line(long number, CarImportRow row, String error) {
+    }
+
+    private final BufferedReader reader;
+    private long lineNumber;
+
+    protected CarImportReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 64 * 1024);
+    }
+
+    public static CarImportReader csv(Reader reader) {
+        return new Csv(reader);
+    }
+
+    public static CarImportReader ndjson(Reader reader, ObjectMapper objectMapper) {
+        return new Ndjson(reader, objectMapper);
+    }
+
+    // Next non-blank line, or null at the end of the input
+    public Line next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (text.isBlank());
+        try {
+            return new Line(lineNumber, parse(text), null);
+        } catch (IllegalArgumentException e) {
+            return new Line(lineNumber, null, e.getMessage());
+        }
+    }
+
+    protected abstract CarImportRow parse(String text);
+
+    private static final class Csv extends CarImportReader {
+
+        private Map<String, Integer> columns;
+
+        Csv(Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        public Line next() throws IOException {
+            Line line = super.next();
+            if (columns == null && line != null) {
+                // First line is the header; without a usable header no row can be read
+                if (line.error() != null) {
+                    throw new IllegalArgumentException(line.error());
+                }
+                return super.next();
+            }
+            return line;
+        }
+
+        @Override
+        protected CarImportRow parse(String text) {
+            List<String> fields = split(text);
+            if (columns == null) {
+                columns = header(fields);
+                return null;
+            }
+            return new CarImportRow(
+                    parseId(field(fields, "id")),
+                    field(fields, "categorycode"),
+                    field(fields, "brand"),
+                    field(fields, "model"),
+                    field(fields, "imageurl"),
+                    field(fields, "status"));
+        }
+
+        private static Map<String, Integer> header(List<String> fields) {
+            Map<String, Integer> header = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                header.put(fields.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String required : List.of("categorycode", "brand", "model")) {
+                if (!header.containsKey(required)) {
+                    throw new IllegalArgumentException("CSV header is missing column " + required);
+                }
+            }
+            return header;
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static Long parseId(String value) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Long.valueOf(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid id: " + value);
+            }
+        }
+
+        private static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    private static final class Ndjson extends CarImportReader {
+
+        private final ObjectMapper objectMapper;
+
+        Ndjson(Reader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        protected CarImportRow parse(String text) {
+            try {
+                CarImportRow row = objectMapper.readValue(text, CarImportRow.class);
+                if (row == null) {
+                    throw new IllegalArgumentException("Empty row");
+                }
+                return row;
+            } catch (JacksonException e) {
+                throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+}
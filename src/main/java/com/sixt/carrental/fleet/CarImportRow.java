@@ -0,0 +1,11 @@
+package com.sixt.carrental.fleet;
+
+// One vehicle of a fleet import file. Without id it is a new car; with id it updates that car.
+// categoryCode is the category's code (e.g. "SUV"); status defaults to AVAILABLE for new cars.
+public record CarImportRow(Long id,
+                           String categoryCode,
+                           String brand,
+                           String model,
+                           String imageUrl,
+                           String status) {
+}
@@ -0,0 +1,5 @@
+package com.sixt.carrental.hold;
+
+// Raised when a checkout hold ran out before the booking was paid
+public record CarHoldExpired(Long bookingId) {
+}
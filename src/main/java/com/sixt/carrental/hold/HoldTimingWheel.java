@@ -0,0 +1,83 @@
+package com.sixt.carrental.hold;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Hashed timing wheel for hold expiries: schedule, cancel and per-tick expiry are O(1) per hold,
+// independent of how many holds are pending. A deadline lands in the slot of the first tick at or
+// after it (ceil(deadline / tick) % slots), so it is due whenever that slot is visited;
+// deadlines more than one revolution away stay in their slot until a later pass reaches them.
+// Not persistent - the car_holds table is the source of truth and is replayed into the wheel on start.
+public class HoldTimingWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Set<Long>[] slots;
+    private final Map<Long, Timeout> timeouts = new HashMap<>();
+    private long lastTick;
+
+    @SuppressWarnings("unchecked")
+    public HoldTimingWheel(long tickMillis, int slotCount, long startMillis) {
+        if (tickMillis <= 0 || Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("tickMillis must be positive and slotCount a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = slotCount - 1;
+        this.slots = new Set[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new LinkedHashSet<>();
+        }
+        this.lastTick = startMillis / tickMillis;
+    }
+
+    // (Re)schedules the key; a deadline already passed fires on the next advance
+    public synchronized void schedule(Long key, long deadlineMillis) {
+        cancel(key);
+        long deadlineTick = (deadlineMillis + tickMillis - 1) / tickMillis;
+        int slot = (int) (Math.max(deadlineTick, lastTick + 1) & mask);
+        slots[slot].add(key);
+        timeouts.put(key, new Timeout(deadlineMillis, slot));
+    }
+
+    public synchronized boolean cancel(Long key) {
+        Timeout timeout = timeouts.remove(key);
+        if (timeout == null) {
+            return false;
+        }
+        slots[timeout.slot].remove(key);
+        return true;
+    }
+
+    // Visits the slots of every tick since the last call (each slot at most once) and removes
+    // and returns the keys whose deadline has passed
+    public synchronized List<Long> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        List<Long> expired = new ArrayList<>();
+        long ticks = Math.min(nowTick - lastTick, slots.length);
+        for (long tick = nowTick - ticks + 1; tick <= nowTick; tick++) {
+            Iterator<Long> keys = slots[(int) (tick & mask)].iterator();
+            while (keys.hasNext()) {
+                Long key = keys.next();
+                if (timeouts.get(key).deadlineMillis <= nowMillis) {
+                    keys.remove();
+                    timeouts.remove(key);
+                    expired.add(key);
+                }
+            }
+        }
+        lastTick = Math.max(lastTick, nowTick);
+        return expired;
+    }
+
+    public synchronized int size() {
+        return timeouts.size();
+    }
+
+    private record Timeout(long deadlineMillis, int slot) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.sixt.carrental.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Idempotency keys seen recently, with the fingerprint of the first request and, once it finished,
+// its response. Bounded to max-entries in insertion order: when full, the oldest key is evicted, so new
+// keys are always tracked and only a retry arriving after max-entries newer keys loses its protection.
+// Expired keys are dropped from the old end as new ones arrive. Operations are amortised O(1) under one lock,
+// which is held only for the map update (never while the request runs).
+// Node-local: a retry that lands on another node is not recognised (see IdempotencyFilter).
+@Component
+public class IdempotencyStore {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries;
+
+    public IdempotencyStore(@Value("${app.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                            @Value("${app.idempotency.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyStore.Entry> eldest) {
+                return size() > IdempotencyStore.this.maxEntries;
+            }
+        };
+    }
+
+    public enum Status {
+        STARTED,      // first time: caller processes the request, then complete() or abandon()
+        REPLAY,       // finished before: send the stored response
+        IN_PROGRESS,  // the first request is still running
+        MISMATCH      // key reused with a different request
+    }
+
+    public record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+    public record Lookup(Status status, StoredResponse response) {
+    }
+
+    public synchronized Lookup begin(String key, String fingerprint) {
+        long now = System.nanoTime();
+        dropExpired(now);
+        Entry existing = entries.get(key);
+        if (existing == null || existing.isExpired(now)) {
+            entries.remove(key);
+            entries.put(key, new Entry(fingerprint, null, now + ttlNanos)); // evicts the oldest key when full
+            return new Lookup(Status.STARTED, null);
+        }
+        if (!existing.fingerprint.equals(fingerprint)) {
+            return new Lookup(Status.MISMATCH, null);
+        }
+        if (existing.response == null) {
+            return new Lookup(Status.IN_PROGRESS, null);
+        }
+        return new Lookup(Status.REPLAY, existing.response);
+    }
+
+    // Keeps the key's place in the eviction order (re-added as newest if it was evicted meanwhile)
+    public synchronized void complete(String key, String fingerprint, StoredResponse response) {
+        entries.put(key, new Entry(fingerprint, response, System.nanoTime() + ttlNanos));
+    }
+
+    // The request failed in a way a retry may fix: forget the key
+    public synchronized void abandon(String key) {
+        entries.remove(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Oldest first, so this stops at the first live key
+    private void dropExpired(long nowNanos) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext() && it.next().isExpired(nowNanos)) {
+            it.remove();
+        }
+    }
+
+    private record Entry(String fingerprint, StoredResponse response, long expiresAtNanos) {
+        boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos > 0;
+        }
+    }
+}
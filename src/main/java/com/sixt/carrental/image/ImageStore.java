@@ -0,0 +1,190 @@
+package com.sixt.carrental.image;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.regex.Pattern;
+
+// Local-disk stand-in for object storage. Images are content-addressed: the key is a hash of the
+// uploaded bytes, so a stored file never changes and can be cached by clients forever.
+// Layout: <dir>/<first 2 key chars>/<key>/<variant>.jpg, all renditions written once at upload time.
+@Component
+@Slf4j
+public class ImageStore {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{24}");
+    private static final int KEY_HEX_CHARS = 24;
+
+    private final Path root;
+    private final int thumbWidth;
+    private final int mediumWidth;
+    private final float jpegQuality;
+    private final long maxPixels;
+
+    public ImageStore(@Value("${app.images.dir:build/images}") String dir,
+                      @Value("${app.images.thumb-width:320}") int thumbWidth,
+                      @Value("${app.images.medium-width:960}") int mediumWidth,
+                      @Value("${app.images.jpeg-quality:0.82}") float jpegQuality,
+                      @Value("${app.images.max-pixels:40000000}") long maxPixels) {
+        this.root = Path.of(dir).toAbsolutePath();
+        this.thumbWidth = thumbWidth;
+        this.mediumWidth = mediumWidth;
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+    }
+
+    // Decodes, resizes and stores every variant; returns the image key. Re-uploading the same bytes is a no-op.
+    public String store(byte[] upload) {
+        BufferedImage source;
+        try {
+            source = decode(upload);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read image: " + e.getMessage());
+        }
+
+        String key = keyOf(upload);
+        Path dir = directoryOf(key);
+        if (Files.exists(dir.resolve(fileName(ImageVariant.THUMB)))) {
+            return key;
+        }
+
+        try {
+            Files.createDirectories(dir);
+            BufferedImage rgb = toRgb(source);
+            write(rgb, dir, ImageVariant.ORIGINAL);
+            write(resize(rgb, mediumWidth), dir, ImageVariant.MEDIUM);
+            // Thumb last: its presence marks a complete set (checked above)
+            write(resize(rgb, thumbWidth), dir, ImageVariant.THUMB);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store image " + key, e);
+        }
+        log.info("Stored image {} ({}x{}, {} bytes)", key, source.getWidth(), source.getHeight(), upload.length);
+        return key;
+    }
+
+    // Reads the dimensions from the header first: a small file can declare a huge canvas,
+    // and decoding allocates width * height pixels before anything else could reject it
+    private BufferedImage decode(byte[] upload) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(upload))) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IllegalArgumentException("Image too large: " + reader.getWidth(0) + "x"
+                            + reader.getHeight(0) + " pixels (max " + maxPixels + ")");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Path of a stored variant, or null if the key is malformed or unknown
+    public Path locate(String key, ImageVariant variant) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            return null;
+        }
+        Path file = directoryOf(key).resolve(fileName(variant));
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    private Path directoryOf(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static String fileName(ImageVariant variant) {
+        return variant.pathName() + ".jpg";
+    }
+
+    private static String keyOf(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(digest).substring(0, KEY_HEX_CHARS);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // JPEG has no alpha channel; flatten onto white
+    private static BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, rgb.getWidth(), rgb.getHeight());
+            g.drawImage(source, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    private static BufferedImage resize(BufferedImage source, int maxWidth) {
+        if (source.getWidth() <= maxWidth) {
+            return source;
+        }
+        int height = Math.max(1, Math.round((float) source.getHeight() * maxWidth / source.getWidth()));
+        BufferedImage scaled = new BufferedImage(maxWidth, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, maxWidth, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    // Write to a temp file and move into place, so readers never see a partial image
+    private void write(BufferedImage image, Path dir, ImageVariant variant) throws IOException {
+        Path tmp = Files.createTempFile(dir, variant.pathName(), ".tmp");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (OutputStream out = Files.newOutputStream(tmp);
+                 ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+                writer.setOutput(imageOut);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(tmp, dir.resolve(fileName(variant)), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
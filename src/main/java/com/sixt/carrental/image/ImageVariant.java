@@ -0,0 +1,27 @@
+package com.sixt.carrental.image;
+
+// Stored renditions of an uploaded image. Widths are upper bounds; images are never upscaled.
+public enum ImageVariant {
+    THUMB("thumb"),
+    MEDIUM("medium"),
+    ORIGINAL("original");
+
+    private final String pathName;
+
+    ImageVariant(String pathName) {
+        this.pathName = pathName;
+    }
+
+    public String pathName() {
+        return pathName;
+    }
+
+    public static ImageVariant fromPathName(String name) {
+        for (ImageVariant variant : values()) {
+            if (variant.pathName.equals(name)) {
+                return variant;
+            }
+        }
+        throw new IllegalArgumentException("Unknown image variant: " + name);
+    }
+}
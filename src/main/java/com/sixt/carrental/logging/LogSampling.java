@@ -0,0 +1,14 @@
+package com.sixt.carrental.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+// Marker for high-volume INFO lines on request paths: only every n-th marked event is written
+// (app.logging.sample-every, see SamplingTurboFilter). Warnings and errors are never sampled.
+public final class LogSampling {
+
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private LogSampling() {
+    }
+}
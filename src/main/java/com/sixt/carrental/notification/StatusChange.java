@@ -0,0 +1,12 @@
+package com.sixt.carrental.notification;
+
+import com.sixt.carrental.entity.OutboxEvent.EventType;
+
+// Booking/payment status transition for a user, raised alongside the outbox row
+// and delivered to live streams after the transaction commits
+public record StatusChange(Long eventId,
+                           Long userId,
+                           Long bookingId,
+                           EventType eventType,
+                           String payload) {
+}
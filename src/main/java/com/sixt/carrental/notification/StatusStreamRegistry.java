@@ -0,0 +1,215 @@
+package com.sixt.carrental.notification;
+
+import com.sixt.carrental.cache.Invalidation.Topic;
+import com.sixt.carrental.cache.InvalidationPublisher;
+import com.sixt.carrental.entity.OutboxEvent;
+import com.sixt.carrental.repository.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Live SSE connections per user.
+// Idle connections cost no thread (async servlet); sends run on virtual threads, one drain loop
+// per connection at a time. Each connection has a bounded backlog: a client that falls behind
+// is disconnected and is expected to reconnect and refetch, instead of buffering without limit.
+// A change is delivered to the streams on the committing node and broadcast over the invalidation bus
+// (only the outbox event ID travels); the other nodes read the outbox row back and deliver it to the
+// streams they hold, so a user's stream sees every transition whichever node committed it.
+@Component
+@Slf4j
+public class StatusStreamRegistry {
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    private final InvalidationPublisher invalidationPublisher;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int maxPending;
+    private final int maxConnectionsPerUser;
+
+    public StatusStreamRegistry(InvalidationPublisher invalidationPublisher,
+                                OutboxEventRepository outboxEventRepository,
+                                ObjectMapper objectMapper,
+                                @Value("${app.events.stream-timeout-ms:1800000}") long timeoutMillis,
+                                @Value("${app.events.max-pending:32}") int maxPending,
+                                @Value("${app.events.max-connections-per-user:5}") int maxConnectionsPerUser) {
+        this.invalidationPublisher = invalidationPublisher;
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.maxPending = maxPending;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = newEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        // Check and add under the map's per-key lock, so concurrent connects can't overshoot the cap
+        subscribers.compute(userId, (id, userSubscribers) -> {
+            Set<Subscriber> set = userSubscribers != null ? userSubscribers : ConcurrentHashMap.<Subscriber>newKeySet();
+            if (set.size() >= maxConnectionsPerUser) {
+                throw new IllegalStateException("Too many open event streams for user " + userId);
+            }
+            set.add(subscriber);
+            return set;
+        });
+        connectionCount.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        // Flush headers right away so the client knows the stream is open
+        subscriber.enqueue(SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    // Raised inside the writing transaction; the publisher only broadcasts once it has committed
+    @EventListener
+    public void broadcast(StatusChange change) {
+        invalidationPublisher.publish(Topic.STATUS, change.eventId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStatusChange(StatusChange change) {
+        deliver(change);
+    }
+
+    // Committed on another node: read the row back off the bus listener thread, and only if anyone is connected here
+    public void onRemoteStatusChange(Long eventId) {
+        if (connectionCount.get() == 0) {
+            return;
+        }
+        sender.execute(() -> {
+            try {
+                outboxEventRepository.findById(eventId).ifPresent(event -> deliver(toStatusChange(event)));
+            } catch (RuntimeException e) {
+                log.warn("Could not deliver status change {} from another node: {}", eventId, e.getMessage());
+            }
+        });
+    }
+
+    private void deliver(StatusChange change) {
+        Set<Subscriber> userSubscribers = subscribers.get(change.userId());
+        if (userSubscribers == null || userSubscribers.isEmpty()) {
+            return;
+        }
+        for (Subscriber subscriber : userSubscribers) {
+            subscriber.enqueue(SseEmitter.event()
+                    .id(String.valueOf(change.eventId()))
+                    .name(change.eventType().name())
+                    .data(change.payload(), MediaType.APPLICATION_JSON));
+        }
+    }
+
+    // Keeps proxies/load balancers from closing idle streams and detects dead clients
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : userSubscribers) {
+                if (subscriber.isIdle()) {
+                    subscriber.enqueue(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        }
+    }
+
+    // Every outbox payload carries the user it belongs to
+    private StatusChange toStatusChange(OutboxEvent event) {
+        Long userId = objectMapper.readTree(event.getPayload()).get("userId").asLong();
+        return new StatusChange(event.getId(), userId, event.getAggregateId(), event.getEventType(), event.getPayload());
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    // Overridden in tests to observe what is sent
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        sender.shutdown();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, userSubscribers) -> {
+            if (userSubscribers.remove(subscriber)) {
+                connectionCount.decrementAndGet();
+            }
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ConcurrentLinkedQueue<SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private boolean isIdle() {
+            return pendingCount.get() == 0;
+        }
+
+        private void enqueue(SseEventBuilder event) {
+            if (pendingCount.incrementAndGet() > maxPending) {
+                log.debug("Event stream for user {} fell behind, disconnecting", userId);
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            pending.add(event);
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    SseEventBuilder event = pending.poll();
+                    if (event == null) {
+                        draining.set(false);
+                        // Re-check: an event may have been queued after poll() but before the flag was cleared
+                        if (pending.isEmpty() || !draining.compareAndSet(false, true)) {
+                            return;
+                        }
+                        continue;
+                    }
+                    pendingCount.decrementAndGet();
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                draining.set(false);
+                remove(this);
+            }
+        }
+    }
+}
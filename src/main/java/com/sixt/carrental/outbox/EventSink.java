@@ -0,0 +1,14 @@
+package com.sixt.carrental.outbox;
+
+import com.sixt.carrental.entity.OutboxEvent;
+
+import java.util.List;
+
+// Destination for relayed outbox events (broker, file, in-process listeners ...).
+// Delivery is at-least-once: a batch may be handed over again after a failure,
+// so consumers de-duplicate on the event ID.
+public interface EventSink {
+
+    // Publish the batch in order; throwing leaves the whole batch unpublished for a retry
+    void publish(List<OutboxEvent> batch) throws Exception;
+}
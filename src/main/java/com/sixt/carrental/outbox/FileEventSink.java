@@ -0,0 +1,52 @@
+package com.sixt.carrental.outbox;
+
+import com.sixt.carrental.entity.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Local stand-in for a broker: appends events as NDJSON lines to a file
+@Component
+public class FileEventSink implements EventSink {
+
+    private final boolean enabled;
+    private final Path path;
+
+    public FileEventSink(@Value("${app.outbox.file-sink.enabled:true}") boolean enabled,
+                         @Value("${app.outbox.file-sink.path:build/outbox/events.ndjson}") String path) {
+        this.enabled = enabled;
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> batch) throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxEvent event : batch) {
+                // Enum names and numbers need no escaping; payload is already JSON
+                writer.write("{\"id\":" + event.getId()
+                        + ",\"aggregateType\":\"" + event.getAggregateType()
+                        + "\",\"aggregateId\":" + event.getAggregateId()
+                        + ",\"eventType\":\"" + event.getEventType()
+                        + "\",\"createdAt\":\"" + event.getCreatedAt()
+                        + "\",\"payload\":" + event.getPayload() + "}\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.sixt.carrental.outbox;
+
+import com.sixt.carrental.entity.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Hands relayed events to @EventListener beans in this JVM
+@Component
+@RequiredArgsConstructor
+public class InProcessEventSink implements EventSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<OutboxEvent> batch) {
+        for (OutboxEvent event : batch) {
+            eventPublisher.publishEvent(new OutboxEventPublished(
+                    event.getId(),
+                    event.getAggregateType(),
+                    event.getAggregateId(),
+                    event.getEventType(),
+                    event.getPayload(),
+                    event.getCreatedAt()
+            ));
+        }
+    }
+}
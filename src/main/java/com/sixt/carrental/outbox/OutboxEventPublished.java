@@ -0,0 +1,15 @@
+package com.sixt.carrental.outbox;
+
+import com.sixt.carrental.entity.OutboxEvent.AggregateType;
+import com.sixt.carrental.entity.OutboxEvent.EventType;
+
+import java.time.LocalDateTime;
+
+// Spring application event raised for every relayed outbox event (in-process consumers)
+public record OutboxEventPublished(Long id,
+                                   AggregateType aggregateType,
+                                   Long aggregateId,
+                                   EventType eventType,
+                                   String payload,
+                                   LocalDateTime createdAt) {
+}
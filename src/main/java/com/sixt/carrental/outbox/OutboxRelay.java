@@ -0,0 +1,87 @@
+package com.sixt.carrental.outbox;
+
+import com.sixt.carrental.common.ClusterLock;
+import com.sixt.carrental.entity.OutboxEvent;
+import com.sixt.carrental.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Polls unpublished outbox rows in ID order and hands them to every sink in batches.
+// Events are marked published only after all sinks accepted the batch (at-least-once).
+// A failing batch blocks the ones behind it, which keeps per-booking order intact.
+// Every node may run the relay; a cluster lock held for the relay transaction lets only one of them
+// poll at a time, so batches go out one after another and that ordering holds across the fleet.
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final String LOCK = "outbox-relay";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<EventSink> sinks;
+    private final ClusterLock clusterLock;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int retentionDays;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       List<EventSink> sinks,
+                       ClusterLock clusterLock,
+                       @Value("${app.outbox.relay-enabled:true}") boolean enabled,
+                       @Value("${app.outbox.batch-size:100}") int batchSize,
+                       @Value("${app.outbox.retention-days:7}") int retentionDays) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.clusterLock = clusterLock;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.retentionDays = retentionDays;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval-ms:500}")
+    @Transactional
+    public void relay() {
+        if (!enabled || !clusterLock.tryLock(LOCK)) {
+            return;
+        }
+
+        List<OutboxEvent> batch = outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        for (EventSink sink : sinks) {
+            try {
+                sink.publish(batch);
+            } catch (Exception e) {
+                log.warn("Outbox sink {} failed for events {}..{}, will retry: {}",
+                        sink.getClass().getSimpleName(), batch.get(0).getId(),
+                        batch.get(batch.size() - 1).getId(), e.getMessage());
+                return;
+            }
+        }
+
+        List<Long> ids = batch.stream().map(OutboxEvent::getId).toList();
+        outboxEventRepository.markPublished(ids, LocalDateTime.now());
+        log.debug("Relayed {} outbox events", ids.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void purgePublished() {
+        if (!enabled || !clusterLock.tryLock(LOCK)) {
+            return;
+        }
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.sixt.carrental.pricing;
+
+import com.sixt.carrental.entity.Car.CarStatus;
+import com.sixt.carrental.repository.CarRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Current share of each category's fleet that is rented, as a whole percent.
+// Refreshed in the background with one grouped count over cars, so quotes never touch the database.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FleetUtilization {
+
+    private final CarRepository carRepository;
+
+    private volatile Map<Long, Integer> percentByCategory = Map.of();
+
+    public int percent(Long categoryId) {
+        return percentByCategory.getOrDefault(categoryId, 0);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.pricing.utilization-refresh-ms:30000}",
+            initialDelayString = "${app.pricing.utilization-refresh-ms:30000}")
+    public void refresh() {
+        Map<Long, long[]> counts = new HashMap<>(); // categoryId -> {rented, total}
+        for (Object[] row : carRepository.countByCategoryAndStatus()) {
+            long[] c = counts.computeIfAbsent((Long) row[0], id -> new long[2]);
+            long n = (Long) row[2];
+            if (row[1] == CarStatus.RENTED || row[1] == CarStatus.HELD) { // held cars are spoken for
+                c[0] += n;
+            }
+            c[1] += n;
+        }
+
+        Map<Long, Integer> percents = new HashMap<>();
+        counts.forEach((categoryId, c) -> percents.put(categoryId, (int) (100 * c[0] / c[1])));
+        percentByCategory = Map.copyOf(percents);
+        log.debug("Fleet utilization refreshed: {}", percents);
+    }
+}
@@ -0,0 +1,16 @@
+package com.sixt.carrental.pricing;
+
+import com.sixt.carrental.common.Money;
+
+import java.time.LocalDate;
+
+// A priced offer for one plan and start date. pricePerMonth is what a booking snapshots.
+public record PriceQuote(Long pricingPlanId,
+                         LocalDate startDate,
+                         Money basePricePerMonth,
+                         Money pricePerMonth,
+                         Money totalAmount,
+                         double multiplier,
+                         int utilizationPercent,
+                         long leadDays) {
+}
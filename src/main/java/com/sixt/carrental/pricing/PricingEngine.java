@@ -0,0 +1,46 @@
+package com.sixt.carrental.pricing;
+
+import com.sixt.carrental.common.Money;
+import com.sixt.carrental.entity.PricingPlan;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+// Quotes = base plan price x compiled demand rules (see PricingRules). Pure in-memory evaluation.
+@Component
+@Slf4j
+public class PricingEngine {
+
+    private final FleetUtilization fleetUtilization;
+    private final PricingRules rules;
+
+    public PricingEngine(FleetUtilization fleetUtilization,
+                         @Value("${app.pricing.dynamic.enabled:true}") boolean enabled,
+                         @Value("${app.pricing.utilization-tiers:}") String utilizationTiers,
+                         @Value("${app.pricing.lead-time-tiers:}") String leadTimeTiers,
+                         @Value("${app.pricing.seasonality:}") String seasonality,
+                         @Value("${app.pricing.min-multiplier:1.00}") String minMultiplier,
+                         @Value("${app.pricing.max-multiplier:1.00}") String maxMultiplier) {
+        this.fleetUtilization = fleetUtilization;
+        this.rules = enabled
+                ? PricingRules.compile(utilizationTiers, leadTimeTiers, seasonality, minMultiplier, maxMultiplier)
+                : PricingRules.flat();
+        log.info("Dynamic pricing {}", enabled ? "enabled" : "disabled (base plan prices)");
+    }
+
+    public PriceQuote quote(PricingPlan plan, LocalDate startDate) {
+        Money base = Money.of(plan.getPricePerMonth());
+        int utilization = fleetUtilization.percent(plan.getCategory().getId());
+        long leadDays = ChronoUnit.DAYS.between(LocalDate.now(), startDate);
+
+        long multiplier = rules.multiplier(utilization, leadDays, startDate.getMonthValue());
+        Money pricePerMonth = Money.ofMinor(rules.apply(base.getMinorUnits(), multiplier), base.getCurrency());
+
+        return new PriceQuote(plan.getId(), startDate, base, pricePerMonth,
+                pricePerMonth.times(plan.getDurationMonths()),
+                (double) multiplier / PricingRules.ONE, utilization, Math.max(0, leadDays));
+    }
+}
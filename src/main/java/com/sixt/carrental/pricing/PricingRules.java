@@ -0,0 +1,131 @@
+package com.sixt.carrental.pricing;
+
+import java.util.Arrays;
+
+// Demand-based adjustments on top of a plan's base monthly price, compiled once into lookup tables.
+// Every factor is a fixed-point multiplier in parts per million (1_000_000 = x1.00), so a quote is
+// three array reads, two multiplications and a clamp - no parsing, branching over rules or BigDecimal.
+//
+// Rule syntax (application.properties):
+//   utilization tiers  "50:1.00,70:1.05,85:1.10"  category utilization % >= 50 -> x1.00, >= 70 -> x1.05 ...
+//   lead-time tiers    "0:1.10,7:1.05,30:1.00"    days until start >= 0 -> x1.10, >= 7 -> x1.05 ...
+//   seasonality        twelve multipliers, January to December
+// Below the lowest threshold a tier table applies x1.00.
+public final class PricingRules {
+
+    static final long ONE = 1_000_000L;
+
+    // Index = utilization percent 0..100
+    private final long[] utilizationFactors;
+    // Index = days until start, 0..(highest threshold); later starts use the last entry
+    private final long[] leadTimeFactors;
+    // Index = month 0..11
+    private final long[] seasonFactors;
+    private final long minFactor;
+    private final long maxFactor;
+
+    private PricingRules(long[] utilizationFactors, long[] leadTimeFactors, long[] seasonFactors,
+                         long minFactor, long maxFactor) {
+        this.utilizationFactors = utilizationFactors;
+        this.leadTimeFactors = leadTimeFactors;
+        this.seasonFactors = seasonFactors;
+        this.minFactor = minFactor;
+        this.maxFactor = maxFactor;
+    }
+
+    // Rules that leave every price unchanged
+    public static PricingRules flat() {
+        return compile("", "", "", "1.00", "1.00");
+    }
+
+    public static PricingRules compile(String utilizationTiers, String leadTimeTiers, String seasonality,
+                                       String minMultiplier, String maxMultiplier) {
+        long[][] utilization = parseTiers("utilization", utilizationTiers);
+        for (long threshold : utilization[0]) {
+            if (threshold > 100) {
+                throw new IllegalArgumentException("Utilization threshold must be 0..100: " + threshold);
+            }
+        }
+        long[][] leadTime = parseTiers("lead-time", leadTimeTiers);
+        int leadTableSize = leadTime[0].length == 0 ? 1 : (int) leadTime[0][leadTime[0].length - 1] + 1;
+
+        long[] seasons = new long[12];
+        if (seasonality == null || seasonality.isBlank()) {
+            Arrays.fill(seasons, ONE);
+        } else {
+            String[] values = seasonality.split(",");
+            if (values.length != 12) {
+                throw new IllegalArgumentException("Seasonality needs 12 multipliers, got " + values.length);
+            }
+            for (int month = 0; month < 12; month++) {
+                seasons[month] = parseFactor(values[month]);
+            }
+        }
+
+        long min = parseFactor(minMultiplier);
+        long max = parseFactor(maxMultiplier);
+        if (min > max) {
+            throw new IllegalArgumentException("Min multiplier " + minMultiplier + " exceeds max " + maxMultiplier);
+        }
+
+        return new PricingRules(expand(utilization, 101), expand(leadTime, leadTableSize), seasons, min, max);
+    }
+
+    // utilizationPercent 0..100, leadDays = days from today to the start date, month = 1..12
+    public long multiplier(int utilizationPercent, long leadDays, int month) {
+        int u = Math.clamp(utilizationPercent, 0, 100);
+        int lead = (int) Math.clamp(leadDays, 0, leadTimeFactors.length - 1);
+        long factor = utilizationFactors[u] * leadTimeFactors[lead] / ONE * seasonFactors[month - 1] / ONE;
+        return Math.clamp(factor, minFactor, maxFactor);
+    }
+
+    // Adjusted price in minor units, rounded half up
+    public long apply(long baseMinorUnits, long multiplier) {
+        long scaled = Math.multiplyExact(baseMinorUnits, multiplier);
+        return scaled / ONE + (scaled % ONE >= ONE / 2 ? 1 : 0);
+    }
+
+    // "t:m,t:m" -> {thresholds ascending, factors}
+    private static long[][] parseTiers(String name, String spec) {
+        if (spec == null || spec.isBlank()) {
+            return new long[][]{new long[0], new long[0]};
+        }
+        String[] tiers = spec.split(",");
+        long[] thresholds = new long[tiers.length];
+        long[] factors = new long[tiers.length];
+        for (int i = 0; i < tiers.length; i++) {
+            String[] parts = tiers[i].trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Bad " + name + " tier '" + tiers[i] + "', expected threshold:multiplier");
+            }
+            thresholds[i] = Long.parseLong(parts[0].trim());
+            factors[i] = parseFactor(parts[1]);
+            if (thresholds[i] < 0 || (i > 0 && thresholds[i] <= thresholds[i - 1])) {
+                throw new IllegalArgumentException("The " + name + " thresholds must be ascending and non-negative");
+            }
+        }
+        return new long[][]{thresholds, factors};
+    }
+
+    // Tier list -> dense table: table[x] = factor of the highest threshold <= x
+    private static long[] expand(long[][] tiers, int size) {
+        long[] table = new long[size];
+        long current = ONE;
+        int next = 0;
+        for (int x = 0; x < size; x++) {
+            while (next < tiers[0].length && tiers[0][next] <= x) {
+                current = tiers[1][next++];
+            }
+            table[x] = current;
+        }
+        return table;
+    }
+
+    private static long parseFactor(String multiplier) {
+        double value = Double.parseDouble(multiplier.trim());
+        if (value <= 0) {
+            throw new IllegalArgumentException("Multiplier must be positive: " + multiplier);
+        }
+        return Math.round(value * ONE);
+    }
+}
@@ -0,0 +1,79 @@
+package com.sixt.carrental.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token buckets per client key (user ID or IP) for one route group.
+// The key map is bounded: idle (full) buckets are swept at most once per second when the map
+// is at capacity, and if it is still full new keys share one overflow bucket.
+public class RateLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final String name;
+    private final int capacity;
+    private final long emissionIntervalNanos;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflow;
+    private final AtomicLong lastSweep;
+
+    public RateLimiter(String name, int capacity, double refillPerSecond, int maxKeys) {
+        if (capacity <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit '" + name + "' needs positive capacity and refill rate");
+        }
+        long now = System.nanoTime();
+        this.name = name;
+        this.capacity = capacity;
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        this.maxKeys = maxKeys;
+        this.overflow = new TokenBucket(emissionIntervalNanos, capacity, now);
+        this.lastSweep = new AtomicLong(now);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    public boolean tryAcquire(String key, long nowNanos) {
+        return bucketFor(key, nowNanos).tryAcquire(nowNanos);
+    }
+
+    // Seconds a rejected client should wait, for the Retry-After header
+    public long retryAfterSeconds(String key) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.getOrDefault(key, overflow);
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilAvailable(now) + 999_999_999L));
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private TokenBucket bucketFor(String key, long nowNanos) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            sweep(nowNanos);
+            if (buckets.size() >= maxKeys) {
+                return overflow;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(emissionIntervalNanos, capacity, nowNanos));
+    }
+
+    private void sweep(long nowNanos) {
+        long last = lastSweep.get();
+        if (nowNanos - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, nowNanos)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.isFull(nowNanos));
+    }
+}
@@ -0,0 +1,44 @@
+package com.sixt.carrental.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lock-free token bucket in GCRA form: the whole state is one "theoretical arrival time".
+// Each permit pushes it forward by one emission interval; a request is allowed while
+// it stays within capacity * interval of now. A single CAS per acquire, no locks.
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(long emissionIntervalNanos, int capacity, long nowNanos) {
+        this.emissionIntervalNanos = emissionIntervalNanos;
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    public boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = tat - nowNanos > 0 ? tat : nowNanos;
+            long next = base + emissionIntervalNanos;
+            if (next - nowNanos > burstNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return true;
+            }
+        }
+    }
+
+    // Time until the next permit becomes available (0 if one is available now)
+    public long nanosUntilAvailable(long nowNanos) {
+        long wait = theoreticalArrival.get() + emissionIntervalNanos - nowNanos - burstNanos;
+        return Math.max(0, wait);
+    }
+
+    // A full bucket carries no state worth keeping, so it can be dropped and recreated later
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0;
+    }
+}
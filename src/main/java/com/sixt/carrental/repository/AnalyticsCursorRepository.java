@@ -0,0 +1,9 @@
+package com.sixt.carrental.repository;
+
+import com.sixt.carrental.entity.AnalyticsCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AnalyticsCursorRepository extends JpaRepository<AnalyticsCursor, Long> {
+}
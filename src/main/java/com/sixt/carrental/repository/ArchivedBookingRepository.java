@@ -0,0 +1,42 @@
+package com.sixt.carrental.repository;
+
+import com.sixt.carrental.analytics.BookingFacts;
+import com.sixt.carrental.entity.ArchivedBooking;
+import com.sixt.carrental.entity.Booking.BookingStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    // A user's finished subscriptions, newest first (index on user_id, start_date)
+    List<ArchivedBooking> findByUserIdOrderByStartDateDesc(Long userId);
+
+    // Copy the given bookings (and their payments) into the archive in one INSERT ... SELECT.
+    // Re-checks the status so only terminal bookings are ever copied.
+    @Modifying
+    @Query("INSERT INTO ArchivedBooking (id, userId, carId, categoryId, durationMonths, kmPackage, pricePerMonth, " +
+            "totalAmount, startDate, endDate, status, createdAt, updatedAt, paymentStatus, paymentAmount, " +
+            "transactionId, paidAt, archivedAt) " +
+            "SELECT b.id, b.user.id, b.car.id, c.category.id, b.durationMonths, b.kmPackage, b.pricePerMonth, " +
+            "b.totalAmount, b.startDate, b.endDate, b.status, b.createdAt, b.updatedAt, p.status, p.amount, " +
+            "p.transactionId, p.createdAt, :now " +
+            "FROM Booking b JOIN b.car c LEFT JOIN Payment p ON p.booking = b " +
+            "WHERE b.id IN :ids AND b.status IN :statuses")
+    int copyFromBookings(@Param("ids") Collection<Long> ids,
+                         @Param("statuses") Collection<BookingStatus> statuses,
+                         @Param("now") LocalDateTime now);
+
+    // Analytics backfill: same shape as BookingRepository.streamFactsByStatusIn
+    @Query("SELECT new com.sixt.carrental.analytics.BookingFacts(a.categoryId, a.kmPackage, " +
+            "a.pricePerMonth, a.startDate, a.durationMonths) FROM ArchivedBooking a WHERE a.status IN :statuses")
+    Stream<BookingFacts> streamFactsByStatusIn(@Param("statuses") Collection<BookingStatus> statuses);
+}
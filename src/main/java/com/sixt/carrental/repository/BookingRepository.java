@@ -1,11 +1,21 @@
 package com.sixt.carrental.repository;
 
+import com.sixt.carrental.analytics.BookingFacts;
 import com.sixt.carrental.entity.Booking;
 import com.sixt.carrental.entity.Booking.BookingStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -13,6 +23,9 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     // Find all bookings for a user (navigate through User relationship)
     List<Booking> findByUser_Id(Long userId);
 
+    // Incremental sync: the user's bookings changed since a watermark, one range scan on (user_id, updated_at)
+    List<Booking> findByUser_IdAndUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(Long userId, LocalDateTime since);
+
     // Find bookings by status
     List<Booking> findByStatus(BookingStatus status);
 
@@ -21,4 +34,38 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     // Find all bookings for a specific car (navigate through Car relationship)
     List<Booking> findByCar_Id(Long carId);
-}
\ No newline at end of file
+
+    // Guarded single-column status transition: one UPDATE, 0 rows if the booking is missing
+    // or not in one of the allowed source statuses. Bumps the version like an entity update would.
+    @Transactional
+    // Flushes pending changes first but leaves the persistence context alone: callers holding the entity
+    // refresh it themselves (clearing would detach every other entity of the transaction)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :to, b.version = b.version + 1, b.updatedAt = :now " +
+            "WHERE b.id = :id AND b.status IN :from")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("from") Collection<BookingStatus> from,
+                         @Param("to") BookingStatus to,
+                         @Param("now") LocalDateTime now);
+
+    // Only used to explain a failed transition
+    @Query("SELECT b.status FROM Booking b WHERE b.id = :id")
+    Optional<BookingStatus> findStatusById(@Param("id") Long id);
+
+    // Analytics backfill only: the rollup inputs of every booking in the given statuses, streamed
+    @Query("SELECT new com.sixt.carrental.analytics.BookingFacts(b.car.category.id, b.kmPackage, " +
+            "b.pricePerMonth, b.startDate, b.durationMonths) FROM Booking b WHERE b.status IN :statuses")
+    Stream<BookingFacts> streamFactsByStatusIn(@Param("statuses") Collection<BookingStatus> statuses);
+
+    // Archival: terminal bookings untouched since the cutoff, oldest IDs first (index on status, updated_at)
+    @Query("SELECT b.id FROM Booking b WHERE b.status IN :statuses AND b.updatedAt < :cutoff ORDER BY b.id")
+    List<Long> findArchivableIds(@Param("statuses") Collection<BookingStatus> statuses,
+                                 @Param("cutoff") LocalDateTime cutoff,
+                                 Pageable pageable);
+
+    // Archival: remove the rows copied to bookings_archive (same status guard as the copy)
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids AND b.status IN :statuses")
+    int deleteArchived(@Param("ids") Collection<Long> ids,
+                       @Param("statuses") Collection<BookingStatus> statuses);
+}
@@ -0,0 +1,27 @@
+package com.sixt.carrental.repository;
+
+import com.sixt.carrental.entity.CarHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CarHoldRepository extends JpaRepository<CarHold, Long> {
+
+    // Range scan on the expires_at index: holds overdue by more than the wheel's normal latency
+    List<CarHold> findByExpiresAtBefore(LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM CarHold h WHERE h.bookingId = :bookingId")
+    int release(@Param("bookingId") Long bookingId);
+
+    // Claims an expired hold for the expiry handler; 0 rows if it was paid/cancelled meanwhile
+    @Modifying
+    @Query("DELETE FROM CarHold h WHERE h.bookingId = :bookingId AND h.expiresAt <= :now")
+    int releaseIfExpired(@Param("bookingId") Long bookingId, @Param("now") LocalDateTime now);
+}
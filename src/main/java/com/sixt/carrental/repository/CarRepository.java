@@ -2,20 +2,55 @@ package com.sixt.carrental.repository;
 
 import com.sixt.carrental.entity.Car;
 import com.sixt.carrental.entity.Car.CarStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CarRepository extends JpaRepository<Car, Long> {
 
-    // All availabl cars
+    // All availabl cars (category fetched in the same query for the list views)
+    @EntityGraph(attributePaths = "category")
     List<Car> findByStatus(CarStatus status);
 
     // Find available cars by category
+    @EntityGraph(attributePaths = "category")
     List<Car> findByCategoryIdAndStatus(Long categoryId, CarStatus status);
 
     // Find cars by brand
+    @EntityGraph(attributePaths = "category")
     List<Car> findByBrandAndStatus(String brand, CarStatus status);
-}
\ No newline at end of file
+
+    boolean existsByCategoryIdAndStatus(Long categoryId, CarStatus status);
+
+    // Compare-and-set on the status column (e.g. AVAILABLE -> RENTED), returns affected rows
+    @Transactional
+    // Flushes pending changes first but leaves the persistence context alone: callers holding the entity
+    // refresh it themselves (clearing would detach every other entity of the transaction)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Car c SET c.status = :to, c.version = c.version + 1, c.updatedAt = :now " +
+            "WHERE c.id = :id AND c.status = :from")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("from") CarStatus from,
+                         @Param("to") CarStatus to,
+                         @Param("now") LocalDateTime now);
+
+    @Query("SELECT c.status FROM Car c WHERE c.id = :id")
+    Optional<CarStatus> findStatusById(@Param("id") Long id);
+
+    // Fleet size per category: [categoryId, count]
+    @Query("SELECT c.category.id, COUNT(c) FROM Car c GROUP BY c.category.id")
+    List<Object[]> countByCategory();
+
+    // [categoryId, status, count] - input for the pricing engine's utilization factor
+    @Query("SELECT c.category.id, c.status, COUNT(c) FROM Car c GROUP BY c.category.id, c.status")
+    List<Object[]> countByCategoryAndStatus();
+}
@@ -0,0 +1,44 @@
+package com.sixt.carrental.repository;
+
+import com.sixt.carrental.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Oldest unpublished events first (insertion order = per-booking order)
+    List<OutboxEvent> findByPublishedAtIsNullOrderByIdAsc(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") List<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    // Housekeeping: drop events that were published a while ago
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM OutboxEvent e")
+    long findMaxId();
+
+    // Analytics catch-up after the backfill: relayed but never projected
+    List<OutboxEvent> findByProjectedAtIsNullAndPublishedAtIsNotNullOrderByIdAsc();
+
+    // Analytics: claim one event for projection, 0 rows if it was already applied
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.projectedAt = :now WHERE e.id = :id AND e.projectedAt IS NULL")
+    int markProjected(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Analytics backfill: every event visible so far is already reflected in the bookings being read
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.projectedAt = :now WHERE e.projectedAt IS NULL")
+    int markAllProjected(@Param("now") LocalDateTime now);
+}
@@ -3,8 +3,12 @@ package com.sixt.carrental.repository;
 import com.sixt.carrental.entity.Payment;
 import com.sixt.carrental.entity.Payment.PaymentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
@@ -18,4 +22,9 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     // Check if payment exists for booking
     boolean existsByBookingId(Long bookingId);
-}
\ No newline at end of file
+
+    // Archival: the payments of bookings that were just copied to bookings_archive
+    @Modifying
+    @Query("DELETE FROM Payment p WHERE p.booking.id IN :bookingIds")
+    int deleteByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+}
@@ -0,0 +1,34 @@
+package com.sixt.carrental.repository;
+
+import com.sixt.carrental.entity.RevenueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, Long> {
+
+    List<RevenueRollup> findByMonthBetweenOrderByMonthAscCategoryIdAscKmPackageAsc(LocalDate from, LocalDate to);
+
+    // Add a delta to one bucket, creating it on first use (single statement, no read)
+    @Modifying
+    @Query(value = "INSERT INTO revenue_rollups (period_month, category_id, km_package, revenue, bookings, cancellations) " +
+            "VALUES (:month, :categoryId, :kmPackage, :revenue, :bookings, :cancellations) " +
+            "ON CONFLICT (period_month, category_id, km_package) DO UPDATE SET " +
+            "revenue = revenue_rollups.revenue + EXCLUDED.revenue, " +
+            "bookings = revenue_rollups.bookings + EXCLUDED.bookings, " +
+            "cancellations = revenue_rollups.cancellations + EXCLUDED.cancellations",
+            nativeQuery = true)
+    int add(@Param("month") LocalDate month,
+            @Param("categoryId") Long categoryId,
+            @Param("kmPackage") Integer kmPackage,
+            @Param("revenue") BigDecimal revenue,
+            @Param("bookings") int bookings,
+            @Param("cancellations") int cancellations);
+}
@@ -0,0 +1,27 @@
+package com.sixt.carrental.repository;
+
+import com.sixt.carrental.entity.UtilizationRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface UtilizationRollupRepository extends JpaRepository<UtilizationRollup, Long> {
+
+    List<UtilizationRollup> findByMonthBetweenOrderByMonthAscCategoryIdAsc(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query(value = "INSERT INTO utilization_rollups (period_month, category_id, rented_car_days) " +
+            "VALUES (:month, :categoryId, :carDays) " +
+            "ON CONFLICT (period_month, category_id) DO UPDATE SET " +
+            "rented_car_days = utilization_rollups.rented_car_days + EXCLUDED.rented_car_days",
+            nativeQuery = true)
+    int add(@Param("month") LocalDate month,
+            @Param("categoryId") Long categoryId,
+            @Param("carDays") long carDays);
+}
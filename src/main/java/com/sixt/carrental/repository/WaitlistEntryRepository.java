@@ -0,0 +1,54 @@
+package com.sixt.carrental.repository;
+
+import com.sixt.carrental.entity.WaitlistEntry;
+import com.sixt.carrental.entity.WaitlistEntry.WaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    List<WaitlistEntry> findByStatusOrderByIdAsc(WaitlistStatus status);
+
+    List<WaitlistEntry> findByUserIdOrderByIdDesc(Long userId);
+
+    boolean existsByUserIdAndCategoryIdAndStatusIn(Long userId, Long categoryId, Collection<WaitlistStatus> statuses);
+
+    // Anyone waiting in the category, straight from the table (entries this node has not seen)
+    boolean existsByCategoryIdAndStatus(Long categoryId, WaitlistStatus status);
+
+    // Head of a category's queue (idx_waitlist_queue)
+    Optional<WaitlistEntry> findFirstByCategoryIdAndStatusOrderByIdAsc(Long categoryId, WaitlistStatus status);
+
+    // Entries ahead of the given one in a category's queue (idx_waitlist_queue)
+    long countByCategoryIdAndStatusAndIdLessThan(Long categoryId, WaitlistStatus status, Long id);
+
+    List<WaitlistEntry> findByStatusAndOfferExpiresAtBefore(WaitlistStatus status, LocalDateTime cutoff);
+
+    // WAITING -> OFFERED; 0 rows if the entry was cancelled or offered elsewhere meanwhile
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'OFFERED', w.carId = :carId, w.offerExpiresAt = :expiresAt, " +
+            "w.updatedAt = :now WHERE w.id = :id AND w.status = 'WAITING'")
+    int offer(@Param("id") Long id, @Param("carId") Long carId,
+              @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now);
+
+    // OFFERED -> FULFILLED for the user the car was offered to, while the offer lasts
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'FULFILLED', w.updatedAt = :now " +
+            "WHERE w.userId = :userId AND w.carId = :carId AND w.status = 'OFFERED' AND w.offerExpiresAt > :now")
+    int claim(@Param("userId") Long userId, @Param("carId") Long carId, @Param("now") LocalDateTime now);
+
+    // OFFERED -> EXPIRED / CANCELLED, WAITING -> CANCELLED
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = :to, w.updatedAt = :now WHERE w.id = :id AND w.status = :from")
+    int transition(@Param("id") Long id, @Param("from") WaitlistStatus from,
+                   @Param("to") WaitlistStatus to, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,16 @@
+package com.sixt.carrental.search;
+
+import com.sixt.carrental.entity.Car.CarStatus;
+
+// Flattened, immutable view of a car as stored in the search index
+// (like CarSummary: imageUrl only when there is no uploaded image)
+public record CarDocument(Long id,
+                          String brand,
+                          String model,
+                          Long categoryId,
+                          String categoryCode,
+                          String categoryName,
+                          CarStatus status,
+                          String imageKey,
+                          String imageUrl) {
+}
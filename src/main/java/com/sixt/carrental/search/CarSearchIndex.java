@@ -0,0 +1,525 @@
+package com.sixt.carrental.search;
+
+import com.sixt.carrental.cache.Invalidation.Topic;
+import com.sixt.carrental.cache.InvalidationPublisher;
+import com.sixt.carrental.dto.response.CarSearchResponse;
+import com.sixt.carrental.entity.Car;
+import com.sixt.carrental.entity.Car.CarStatus;
+import com.sixt.carrental.entity.Category;
+import com.sixt.carrental.repository.CarRepository;
+import com.sixt.carrental.repository.CategoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// In-memory inverted index over car brand, model and category.
+// Reads are lock-free (concurrent maps); writes are serialized and applied after the
+// surrounding transaction commits, so the index never shows rolled-back changes.
+// Other nodes get a CAR/CATEGORY invalidation and reload the document from the database.
+//
+// Matching per query term: exact term > prefix > one typo (edit distance 1, terms of 4+ chars).
+// All query terms must match (AND). Facets are disjunctive: each dimension is counted with
+// every filter applied except its own, so the UI can show alternatives.
+// Browsing without a text query never walks the documents: facets and totals come from counters per
+// (brand, category, status) combination, and the page from ID-ordered filter postings, read from the
+// most selective filter and stopped once the page is full.
+@Component
+@Slf4j
+public class CarSearchIndex {
+
+    private static final int EXACT_SCORE = 3;
+    private static final int PREFIX_SCORE = 2;
+    private static final int FUZZY_SCORE = 1;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private final CarRepository carRepository;
+    private final CategoryRepository categoryRepository;
+    private final InvalidationPublisher invalidationPublisher;
+
+    private final ConcurrentHashMap<Long, CarDocument> documents = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<String> terms = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<Long, Category> categories = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListSet<Long> ids = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<String, NavigableSet<Long>> byBrand = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, NavigableSet<Long>> byCategory = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<CarStatus, NavigableSet<Long>> byStatus = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<FacetCell, Integer> facetCells = new ConcurrentHashMap<>();
+
+    public CarSearchIndex(CarRepository carRepository, CategoryRepository categoryRepository,
+                          InvalidationPublisher invalidationPublisher) {
+        this.carRepository = carRepository;
+        this.categoryRepository = categoryRepository;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    // Full build once the app (and the seeder) is up
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        documents.clear();
+        postings.clear();
+        terms.clear();
+        categories.clear();
+        ids.clear();
+        byBrand.clear();
+        byCategory.clear();
+        byStatus.clear();
+        facetCells.clear();
+
+        categoryRepository.findAll().forEach(category -> categories.put(category.getId(), category));
+        for (Car car : carRepository.findAll()) {
+            add(toDocument(car));
+        }
+        log.info("Car search index built: {} cars, {} terms", documents.size(), terms.size());
+    }
+
+    // ---- incremental updates (CarService / CategoryService) ----
+
+    public void index(Car car) {
+        CarDocument document = toDocument(car);
+        afterCommit(() -> {
+            synchronized (this) {
+                CarDocument previous = documents.get(document.id());
+                if (previous != null) {
+                    removeDocument(previous);
+                }
+                add(document);
+            }
+        });
+        invalidationPublisher.publish(Topic.CAR, document.id());
+    }
+
+    public void remove(Long carId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                CarDocument previous = documents.get(carId);
+                if (previous != null) {
+                    removeDocument(previous);
+                }
+            }
+        });
+        invalidationPublisher.publish(Topic.CAR, carId);
+    }
+
+    public void updateStatus(Long carId, CarStatus status) {
+        afterCommit(() -> {
+            synchronized (this) {
+                CarDocument previous = documents.get(carId);
+                if (previous != null) {
+                    // Status is a filter, not a term: swap the document, term postings stay valid
+                    CarDocument updated = new CarDocument(previous.id(), previous.brand(), previous.model(),
+                            previous.categoryId(), previous.categoryCode(), previous.categoryName(),
+                            status, previous.imageKey(), previous.imageUrl());
+                    removeFilters(previous);
+                    documents.put(carId, updated);
+                    addFilters(updated);
+                }
+            }
+        });
+        invalidationPublisher.publish(Topic.CAR, carId);
+    }
+
+    // Bulk change (fleet import): one rebuild after commit instead of one document per car
+    public void reindexAll() {
+        afterCommit(this::rebuild);
+        invalidationPublisher.publish(Topic.FLEET, null);
+    }
+
+    // Category renamed/created: refresh the category terms of its cars
+    public void indexCategory(Category category) {
+        Category snapshot = new Category(category.getId(), category.getCode(), category.getName(),
+                category.getDescription(), category.getCreatedAt());
+        afterCommit(() -> applyCategory(snapshot));
+        invalidationPublisher.publish(Topic.CATEGORY, snapshot.getId());
+    }
+
+    public void removeCategory(Long categoryId) {
+        afterCommit(() -> categories.remove(categoryId));
+        invalidationPublisher.publish(Topic.CATEGORY, categoryId);
+    }
+
+    // ---- changes made on other nodes: reload from the database, apply locally only ----
+
+    public void refreshCar(Long carId) {
+        Optional<Car> car = carRepository.findById(carId);
+        synchronized (this) {
+            CarDocument previous = documents.get(carId);
+            if (previous != null) {
+                removeDocument(previous);
+            }
+            car.ifPresent(c -> add(toDocument(c)));
+        }
+    }
+
+    public void refreshCategory(Long categoryId) {
+        categoryRepository.findById(categoryId).ifPresentOrElse(this::applyCategory,
+                () -> categories.remove(categoryId));
+    }
+
+    private synchronized void applyCategory(Category snapshot) {
+        categories.put(snapshot.getId(), snapshot);
+        List<CarDocument> affected = documents.values().stream()
+                .filter(document -> snapshot.getId().equals(document.categoryId()))
+                .toList();
+        for (CarDocument previous : affected) {
+            removeDocument(previous);
+            add(new CarDocument(previous.id(), previous.brand(), previous.model(),
+                    snapshot.getId(), snapshot.getCode(), snapshot.getName(),
+                    previous.status(), previous.imageKey(), previous.imageUrl()));
+        }
+    }
+
+    // ---- search ----
+
+    public CarSearchResponse search(String query, String brand, Long categoryId, CarStatus status, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return browse(brand, categoryId, status, limit);
+        }
+        Map<Long, Integer> scores = match(queryTerms);
+
+        Map<String, Integer> brandFacet = new TreeMap<>();
+        Map<String, Integer> categoryFacet = new TreeMap<>();
+        Map<String, Integer> statusFacet = new TreeMap<>();
+
+        PriorityQueue<ScoredDocument> top = new PriorityQueue<>(Math.max(1, limit), ScoredDocument.WORST_FIRST);
+        int total = 0;
+
+        for (Long id : scores.keySet()) {
+            CarDocument document = documents.get(id);
+            if (document == null) {
+                continue;
+            }
+            boolean brandOk = brand == null || brand.equalsIgnoreCase(document.brand());
+            boolean categoryOk = categoryId == null || categoryId.equals(document.categoryId());
+            boolean statusOk = status == null || status == document.status();
+
+            if (categoryOk && statusOk) {
+                brandFacet.merge(document.brand(), 1, Integer::sum);
+            }
+            if (brandOk && statusOk) {
+                categoryFacet.merge(document.categoryName() != null ? document.categoryName() : "UNKNOWN", 1, Integer::sum);
+            }
+            if (brandOk && categoryOk) {
+                statusFacet.merge(document.status().name(), 1, Integer::sum);
+            }
+
+            if (brandOk && categoryOk && statusOk) {
+                total++;
+                if (limit > 0) {
+                    top.offer(new ScoredDocument(document, scores.get(id)));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+        }
+
+        List<CarDocument> results = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            results.add(top.poll().document());
+        }
+        Collections.reverse(results);
+
+        return new CarSearchResponse(total, results, facets(brandFacet, categoryFacet, statusFacet));
+    }
+
+    // No text query: every match scores the same, so the page is the lowest IDs (same order as search)
+    private CarSearchResponse browse(String brand, Long categoryId, CarStatus status, int limit) {
+        Map<String, Integer> brandFacet = new TreeMap<>();
+        Map<String, Integer> categoryFacet = new TreeMap<>();
+        Map<String, Integer> statusFacet = new TreeMap<>();
+        int total = 0;
+        int brandMatches = 0;
+        int categoryMatches = 0;
+        int statusMatches = 0;
+
+        for (Map.Entry<FacetCell, Integer> entry : facetCells.entrySet()) {
+            FacetCell cell = entry.getKey();
+            int count = entry.getValue();
+            boolean brandOk = brand == null || brand.equalsIgnoreCase(cell.brand());
+            boolean categoryOk = categoryId == null || categoryId.equals(cell.categoryId());
+            boolean statusOk = status == null || status == cell.status();
+
+            if (categoryOk && statusOk) {
+                brandFacet.merge(cell.brand(), count, Integer::sum);
+            }
+            if (brandOk && statusOk) {
+                categoryFacet.merge(cell.categoryName() != null ? cell.categoryName() : "UNKNOWN", count, Integer::sum);
+            }
+            if (brandOk && categoryOk) {
+                statusFacet.merge(cell.status().name(), count, Integer::sum);
+            }
+            if (brandOk && categoryOk && statusOk) {
+                total += count;
+            }
+            brandMatches += brandOk ? count : 0;
+            categoryMatches += categoryOk ? count : 0;
+            statusMatches += statusOk ? count : 0;
+        }
+
+        List<CarDocument> results = new ArrayList<>(Math.min(Math.max(limit, 0), total));
+        if (limit > 0 && total > 0) {
+            // Walk the smallest posting list in ID order and check the other filters on the document
+            NavigableSet<Long> candidates = ids;
+            int smallest = Integer.MAX_VALUE;
+            if (brand != null && brandMatches < smallest) {
+                candidates = byBrand.getOrDefault(brand.toLowerCase(Locale.ROOT), Collections.emptyNavigableSet());
+                smallest = brandMatches;
+            }
+            if (categoryId != null && categoryMatches < smallest) {
+                candidates = byCategory.getOrDefault(categoryId, Collections.emptyNavigableSet());
+                smallest = categoryMatches;
+            }
+            if (status != null && statusMatches < smallest) {
+                candidates = byStatus.getOrDefault(status, Collections.emptyNavigableSet());
+            }
+            for (Long id : candidates) {
+                CarDocument document = documents.get(id);
+                if (document != null
+                        && (brand == null || brand.equalsIgnoreCase(document.brand()))
+                        && (categoryId == null || categoryId.equals(document.categoryId()))
+                        && (status == null || status == document.status())) {
+                    results.add(document);
+                    if (results.size() == limit) {
+                        break;
+                    }
+                }
+            }
+        }
+        return new CarSearchResponse(total, results, facets(brandFacet, categoryFacet, statusFacet));
+    }
+
+    private static Map<String, Map<String, Integer>> facets(Map<String, Integer> brandFacet,
+                                                           Map<String, Integer> categoryFacet,
+                                                           Map<String, Integer> statusFacet) {
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        facets.put("brand", brandFacet);
+        facets.put("category", categoryFacet);
+        facets.put("status", statusFacet);
+        return facets;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    // docId -> score; a document must match every query term
+    private Map<Long, Integer> match(List<String> queryTerms) {
+        Map<Long, Integer> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<Long, Integer> termScores = matchTerm(queryTerm);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                Map<Long, Integer> intersection = new HashMap<>();
+                for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+                    Integer score = termScores.get(entry.getKey());
+                    if (score != null) {
+                        intersection.put(entry.getKey(), entry.getValue() + score);
+                    }
+                }
+                scores = intersection;
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    private Map<Long, Integer> matchTerm(String queryTerm) {
+        Map<Long, Integer> scores = new HashMap<>();
+
+        // Exact and prefix matches: contiguous range of the sorted term set
+        for (String term : terms.subSet(queryTerm, true, queryTerm + Character.MAX_VALUE, false)) {
+            int score = term.equals(queryTerm) ? EXACT_SCORE : PREFIX_SCORE;
+            addPostings(scores, term, score);
+        }
+
+        // Typo tolerance only when nothing matched directly; the term dictionary is small
+        // (brands, models, categories), so a linear scan with a bounded distance check is cheap
+        if (scores.isEmpty() && queryTerm.length() >= MIN_FUZZY_LENGTH) {
+            for (String term : terms) {
+                if (withinOneEdit(queryTerm, term)) {
+                    addPostings(scores, term, FUZZY_SCORE);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void addPostings(Map<Long, Integer> scores, String term, int score) {
+        Set<Long> ids = postings.get(term);
+        if (ids != null) {
+            for (Long id : ids) {
+                scores.merge(id, score, Math::max);
+            }
+        }
+    }
+
+    // ---- index maintenance (callers hold the monitor) ----
+
+    private void add(CarDocument document) {
+        documents.put(document.id(), document);
+        for (String term : documentTerms(document)) {
+            postings.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(document.id());
+            terms.add(term);
+        }
+        addFilters(document);
+    }
+
+    private void removeDocument(CarDocument document) {
+        documents.remove(document.id());
+        removeFilters(document);
+        for (String term : documentTerms(document)) {
+            Set<Long> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(document.id());
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                    terms.remove(term);
+                }
+            }
+        }
+    }
+
+    private void addFilters(CarDocument document) {
+        ids.add(document.id());
+        byBrand.computeIfAbsent(brandKey(document.brand()), b -> new ConcurrentSkipListSet<>()).add(document.id());
+        if (document.categoryId() != null) {
+            byCategory.computeIfAbsent(document.categoryId(), c -> new ConcurrentSkipListSet<>()).add(document.id());
+        }
+        byStatus.computeIfAbsent(document.status(), s -> new ConcurrentSkipListSet<>()).add(document.id());
+        facetCells.merge(FacetCell.of(document), 1, Integer::sum);
+    }
+
+    private void removeFilters(CarDocument document) {
+        ids.remove(document.id());
+        removePosting(byBrand, brandKey(document.brand()), document.id());
+        if (document.categoryId() != null) {
+            removePosting(byCategory, document.categoryId(), document.id());
+        }
+        removePosting(byStatus, document.status(), document.id());
+        facetCells.computeIfPresent(FacetCell.of(document), (cell, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private static <K> void removePosting(Map<K, NavigableSet<Long>> index, K key, Long id) {
+        NavigableSet<Long> set = index.get(key);
+        if (set != null) {
+            set.remove(id);
+            if (set.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static String brandKey(String brand) {
+        return brand.toLowerCase(Locale.ROOT);
+    }
+
+    private CarDocument toDocument(Car car) {
+        Long categoryId = car.getCategory() != null ? car.getCategory().getId() : null;
+        Category category = categoryId != null ? categories.get(categoryId) : null;
+        return new CarDocument(
+                car.getId(),
+                car.getBrand(),
+                car.getModel(),
+                categoryId,
+                category != null ? category.getCode() : null,
+                category != null ? category.getName() : null,
+                car.getStatus(),
+                car.getImageKey(),
+                car.getImageKey() == null ? car.getImageUrl() : null
+        );
+    }
+
+    private static Set<String> documentTerms(CarDocument document) {
+        Set<String> result = new HashSet<>();
+        result.addAll(tokenize(document.brand()));
+        result.addAll(tokenize(document.model()));
+        result.addAll(tokenize(document.categoryName()));
+        result.addAll(tokenize(document.categoryCode()));
+        return result;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Levenshtein distance <= 1 (one insert, delete or substitution), O(n)
+    static boolean withinOneEdit(String a, String b) {
+        int lengthA = a.length();
+        int lengthB = b.length();
+        if (Math.abs(lengthA - lengthB) > 1) {
+            return false;
+        }
+        int i = 0;
+        int j = 0;
+        boolean edited = false;
+        while (i < lengthA && j < lengthB) {
+            if (a.charAt(i) == b.charAt(j)) {
+                i++;
+                j++;
+                continue;
+            }
+            if (edited) {
+                return false;
+            }
+            edited = true;
+            if (lengthA > lengthB) {
+                i++;
+            } else if (lengthB > lengthA) {
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return !edited || (i == lengthA && j == lengthB);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // One facet combination; its counter is the number of documents that fall into it
+    private record FacetCell(String brand, Long categoryId, String categoryName, CarStatus status) {
+        static FacetCell of(CarDocument document) {
+            return new FacetCell(document.brand(), document.categoryId(), document.categoryName(), document.status());
+        }
+    }
+
+    private record ScoredDocument(CarDocument document, int score) {
+        // Lowest score (then highest ID) at the head so the bounded heap evicts it first
+        static final Comparator<ScoredDocument> WORST_FIRST = Comparator
+                .comparingInt(ScoredDocument::score)
+                .thenComparing((ScoredDocument s) -> s.document().id(), Comparator.reverseOrder());
+    }
+}
@@ -0,0 +1,74 @@
+package com.sixt.carrental.service;
+
+import com.sixt.carrental.common.Money;
+import com.sixt.carrental.dto.response.RevenueReportRow;
+import com.sixt.carrental.dto.response.UtilizationReportRow;
+import com.sixt.carrental.entity.Category;
+import com.sixt.carrental.repository.CarRepository;
+import com.sixt.carrental.repository.CategoryRepository;
+import com.sixt.carrental.repository.RevenueRollupRepository;
+import com.sixt.carrental.repository.UtilizationRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Admin reports, answered from the rollup tables only (never scans bookings)
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AnalyticsService {
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final UtilizationRollupRepository utilizationRollupRepository;
+    private final CategoryRepository categoryRepository;
+    private final CarRepository carRepository;
+
+    // Revenue per month, category and km package
+    public List<RevenueReportRow> revenue(YearMonth from, YearMonth to) {
+        Map<Long, String> categoryNames = categoryNames();
+        return revenueRollupRepository
+                .findByMonthBetweenOrderByMonthAscCategoryIdAscKmPackageAsc(from.atDay(1), to.atDay(1))
+                .stream()
+                .map(r -> new RevenueReportRow(
+                        YearMonth.from(r.getMonth()),
+                        r.getCategoryId(),
+                        categoryNames.get(r.getCategoryId()),
+                        r.getKmPackage(),
+                        Money.of(r.getRevenue()),
+                        r.getBookings(),
+                        r.getCancellations()))
+                .toList();
+    }
+
+    // Car-days rented vs. fleet car-days per month and category
+    public List<UtilizationReportRow> utilization(YearMonth from, YearMonth to) {
+        Map<Long, String> categoryNames = categoryNames();
+        Map<Long, Long> fleetSizes = new HashMap<>();
+        for (Object[] row : carRepository.countByCategory()) {
+            fleetSizes.put((Long) row[0], (Long) row[1]);
+        }
+
+        return utilizationRollupRepository
+                .findByMonthBetweenOrderByMonthAscCategoryIdAsc(from.atDay(1), to.atDay(1))
+                .stream()
+                .map(r -> {
+                    YearMonth month = YearMonth.from(r.getMonth());
+                    long fleetCarDays = fleetSizes.getOrDefault(r.getCategoryId(), 0L) * month.lengthOfMonth();
+                    double utilization = fleetCarDays == 0 ? 0.0
+                            : Math.round(10_000.0 * r.getRentedCarDays() / fleetCarDays) / 10_000.0;
+                    return new UtilizationReportRow(month, r.getCategoryId(), categoryNames.get(r.getCategoryId()),
+                            r.getRentedCarDays(), fleetCarDays, utilization);
+                })
+                .toList();
+    }
+
+    private Map<Long, String> categoryNames() {
+        return categoryRepository.findAll().stream()
+                .collect(Collectors.toMap(Category::getId, Category::getName));
+    }
+}
@@ -0,0 +1,106 @@
+package com.sixt.carrental.service;
+
+import com.sixt.carrental.common.ClusterLock;
+import com.sixt.carrental.entity.ArchivedBooking;
+import com.sixt.carrental.entity.Booking.BookingStatus;
+import com.sixt.carrental.repository.ArchivedBookingRepository;
+import com.sixt.carrental.repository.BookingRepository;
+import com.sixt.carrental.repository.PaymentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// Moves finished subscriptions out of the hot bookings table.
+// COMPLETED and CANCELLED bookings that have not changed for the retention period are copied to
+// bookings_archive together with their payment, then deleted from bookings/payments - one transaction
+// per batch, so a batch is either fully moved or not at all. Everything the live flows query
+// (per user, per car, per status, guarded transitions) then only ever touches active rows.
+// Safe on every node: each batch takes a cluster lock, so nodes never pick up the same batch.
+@Service
+@Slf4j
+public class BookingArchiveService {
+
+    private static final Set<BookingStatus> TERMINAL = EnumSet.of(BookingStatus.COMPLETED, BookingStatus.CANCELLED);
+    private static final String LOCK = "booking-archive";
+
+    private final BookingRepository bookingRepository;
+    private final PaymentRepository paymentRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final ClusterLock clusterLock;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long retentionDays;
+    private final int batchSize;
+
+    public BookingArchiveService(BookingRepository bookingRepository,
+                                 PaymentRepository paymentRepository,
+                                 ArchivedBookingRepository archivedBookingRepository,
+                                 ClusterLock clusterLock,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${app.archive.enabled:true}") boolean enabled,
+                                 @Value("${app.archive.retention-days:180}") long retentionDays,
+                                 @Value("${app.archive.batch-size:500}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.paymentRepository = paymentRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.clusterLock = clusterLock;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.archive.interval-ms:3600000}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long total = 0;
+        int moved;
+        do {
+            try {
+                moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            } catch (RuntimeException e) {
+                log.warn("Booking archival stopped after {} bookings: {}", total, e.getMessage());
+                return;
+            }
+            total += moved;
+        } while (moved == batchSize);
+        if (total > 0) {
+            log.info("Archived {} bookings finished before {}", total, cutoff);
+        }
+    }
+
+    // A user's archived subscriptions, newest first
+    public List<ArchivedBooking> getUserArchive(Long userId) {
+        return archivedBookingRepository.findByUserIdOrderByStartDateDesc(userId);
+    }
+
+    // 0 when another node is archiving right now: this run stops and leaves the rest to it
+    private int archiveBatch(LocalDateTime cutoff) {
+        if (!clusterLock.tryLock(LOCK)) {
+            return 0;
+        }
+        List<Long> ids = bookingRepository.findArchivableIds(TERMINAL, cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int copied = archivedBookingRepository.copyFromBookings(ids, TERMINAL, LocalDateTime.now());
+        paymentRepository.deleteByBookingIds(ids);
+        int deleted = bookingRepository.deleteArchived(ids, TERMINAL);
+        if (copied != deleted) {
+            // Rolls the batch back: nothing may be deleted that is not in the archive
+            throw new IllegalStateException("Archived " + copied + " bookings but deleted " + deleted);
+        }
+        return deleted;
+    }
+}
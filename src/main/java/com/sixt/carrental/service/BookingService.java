@@ -1,79 +1,92 @@
 package com.sixt.carrental.service;
 
+import com.sixt.carrental.common.Money;
+import com.sixt.carrental.common.OptimisticRetry;
 import com.sixt.carrental.entity.Booking;
 import com.sixt.carrental.entity.Booking.BookingStatus;
 import com.sixt.carrental.entity.Car;
 import com.sixt.carrental.entity.Car.CarStatus;
+import com.sixt.carrental.entity.OutboxEvent.EventType;
 import com.sixt.carrental.entity.PricingPlan;
 import com.sixt.carrental.entity.User;
+import com.sixt.carrental.hold.CarHoldExpired;
+import com.sixt.carrental.logging.LogSampling;
+import com.sixt.carrental.pricing.PriceQuote;
 import com.sixt.carrental.repository.BookingRepository;
 import com.sixt.carrental.repository.CarRepository;
+import com.sixt.carrental.tracing.Spans;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BookingService {
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(5);
+
     private final BookingRepository bookingRepository;
     private final CarService carService;
     private final PricingService pricingService;
     private final UserService userService;
+    private final OutboxService outboxService;
+    private final OptimisticRetry optimisticRetry;
+    private final WaitlistService waitlistService;
+    private final CarHoldService carHoldService;
+    private final Spans spans;
+    private final EntityManager entityManager;
 
     // Create booking with price snapshot
     @Transactional
     public Booking createBooking(Long userId, Long carId, Long categoryId,
                                  Integer durationMonths, Integer kmPackage,
                                  LocalDate startDate){
-        log.info("Creating booking: userId={}, carId={}, categoryId={}, durationMonths={}, kmPackage={}, startDate={}",
-                userId, carId, categoryId, durationMonths, kmPackage, startDate);
-        
-        // 1. Validate user exists
-        User user = userService.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("User not found with ID: {}", userId);
-                    return new RuntimeException("User not found with ID: " + userId);
-                });
-        log.debug("User found: {}", user.getEmail());
+        // Rejections are thrown (the controller logs them); one sampled line per created booking
+        // Each numbered step is a child span of the request's trace
+
+        // 1. Validate user exists - served from the user cache; the detached copy is enough to set the
+        // association and, unlike a lazy reference, can still be read after the transaction
+        User user = spans.call("booking.validate-user", () -> userService.findById(userId))
+                .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
 
         // 2. Validate car is available
-        Car car = carService.findById(carId)
-                .orElseThrow(() -> {
-                    log.error("Car not found with ID: {}", carId);
-                    return new RuntimeException("Car not found with ID: " + carId);
-                });
-        log.debug("Car found: {} {}, status: {}", car.getBrand(), car.getModel(), car.getStatus());
-
-        if (car.getStatus() != CarStatus.AVAILABLE) {
-            log.error("Car is not available for booking. Current status: {}", car.getStatus());
+        Car car = spans.call("booking.load-car", () -> carService.findById(carId))
+                .orElseThrow(() -> new RuntimeException("Car not found with ID: " + carId));
+
+        // A HELD car is reserved for a waitlist offer: only that user may book it, while the offer lasts
+        boolean heldForUser = car.getStatus() == CarStatus.HELD;
+        if (heldForUser && !spans.call("booking.claim-offer", () -> waitlistService.claimOffer(userId, carId))) {
+            throw new RuntimeException("Car is not available for booking");
+        }
+        if (!heldForUser && car.getStatus() != CarStatus.AVAILABLE) {
             throw new RuntimeException("Car is not available for booking");
         }
 
         // 3. Get pricing plan and snapshot the price
-        PricingPlan pricingPlan = pricingService.findPricingPlan(categoryId, durationMonths, kmPackage)
-                .orElseThrow(() -> {
-                    log.error("No pricing plan found for category: {}, duration: {}, km: {}", 
-                            categoryId, durationMonths, kmPackage);
-                    return new RuntimeException(
-                            "No pricing plan found for category: " + categoryId +
-                                    ", duration: " + durationMonths +
-                                    ", km: " + kmPackage
-                    );
-                });
-        log.debug("Pricing plan found: pricePerMonth={}", pricingPlan.getPricePerMonth());
-
-        // 4. Calculate dates and total
+        PricingPlan pricingPlan = spans.call("booking.find-pricing-plan",
+                        () -> pricingService.findPricingPlan(categoryId, durationMonths, kmPackage))
+                .orElseThrow(() -> new RuntimeException(
+                        "No pricing plan found for category: " + categoryId +
+                                ", duration: " + durationMonths +
+                                ", km: " + kmPackage
+                ));
+
+        // 4. Quote the dynamic price, calculate dates and total
         LocalDate endDate = startDate.plusMonths(durationMonths);
-        BigDecimal pricePerMonth = pricingPlan.getPricePerMonth(); // snapshOT!!!!
-        BigDecimal totalAmount = pricePerMonth.multiply(BigDecimal.valueOf(durationMonths));
-        log.debug("Calculated: endDate={}, pricePerMonth={}, totalAmount={}", endDate, pricePerMonth, totalAmount);
+        PriceQuote quote = spans.call("booking.quote", () -> pricingService.quote(pricingPlan, startDate));
+        BigDecimal pricePerMonth = quote.pricePerMonth().toBigDecimal(); // snapshOT!!!!
+        Money totalAmount = quote.pricePerMonth().times(durationMonths);
 
         // 5. create the booking
         Booking booking = new Booking();
@@ -82,21 +95,33 @@ public class BookingService {
         booking.setDurationMonths(durationMonths);
         booking.setKmPackage(kmPackage);
         booking.setPricePerMonth(pricePerMonth);
-        booking.setTotalAmount(totalAmount);
+        booking.setTotalAmount(totalAmount.toBigDecimal());
         booking.setStartDate(startDate);
         booking.setEndDate(endDate);
         booking.setStatus(BookingStatus.PENDING);
 
         // 6. Save Booking
-        log.info("Saving booking to database...");
-        Booking savedBooking = bookingRepository.save(booking);
-        log.info("Booking saved successfully with ID: {}", savedBooking.getId());
+        Booking savedBooking = spans.call("booking.save", () -> {
+            Booking saved = bookingRepository.save(booking);
+            outboxService.bookingChanged(saved, EventType.BOOKING_CREATED);
+            return saved;
+        });
 
         // 7. mark car as rented
-        log.info("Marking car {} as rented", carId);
-        carService.markAsRented(carId);
-
-        log.info("Booking creation completed successfully. Booking ID: {}", savedBooking.getId());
+        spans.run("booking.reserve-car", () -> {
+            if (heldForUser) {
+                carService.markHeldAsRented(carId);
+            } else {
+                carService.markAsRented(carId);
+            }
+            // ...but only until the checkout hold expires, unless the booking is paid
+            carHoldService.place(savedBooking.getId(), carId);
+        });
+        // The guarded UPDATE bypassed the loaded car; re-read it so the response shows its new status
+        entityManager.refresh(car);
+
+        log.info(LogSampling.SAMPLED, "Booking {} created: userId={}, carId={}, pricePerMonth={}, months={}",
+                savedBooking.getId(), userId, carId, pricePerMonth, durationMonths);
         return savedBooking;
     }
 
@@ -104,6 +129,17 @@ public class BookingService {
     public List<Booking> getUserBookings(Long userId) {
         return bookingRepository.findByUser_Id(userId);
     }
+    // Bookings changed since the client's watermark (all of them without one).
+    // Re-reads a short overlap before the watermark: a transaction that stamped updatedAt just before the
+    // last sync may only have committed after it. Clients merge by ID, so repeats are harmless.
+    public List<Booking> getUserBookingsChangedSince(Long userId, LocalDateTime since) {
+        if (since == null) {
+            return bookingRepository.findByUser_Id(userId);
+        }
+        return bookingRepository.findByUser_IdAndUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(
+                userId, since.minus(SYNC_OVERLAP));
+    }
+
     // Get booking by ID
     public Optional<Booking> findById(Long id) {
         return bookingRepository.findById(id);
@@ -114,38 +150,80 @@ public class BookingService {
         return bookingRepository.findAll();
     }
 
+    // Status transitions: a guarded single-column UPDATE per allowed source status (WHERE status = <source>),
+    // so we learn which state the booking left; then the booking is read once for the outbox event and the response.
+    // They run in their own transaction, or join the caller's (e.g. payment -> confirm).
+
     // Confirm booking (after the payment get success)
-    @Transactional
     public Booking confirmBooking(Long bookingId){
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + bookingId));
-
-        booking.setStatus(BookingStatus.CONFIRMED);
-        return bookingRepository.save(booking);
+        return transition(bookingId, List.of(BookingStatus.PENDING),
+                BookingStatus.CONFIRMED, EventType.BOOKING_CONFIRMED);
     }
 
     // Cancel booking
-    @Transactional
     public Booking cancelBooking(Long bookingId){
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + bookingId));
-
-        booking.setStatus(BookingStatus.CANCELLED);
-        //Mark the car available again
-        carService.markAsAvailable(booking.getCar().getId());
-        return bookingRepository.save(booking);
+        return transition(bookingId, List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED),
+                BookingStatus.CANCELLED, EventType.BOOKING_CANCELLED);
     }
     // Complete booking (subscription ended)
-    @Transactional
     public Booking completeBooking(Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + bookingId));
-
-        booking.setStatus(BookingStatus.COMPLETED);
+        return transition(bookingId, List.of(BookingStatus.CONFIRMED),
+                BookingStatus.COMPLETED, EventType.BOOKING_COMPLETED);
+    }
 
-        // Make car available again
-        carService.markAsAvailable(booking.getCar().getId());
+    // Checkout hold ran out before payment: cancel the booking, which frees the car (or offers it to the waitlist)
+    @EventListener
+    @Transactional
+    public void onHoldExpired(CarHoldExpired event) {
+        Long bookingId = event.bookingId();
+        if (!carHoldService.releaseIfExpired(bookingId)) {
+            return; // paid or cancelled meanwhile
+        }
+        if (bookingRepository.findStatusById(bookingId).orElse(null) != BookingStatus.PENDING) {
+            return;
+        }
+        log.info("Checkout hold of booking {} expired, cancelling it", bookingId);
+        transition(bookingId, List.of(BookingStatus.PENDING), BookingStatus.CANCELLED, EventType.BOOKING_CANCELLED);
+    }
 
-        return bookingRepository.save(booking);
+    private Booking transition(Long bookingId, List<BookingStatus> from, BookingStatus to, EventType eventType) {
+        return optimisticRetry.inTransaction(() -> {
+            BookingStatus previous = null;
+            for (BookingStatus source : from) {
+                if (bookingRepository.transitionStatus(bookingId, Set.of(source), to, LocalDateTime.now()) == 1) {
+                    previous = source;
+                    break;
+                }
+            }
+            if (previous == null) {
+                BookingStatus current = bookingRepository.findStatusById(bookingId)
+                        .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + bookingId));
+                throw new RuntimeException("Cannot change booking " + bookingId + " from " + current + " to " + to);
+            }
+
+            // Paid or cancelled: the checkout hold has done its job
+            if (previous == BookingStatus.PENDING) {
+                carHoldService.settle(bookingId);
+            }
+
+            Booking booking = bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + bookingId));
+            if (booking.getStatus() != to) {
+                // Loaded earlier in this transaction (e.g. by the payment flow), before the guarded UPDATE
+                entityManager.refresh(booking);
+            }
+
+            // Cancelled or completed subscriptions give the car back - first to the category's waitlist
+            if (to == BookingStatus.CANCELLED || to == BookingStatus.COMPLETED) {
+                Car car = booking.getCar();
+                if (!waitlistService.offerReleasedCar(car.getId(), car.getCategory().getId())) {
+                    carService.markAsAvailable(car.getId());
+                }
+                entityManager.refresh(car);
+            }
+
+            outboxService.bookingChanged(booking, eventType, previous);
+            return booking;
+        });
     }
-}
\ No newline at end of file
+}
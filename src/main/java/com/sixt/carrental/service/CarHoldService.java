@@ -0,0 +1,124 @@
+package com.sixt.carrental.service;
+
+import com.sixt.carrental.entity.CarHold;
+import com.sixt.carrental.hold.CarHoldExpired;
+import com.sixt.carrental.hold.HoldTimingWheel;
+import com.sixt.carrental.repository.CarHoldRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+// Checkout holds between POST /api/bookings and a successful payment.
+// Durable in car_holds, timed by an in-memory timing wheel: each tick only touches the holds due in
+// that tick, nothing scans the table. Expired holds are announced as CarHoldExpired (BookingService
+// cancels the booking and frees the car); the guarded delete decides between expiry and payment.
+@Service
+@Slf4j
+public class CarHoldService {
+
+    private static final int WHEEL_SLOTS = 4096;
+
+    private final CarHoldRepository carHoldRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long ttlSeconds;
+    private final long recoveryGraceSeconds;
+    private final HoldTimingWheel wheel;
+
+    public CarHoldService(CarHoldRepository carHoldRepository,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${app.holds.ttl-seconds:900}") long ttlSeconds,
+                          @Value("${app.holds.tick-ms:1000}") long tickMillis,
+                          @Value("${app.holds.recovery-grace-seconds:60}") long recoveryGraceSeconds) {
+        this.carHoldRepository = carHoldRepository;
+        this.eventPublisher = eventPublisher;
+        this.ttlSeconds = ttlSeconds;
+        this.recoveryGraceSeconds = recoveryGraceSeconds;
+        this.wheel = new HoldTimingWheel(tickMillis, WHEEL_SLOTS, System.currentTimeMillis());
+    }
+
+    // Replay the table into the wheel (holds survive restarts; overdue ones fire on the first tick)
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHolds() {
+        List<CarHold> holds = carHoldRepository.findAll();
+        holds.forEach(hold -> wheel.schedule(hold.getBookingId(), toMillis(hold.getExpiresAt())));
+        log.info("Checkout holds loaded: {}", holds.size());
+    }
+
+    // Joins the booking transaction; the wheel only learns about the hold once it is committed
+    public CarHold place(Long bookingId, Long carId) {
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(ttlSeconds);
+        CarHold hold = carHoldRepository.save(new CarHold(bookingId, carId, expiresAt, null));
+        afterCommit(() -> wheel.schedule(bookingId, toMillis(expiresAt)));
+        return hold;
+    }
+
+    // The booking left PENDING: paid (the car stays rented for good) or cancelled (the caller frees it)
+    public void settle(Long bookingId) {
+        if (carHoldRepository.release(bookingId) == 1) {
+            afterCommit(() -> wheel.cancel(bookingId));
+        }
+    }
+
+    // Claim an expired hold; false if the booking was paid or cancelled first
+    public boolean releaseIfExpired(Long bookingId) {
+        return carHoldRepository.releaseIfExpired(bookingId, LocalDateTime.now()) == 1;
+    }
+
+    @Scheduled(fixedRateString = "${app.holds.tick-ms:1000}")
+    public void tick() {
+        for (Long bookingId : wheel.advance(System.currentTimeMillis())) {
+            publishExpired(bookingId);
+        }
+    }
+
+    // Safety net for holds placed by a node that went away before they expired (index range scan)
+    @Scheduled(fixedDelayString = "${app.holds.recovery-interval-ms:300000}")
+    public void recoverOverdue() {
+        List<CarHold> overdue = carHoldRepository.findByExpiresAtBefore(
+                LocalDateTime.now().minusSeconds(recoveryGraceSeconds));
+        if (!overdue.isEmpty()) {
+            log.warn("Recovering {} overdue checkout holds", overdue.size());
+            overdue.forEach(hold -> publishExpired(hold.getBookingId()));
+        }
+    }
+
+    public int pendingHolds() {
+        return wheel.size();
+    }
+
+    private void publishExpired(Long bookingId) {
+        try {
+            eventPublisher.publishEvent(new CarHoldExpired(bookingId));
+        } catch (RuntimeException e) {
+            // Row is still there: the recovery pass retries it
+            log.warn("Could not expire checkout hold of booking {}: {}", bookingId, e.getMessage());
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
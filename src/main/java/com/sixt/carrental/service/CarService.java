@@ -1,23 +1,38 @@
 package com.sixt.carrental.service;
 
+import com.sixt.carrental.cache.CatalogVersion;
+import com.sixt.carrental.common.OptimisticRetry;
+import com.sixt.carrental.dto.response.CarSearchResponse;
 import com.sixt.carrental.entity.Car;
 import com.sixt.carrental.repository.CarRepository;
 import com.sixt.carrental.entity.Car.CarStatus;
+import com.sixt.carrental.search.CarSearchIndex;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 
 public class CarService{
     private final CarRepository carRepository;
+    private final CatalogVersion catalogVersion;
+    private final CarSearchIndex carSearchIndex;
+    private final OptimisticRetry optimisticRetry;
 
     //Create new Car
     public Car createCar(Car car){
-        return carRepository.save(car);
+        Car saved = carRepository.save(car);
+        catalogVersion.bump();
+        carSearchIndex.index(saved);
+        return saved;
     }
 
     // get all available cars for page 2
@@ -30,6 +45,11 @@ public class CarService{
         return carRepository.findByCategoryIdAndStatus(categoryId, CarStatus.AVAILABLE);
     }
 
+    // Full-text + faceted search over the in-memory index (no database access)
+    public CarSearchResponse searchCars(String query, String brand, Long categoryId, CarStatus status, int limit){
+        return carSearchIndex.search(query, brand, categoryId, status, limit);
+    }
+
     // Get the AVAILABLE cars by brand
     public List<Car> getAvailableCarsByBrand(String brand){
         return carRepository.findByBrandAndStatus(brand, CarStatus.AVAILABLE);
@@ -45,29 +65,98 @@ public class CarService{
         return carRepository.findAll();
     }
 
-    // Update car
+    // Update car - only non-null fields are applied; a stale version is rejected
+    @Transactional
     public Car updateCar(Car car) {
-        if (!carRepository.existsById(car.getId())) {
-            throw new RuntimeException("Car not found with ID: " + car.getId());
+        Car existing = carRepository.findById(car.getId())
+                .orElseThrow(() -> new RuntimeException("Car not found with ID: " + car.getId()));
+        if (car.getVersion() != null && !car.getVersion().equals(existing.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Car.class, car.getId());
         }
-        return carRepository.save(car);
+
+        if (car.getCategory() != null) existing.setCategory(car.getCategory());
+        if (car.getBrand() != null) existing.setBrand(car.getBrand());
+        if (car.getModel() != null) existing.setModel(car.getModel());
+        if (car.getImageUrl() != null) existing.setImageUrl(car.getImageUrl());
+        if (car.getStatus() != null) existing.setStatus(car.getStatus());
+
+        Car saved = carRepository.save(existing);
+        catalogVersion.bump();
+        carSearchIndex.index(saved);
+        return saved;
     }
 
-    // Change car status
-    public Car updateCarStatus(Long carId, CarStatus status){
+    // Point the car at an uploaded image
+    @Transactional
+    public Car updateImage(Long carId, String imageKey) {
         Car car = carRepository.findById(carId)
                 .orElseThrow(() -> new RuntimeException("Car not found with ID: " + carId));
-        car.setStatus(status); // this line will change the status
-        return carRepository.save(car);
+        car.setImageKey(imageKey);
+        Car saved = carRepository.save(car);
+        catalogVersion.bump();
+        carSearchIndex.index(saved);
+        return saved;
     }
 
-    // Mark car as rented
+    // Change car status
+    // (retried on version conflicts when called outside a transaction)
+    public Car updateCarStatus(Long carId, CarStatus status){
+        return optimisticRetry.inTransaction(() -> {
+            Car car = carRepository.findById(carId)
+                    .orElseThrow(() -> new RuntimeException("Car not found with ID: " + carId));
+            car.setStatus(status); // this line will change the status
+            Car saved = carRepository.save(car);
+            catalogVersion.bump(); // available-car listings change with status
+            carSearchIndex.updateStatus(carId, status);
+            return saved;
+        });
+    }
+
+    // Mark car as rented - single guarded UPDATE, fails if the car was taken meanwhile
     public void markAsRented(Long carId){
-        updateCarStatus(carId, CarStatus.RENTED);
+        if (!transitionStatus(carId, CarStatus.AVAILABLE, CarStatus.RENTED)) {
+            CarStatus current = carRepository.findStatusById(carId)
+                    .orElseThrow(() -> new RuntimeException("Car not found with ID: " + carId));
+            throw new RuntimeException("Car is not available for booking (status: " + current + ")");
+        }
     }
     // mark car as available
     public void markAsAvailable(Long carId){
-        updateCarStatus(carId, CarStatus.AVAILABLE);
+        // A car an admin moved to maintenance meanwhile stays there
+        if (!transitionStatus(carId, CarStatus.RENTED, CarStatus.AVAILABLE)) {
+            log.info("Car {} was not RENTED, leaving its status unchanged", carId);
+        }
+    }
+
+    // Waitlist holds: a released car goes RENTED -> HELD instead of back on the market,
+    // HELD -> RENTED when the offered user books it, HELD -> AVAILABLE when nobody takes it
+    public boolean holdForWaitlist(Long carId){
+        return transitionStatus(carId, CarStatus.RENTED, CarStatus.HELD);
+    }
+
+    public void markHeldAsRented(Long carId){
+        if (!transitionStatus(carId, CarStatus.HELD, CarStatus.RENTED)) {
+            throw new RuntimeException("Car is no longer held for this booking");
+        }
+    }
+
+    public void releaseHold(Long carId){
+        if (!transitionStatus(carId, CarStatus.HELD, CarStatus.AVAILABLE)) {
+            log.info("Car {} was not HELD, leaving its status unchanged", carId);
+        }
+    }
+
+    public boolean hasAvailableCars(Long categoryId){
+        return carRepository.existsByCategoryIdAndStatus(categoryId, CarStatus.AVAILABLE);
+    }
+
+    private boolean transitionStatus(Long carId, CarStatus from, CarStatus to){
+        if (carRepository.transitionStatus(carId, from, to, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        catalogVersion.bump();
+        carSearchIndex.updateStatus(carId, to);
+        return true;
     }
 
     // Delete car
@@ -76,5 +165,7 @@ public class CarService{
             throw new RuntimeException("Car not found with ID: " + id);
         }
         carRepository.deleteById(id);
+        catalogVersion.bump();
+        carSearchIndex.remove(id);
     }
 }
@@ -1,7 +1,9 @@
 package com.sixt.carrental.service;
 
+import com.sixt.carrental.cache.CatalogVersion;
 import com.sixt.carrental.entity.Category;
 import com.sixt.carrental.repository.CategoryRepository;
+import com.sixt.carrental.search.CarSearchIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import java.util.List;
@@ -12,13 +14,18 @@ import java.util.Optional;
 
 public class CategoryService{
     private final CategoryRepository categoryRepository;
+    private final CatalogVersion catalogVersion;
+    private final CarSearchIndex carSearchIndex;
 
     //Create new category
     public Category createCategory(Category category){
         if(categoryRepository.existsByCode(category.getCode())){
             throw new RuntimeException("Category code already exists: " + category);
         }
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        catalogVersion.bump();
+        carSearchIndex.indexCategory(saved);
+        return saved;
     }
 
     // Get all categories
@@ -39,7 +46,10 @@ public class CategoryService{
         if(!categoryRepository.existsById(category.getId())){
             throw new RuntimeException("Category not found with ID: " + category.getId());
         }
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        catalogVersion.bump();
+        carSearchIndex.indexCategory(saved);
+        return saved;
     }
 
     //Delete category
@@ -48,5 +58,7 @@ public class CategoryService{
             throw new RuntimeException("Category not found with ID: " + id);
         }
         categoryRepository.deleteById(id);
+        catalogVersion.bump();
+        carSearchIndex.removeCategory(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,225 @@
+package com.sixt.carrental.service;
+
+import com.sixt.carrental.cache.CatalogVersion;
+import com.sixt.carrental.dto.response.FleetImportReport;
+import com.sixt.carrental.dto.response.FleetImportReport.RowError;
+import com.sixt.carrental.entity.Car.CarStatus;
+import com.sixt.carrental.entity.Category;
+import com.sixt.carrental.fleet.CarImportReader;
+import com.sixt.carrental.fleet.CarImportRow;
+import com.sixt.carrental.repository.CategoryRepository;
+import com.sixt.carrental.search.CarSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Bulk fleet onboarding: streams rows from a CarImportReader, validates them against a category lookup
+// loaded once per import, and writes them with JDBC batch statements (cars use IDENTITY IDs, which Hibernate
+// cannot batch). Each batch commits on its own; a failing batch is retried row by row to report the bad rows,
+// so one broken line never rejects the rest of the file.
+// Caches are refreshed once at the end: a catalog version bump and a search index rebuild on every node.
+@Service
+@Slf4j
+public class FleetImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    // Imports may only put cars on the market or into maintenance; bookings own RENTED and HELD
+    private static final Set<CarStatus> IMPORTABLE_STATUSES = Set.of(CarStatus.AVAILABLE, CarStatus.MAINTENENCE);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO cars (category_id, brand, model, image_url, status, version, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, 0, ?, ?)";
+
+    // Only the given columns change; the status of a car in a booking or waitlist offer is left alone
+    private static final String UPDATE_SQL =
+            "UPDATE cars SET category_id = COALESCE(?, category_id), brand = COALESCE(?, brand), "
+                    + "model = COALESCE(?, model), image_url = COALESCE(?, image_url), "
+                    + "status = CASE WHEN status IN ('RENTED', 'HELD') THEN status ELSE COALESCE(?, status) END, "
+                    + "version = version + 1, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CategoryRepository categoryRepository;
+    private final CatalogVersion catalogVersion;
+    private final CarSearchIndex carSearchIndex;
+    private final int batchSize;
+
+    public FleetImportService(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              CategoryRepository categoryRepository,
+                              CatalogVersion catalogVersion,
+                              CarSearchIndex carSearchIndex,
+                              @Value("${app.fleet-import.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.categoryRepository = categoryRepository;
+        this.catalogVersion = catalogVersion;
+        this.carSearchIndex = carSearchIndex;
+        this.batchSize = batchSize;
+    }
+
+    public FleetImportReport importCars(CarImportReader reader) throws IOException {
+        long started = System.nanoTime();
+        Map<String, Long> categoryIds = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categoryIds.put(category.getCode().toUpperCase(Locale.ROOT), category.getId());
+        }
+
+        Progress progress = new Progress();
+        List<PendingRow> inserts = new ArrayList<>(batchSize);
+        List<PendingRow> updates = new ArrayList<>(batchSize);
+        try {
+            CarImportReader.Line line;
+            while ((line = reader.next()) != null) {
+                progress.rows++;
+                if (line.error() != null) {
+                    progress.fail(line.number(), line.error());
+                    continue;
+                }
+                try {
+                    CarImportRow row = line.row();
+                    if (row.id() == null) {
+                        inserts.add(new PendingRow(line.number(), insertParams(row, categoryIds)));
+                    } else {
+                        updates.add(new PendingRow(line.number(), updateParams(row, categoryIds)));
+                    }
+                } catch (IllegalArgumentException e) {
+                    progress.fail(line.number(), e.getMessage());
+                }
+                if (inserts.size() >= batchSize) {
+                    flush(inserts, true, progress);
+                }
+                if (updates.size() >= batchSize) {
+                    flush(updates, false, progress);
+                }
+            }
+        } finally {
+            // Whatever was read before a broken connection is still written
+            flush(inserts, true, progress);
+            flush(updates, false, progress);
+            if (progress.inserted + progress.updated > 0) {
+                catalogVersion.bump();
+                carSearchIndex.reindexAll();
+            }
+        }
+
+        long durationMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Fleet import: {} rows, {} inserted, {} updated, {} failed in {} ms",
+                progress.rows, progress.inserted, progress.updated, progress.failed, durationMillis);
+        return new FleetImportReport(progress.rows, progress.inserted, progress.updated, progress.failed,
+                progress.errors, durationMillis);
+    }
+
+    private static Object[] insertParams(CarImportRow row, Map<String, Long> categoryIds) {
+        if (row.categoryCode() == null || row.brand() == null || row.model() == null) {
+            throw new IllegalArgumentException("New cars need categoryCode, brand and model");
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        CarStatus status = row.status() == null ? CarStatus.AVAILABLE : status(row.status());
+        return new Object[]{categoryId(row.categoryCode(), categoryIds), text(row.brand(), "brand", 50),
+                text(row.model(), "model", 50), text(row.imageUrl(), "imageUrl", 500), status.name(), now, now};
+    }
+
+    private static Object[] updateParams(CarImportRow row, Map<String, Long> categoryIds) {
+        Long categoryId = row.categoryCode() == null ? null : categoryId(row.categoryCode(), categoryIds);
+        String status = row.status() == null ? null : status(row.status()).name();
+        return new Object[]{categoryId, text(row.brand(), "brand", 50), text(row.model(), "model", 50),
+                text(row.imageUrl(), "imageUrl", 500), status, Timestamp.valueOf(LocalDateTime.now()), row.id()};
+    }
+
+    private static Long categoryId(String code, Map<String, Long> categoryIds) {
+        Long id = categoryIds.get(code.toUpperCase(Locale.ROOT));
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown category: " + code);
+        }
+        return id;
+    }
+
+    private static CarStatus status(String value) {
+        try {
+            CarStatus status = CarStatus.valueOf(value.toUpperCase(Locale.ROOT));
+            if (IMPORTABLE_STATUSES.contains(status)) {
+                return status;
+            }
+        } catch (IllegalArgumentException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid status: " + value + " (allowed: " + IMPORTABLE_STATUSES + ")");
+    }
+
+    private static String text(String value, String field, int maxLength) {
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " is longer than " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private void flush(List<PendingRow> batch, boolean insert, Progress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        String sql = insert ? INSERT_SQL : UPDATE_SQL;
+        try {
+            List<Object[]> params = batch.stream().map(PendingRow::params).toList();
+            int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(sql, params));
+            for (int i = 0; i < batch.size(); i++) {
+                progress.written(batch.get(i), counts[i], insert);
+            }
+        } catch (DataAccessException e) {
+            // Find the offending rows: write the batch again one row (and transaction) at a time
+            for (PendingRow row : batch) {
+                try {
+                    Integer count = transactionTemplate.execute(status -> jdbcTemplate.update(sql, row.params()));
+                    progress.written(row, count, insert);
+                } catch (DataAccessException rowFailure) {
+                    progress.fail(row.line(), NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    private record PendingRow(long line, Object[] params) {
+    }
+
+    private static final class Progress {
+        long rows;
+        long inserted;
+        long updated;
+        long failed;
+        final List<RowError> errors = new ArrayList<>();
+
+        // Batched inserts may report SUCCESS_NO_INFO (-2) instead of 1; an UPDATE of 0 rows means no such car
+        void written(PendingRow row, int count, boolean insert) {
+            if (count == 0) {
+                fail(row.line(), "Car not found with ID: " + row.params()[row.params().length - 1]);
+            } else if (insert) {
+                inserted++;
+            } else {
+                updated++;
+            }
+        }
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(line, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.sixt.carrental.service;
+
+import com.sixt.carrental.entity.Booking;
+import com.sixt.carrental.entity.Booking.BookingStatus;
+import com.sixt.carrental.entity.OutboxEvent;
+import com.sixt.carrental.entity.OutboxEvent.AggregateType;
+import com.sixt.carrental.entity.OutboxEvent.EventType;
+import com.sixt.carrental.entity.Payment;
+import com.sixt.carrental.notification.StatusChange;
+import com.sixt.carrental.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Record a booking state change. MANDATORY: the event must commit or roll back with the change itself
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bookingChanged(Booking booking, EventType eventType) {
+        bookingChanged(booking, eventType, null);
+    }
+
+    // previousStatus lets consumers (e.g. analytics) tell a cancelled confirmation from a cancelled request
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bookingChanged(Booking booking, EventType eventType, BookingStatus previousStatus) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookingId", booking.getId());
+        payload.put("userId", booking.getUser().getId());
+        payload.put("carId", booking.getCar().getId());
+        payload.put("categoryId", booking.getCar().getCategory().getId());
+        payload.put("status", booking.getStatus());
+        payload.put("previousStatus", previousStatus);
+        payload.put("durationMonths", booking.getDurationMonths());
+        payload.put("kmPackage", booking.getKmPackage());
+        payload.put("pricePerMonth", booking.getPricePerMonth());
+        payload.put("totalAmount", booking.getTotalAmount());
+        payload.put("startDate", booking.getStartDate());
+        payload.put("endDate", booking.getEndDate());
+
+        save(AggregateType.BOOKING, booking.getId(), booking.getUser().getId(), eventType, payload);
+    }
+
+    // Record a processed payment. Keyed by booking ID so it is ordered with the booking's events
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void paymentProcessed(Payment payment, Long bookingId, Long userId) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("paymentId", payment.getId());
+        payload.put("bookingId", bookingId);
+        payload.put("userId", userId);
+        payload.put("status", payment.getStatus());
+        payload.put("amount", payment.getAmount());
+        payload.put("transactionId", payment.getTransactionId());
+
+        EventType eventType = payment.getStatus() == Payment.PaymentStatus.SUCCESS
+                ? EventType.PAYMENT_SUCCEEDED
+                : EventType.PAYMENT_FAILED;
+        save(AggregateType.PAYMENT, bookingId, userId, eventType, payload);
+    }
+
+    // Record a waitlist offer: the car is held for the user until expiresAt
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void waitlistOffered(Long entryId, Long userId, Long categoryId, Long carId, LocalDateTime expiresAt) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("entryId", entryId);
+        payload.put("userId", userId);
+        payload.put("categoryId", categoryId);
+        payload.put("carId", carId);
+        payload.put("offerExpiresAt", expiresAt);
+
+        save(AggregateType.WAITLIST, entryId, userId, EventType.WAITLIST_OFFERED, payload);
+    }
+
+    private void save(AggregateType aggregateType, Long aggregateId, Long userId,
+                      EventType eventType, Map<String, Object> payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setEventType(eventType);
+        event.setPayload(objectMapper.writeValueAsString(payload));
+        OutboxEvent saved = outboxEventRepository.save(event);
+
+        // Live streams get the change right after commit, without waiting for the relay
+        eventPublisher.publishEvent(new StatusChange(saved.getId(), userId, aggregateId, eventType, saved.getPayload()));
+    }
+}
@@ -4,6 +4,7 @@ import com.sixt.carrental.entity.Booking;
 import com.sixt.carrental.entity.Payment;
 import com.sixt.carrental.entity.Payment.PaymentStatus;
 import com.sixt.carrental.repository.PaymentRepository;
+import com.sixt.carrental.tracing.Spans;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,16 +18,18 @@ import java.util.UUID;
 public class PaymentService {
     private final PaymentRepository paymentRepository;
     private final BookingService bookingService;
+    private final OutboxService outboxService;
+    private final Spans spans;
 
     // Process payment (mocked)
     @Transactional
     public Payment processPayment(Long bookingId, boolean shouldSucceed) {
         // 1. get booking
-        Booking booking = bookingService.findById(bookingId)
+        Booking booking = spans.call("payment.load-booking", () -> bookingService.findById(bookingId))
                 .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + bookingId));
 
         // 2. Check if payment already exists
-        if(paymentRepository.existsByBookingId(bookingId)){
+        if(spans.call("payment.check-duplicate", () -> paymentRepository.existsByBookingId(bookingId))){
             throw new RuntimeException("Payment already exists for booking ID: " + bookingId);
         }
 
@@ -41,13 +44,17 @@ public class PaymentService {
             payment.setTransactionId("Txn-" + UUID.randomUUID().toString());
 
             // Confirm booking
-            bookingService.confirmBooking(bookingId);
+            spans.run("payment.confirm-booking", () -> bookingService.confirmBooking(bookingId));
         }else{
             payment.setStatus(PaymentStatus.FAILED);
             payment.setTransactionId("Failed-" + UUID.randomUUID().toString());
         }
-        // 5. Save Payment
-        return paymentRepository.save(payment);
+        // 5. Save Payment (and its outbox event in the same transaction)
+        return spans.call("payment.save", () -> {
+            Payment savedPayment = paymentRepository.save(payment);
+            outboxService.paymentProcessed(savedPayment, bookingId, booking.getUser().getId());
+            return savedPayment;
+        });
     }
 
     // get payment by ID
@@ -1,11 +1,19 @@
 package com.sixt.carrental.service;
 
+import com.sixt.carrental.cache.CatalogVersion;
+import com.sixt.carrental.common.Money;
+import com.sixt.carrental.common.OptimisticRetry;
 import com.sixt.carrental.entity.PricingPlan;
+import com.sixt.carrental.pricing.PriceQuote;
+import com.sixt.carrental.pricing.PricingEngine;
 import com.sixt.carrental.repository.PricingPlanRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.parameters.P;
 import org.springframework.stereotype.Service;
-import java.math.BigDecimal;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,10 +22,15 @@ import java.util.Optional;
 
 public class PricingService{
     private final PricingPlanRepository pricingPlanRepository;
+    private final CatalogVersion catalogVersion;
+    private final OptimisticRetry optimisticRetry;
+    private final PricingEngine pricingEngine;
 
     // Create pricing plan
     public PricingPlan createPricingPlan(PricingPlan pricingPlan){
-        return pricingPlanRepository.save(pricingPlan);
+        PricingPlan saved = pricingPlanRepository.save(pricingPlan);
+        catalogVersion.bump();
+        return saved;
     }
 
     //get all active pricing plans for a category
@@ -35,7 +48,7 @@ public class PricingService{
     }
 
     // Calculate total price
-    public BigDecimal calculateTotalPrice(Long categoryId, Integer durationMonths, Integer kmPackage){
+    public Money calculateTotalPrice(Long categoryId, Integer durationMonths, Integer kmPackage){
         PricingPlan plan = findPricingPlan(categoryId, durationMonths, kmPackage)
                 .orElseThrow(() -> new RuntimeException(
                         "No pricing plan found for category: " + categoryId +
@@ -44,7 +57,17 @@ public class PricingService{
                 )
         );
 
-        return plan.getPricePerMonth().multiply(BigDecimal.valueOf(durationMonths));
+        return calculateTotalPrice(plan, durationMonths);
+    }
+
+    // Calculate total price for an already loaded plan
+    public Money calculateTotalPrice(PricingPlan plan, int durationMonths){
+        return Money.of(plan.getPricePerMonth()).times(durationMonths);
+    }
+
+    // Dynamic quote: base plan price adjusted for demand, lead time and season (in-memory, no extra queries)
+    public PriceQuote quote(PricingPlan plan, LocalDate startDate){
+        return pricingEngine.quote(plan, startDate);
     }
 
     // Get all pricing plans (admin)
@@ -52,19 +75,34 @@ public class PricingService{
         return pricingPlanRepository.findAll();
     }
 
-    // Update pricing plan
+    // Update pricing plan - only non-null fields are applied; a stale version is rejected
+    @Transactional
     public PricingPlan updatePricingPlan(PricingPlan pricingPlan) {
-        if (!pricingPlanRepository.existsById(pricingPlan.getId())) {
-            throw new RuntimeException("Pricing plan not found with ID: " + pricingPlan.getId());
+        PricingPlan existing = pricingPlanRepository.findById(pricingPlan.getId())
+                .orElseThrow(() -> new RuntimeException("Pricing plan not found with ID: " + pricingPlan.getId()));
+        if (pricingPlan.getVersion() != null && !pricingPlan.getVersion().equals(existing.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(PricingPlan.class, pricingPlan.getId());
         }
-        return pricingPlanRepository.save(pricingPlan);
+
+        if (pricingPlan.getDurationMonths() != null) existing.setDurationMonths(pricingPlan.getDurationMonths());
+        if (pricingPlan.getKmPackage() != null) existing.setKmPackage(pricingPlan.getKmPackage());
+        if (pricingPlan.getPricePerMonth() != null) existing.setPricePerMonth(pricingPlan.getPricePerMonth());
+        if (pricingPlan.getIsActive() != null) existing.setIsActive(pricingPlan.getIsActive());
+
+        PricingPlan saved = pricingPlanRepository.save(existing);
+        catalogVersion.bump();
+        return saved;
     }
 
     // Deactivate pricing plan (soft delete)
     public void deactivatePricingPlan(Long id){
-        PricingPlan plan = pricingPlanRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Pricing plan not found with ID: " + id));
-        plan.setIsActive(false);
-        pricingPlanRepository.save(plan);
+        optimisticRetry.inTransaction(() -> {
+            PricingPlan plan = pricingPlanRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Pricing plan not found with ID: " + id));
+            plan.setIsActive(false);
+            pricingPlanRepository.save(plan);
+            catalogVersion.bump();
+            return plan;
+        });
     }
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.sixt.carrental.service;
 
+import com.sixt.carrental.cache.UserCache;
 import com.sixt.carrental.entity.User;
 import com.sixt.carrental.repository.UserRepository;
+import com.sixt.carrental.service.PasswordHashingService.HashingBusyException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -11,10 +13,12 @@ import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;  // ← ADDED!
+    private final PasswordHashingService passwordHashingService;
+    private final UserCache userCache;
 
     // Register new user with encrypted password
     public User registerUser(User user) {
@@ -24,24 +28,55 @@ public class UserService {
         }
 
         // Encrypt password
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.encode(user.getPassword()));
 
         return userRepository.save(user);
     }
 
     // Verify password during login
     public boolean verifyPassword(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        return passwordHashingService.matches(rawPassword, encodedPassword);
     }
 
-    // Find user by email (for login)
+    // Verify password during login and upgrade the stored hash if the BCrypt work factor changed
+    public boolean verifyPassword(User user, String rawPassword) {
+        if (!passwordHashingService.matches(rawPassword, user.getPassword())) {
+            return false;
+        }
+
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            try {
+                user.setPassword(passwordHashingService.encode(rawPassword));
+                userRepository.save(user);
+                userCache.evict(user.getId());
+            } catch (HashingBusyException e) {
+                // Not worth failing the login over; we'll upgrade on a later login
+                log.debug("Skipping password rehash for user {}: hashing pool busy", user.getId());
+            }
+        }
+        return true;
+    }
+
+    // Find user by email (for login) - served from the user cache when possible
     public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmail(email);
+        Optional<User> cached = userCache.getByEmail(email);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<User> user = userRepository.findByEmail(email);
+        user.ifPresent(userCache::put);
+        return user;
     }
 
-    // Find user by ID
+    // Find user by ID - served from the user cache when possible
     public Optional<User> findById(Long id) {
-        return userRepository.findById(id);
+        Optional<User> cached = userCache.getById(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<User> user = userRepository.findById(id);
+        user.ifPresent(userCache::put);
+        return user;
     }
 
     // Get all users (admin function)
@@ -54,7 +89,9 @@ public class UserService {
         if (!userRepository.existsById(user.getId())) {
             throw new RuntimeException("User not found with ID: " + user.getId());
         }
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userCache.evict(saved.getId());
+        return saved;
     }
 
     // Delete user
@@ -63,5 +100,6 @@ public class UserService {
             throw new RuntimeException("User not found with ID: " + id);
         }
         userRepository.deleteById(id);
+        userCache.evict(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,205 @@
+package com.sixt.carrental.service;
+
+import com.sixt.carrental.entity.WaitlistEntry;
+import com.sixt.carrental.entity.WaitlistEntry.WaitlistStatus;
+import com.sixt.carrental.repository.WaitlistEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Per-category waitlist for sold-out categories.
+// The table is the FIFO every node reads: queue head and positions come from idx_waitlist_queue.
+// Each node also mirrors the WAITING entry IDs it has seen per category, but only as an "is anyone waiting?"
+// hint so car releases in categories without a queue skip the database; it is never trusted for order.
+// A released car is held (RENTED -> HELD in the releasing transaction, so nobody can grab it in between)
+// and offered to the head of the queue for a short time; expired offers move on to the next user.
+// Each offer is recorded in the outbox (WAITLIST_OFFERED), which also pushes it to the user's live streams.
+@Service
+@Slf4j
+public class WaitlistService {
+
+    private static final Set<WaitlistStatus> ACTIVE = EnumSet.of(WaitlistStatus.WAITING, WaitlistStatus.OFFERED);
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final CarService carService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final long offerTtlSeconds;
+    private final ConcurrentHashMap<Long, ConcurrentSkipListSet<Long>> queues = new ConcurrentHashMap<>();
+
+    public WaitlistService(WaitlistEntryRepository waitlistEntryRepository,
+                           CarService carService,
+                           OutboxService outboxService,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${app.waitlist.offer-ttl-seconds:900}") long offerTtlSeconds) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.carService = carService;
+        this.outboxService = outboxService;
+        this.transactionTemplate = transactionTemplate;
+        this.offerTtlSeconds = offerTtlSeconds;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadQueues() {
+        queues.clear();
+        List<WaitlistEntry> waiting = waitlistEntryRepository.findByStatusOrderByIdAsc(WaitlistStatus.WAITING);
+        waiting.forEach(entry -> queueOf(entry.getCategoryId()).add(entry.getId()));
+        log.info("Waitlist queues loaded: {} waiting entries in {} categories", waiting.size(), queues.size());
+    }
+
+    // Join the queue of a sold-out category (one active entry per user and category)
+    @Transactional
+    public WaitlistEntry join(Long userId, Long categoryId) {
+        if (carService.hasAvailableCars(categoryId)) {
+            throw new RuntimeException("Cars are available in category " + categoryId + ", book one directly");
+        }
+        if (waitlistEntryRepository.existsByUserIdAndCategoryIdAndStatusIn(userId, categoryId, ACTIVE)) {
+            throw new RuntimeException("Already on the waitlist for category " + categoryId);
+        }
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setUserId(userId);
+        entry.setCategoryId(categoryId);
+        entry.setStatus(WaitlistStatus.WAITING);
+        WaitlistEntry saved = waitlistEntryRepository.save(entry);
+        afterCommit(() -> queueOf(categoryId).add(saved.getId()));
+        return saved;
+    }
+
+    @Transactional
+    public void cancel(Long userId, Long entryId) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(entryId)
+                .filter(e -> e.getUserId().equals(userId))
+                .orElseThrow(() -> new RuntimeException("Waitlist entry not found with ID: " + entryId));
+        LocalDateTime now = LocalDateTime.now();
+        if (entry.getStatus() == WaitlistStatus.WAITING
+                && waitlistEntryRepository.transition(entryId, WaitlistStatus.WAITING, WaitlistStatus.CANCELLED, now) == 1) {
+            afterCommit(() -> dequeue(entry.getCategoryId(), entryId));
+        } else if (entry.getStatus() == WaitlistStatus.OFFERED
+                && waitlistEntryRepository.transition(entryId, WaitlistStatus.OFFERED, WaitlistStatus.CANCELLED, now) == 1) {
+            // Declined offer: the held car goes to the next user right away
+            passOn(entry.getCarId(), entry.getCategoryId());
+        } else {
+            throw new RuntimeException("Waitlist entry " + entryId + " is already " + entry.getStatus());
+        }
+    }
+
+    public List<WaitlistEntry> getUserEntries(Long userId) {
+        return waitlistEntryRepository.findByUserIdOrderByIdDesc(userId);
+    }
+
+    // 1-based position among the WAITING entries of the category, empty once offered or closed
+    public Optional<Integer> position(WaitlistEntry entry) {
+        if (entry.getStatus() != WaitlistStatus.WAITING) {
+            return Optional.empty();
+        }
+        long ahead = waitlistEntryRepository.countByCategoryIdAndStatusAndIdLessThan(
+                entry.getCategoryId(), WaitlistStatus.WAITING, entry.getId());
+        return Optional.of((int) ahead + 1);
+    }
+
+    // Called by BookingService inside the transaction that frees the car.
+    // Returns false when nobody is waiting in the category; the caller then makes the car AVAILABLE as usual.
+    public boolean offerReleasedCar(Long carId, Long categoryId) {
+        ConcurrentSkipListSet<Long> queue = queues.get(categoryId);
+        boolean waitingHere = queue != null && !queue.isEmpty();
+        // An empty local queue may still hide entries accepted by another node (or not reloaded yet)
+        if (!waitingHere && !waitlistEntryRepository.existsByCategoryIdAndStatus(categoryId, WaitlistStatus.WAITING)) {
+            return false;
+        }
+        if (!carService.holdForWaitlist(carId)) {
+            return false;
+        }
+        passOn(carId, categoryId);
+        return true;
+    }
+
+    // Booking a HELD car: only the user it is currently offered to, and only before the offer expires
+    public boolean claimOffer(Long userId, Long carId) {
+        return waitlistEntryRepository.claim(userId, carId, LocalDateTime.now()) == 1;
+    }
+
+    // Expired offers: close them and hand each car to the next user (or back to the market)
+    @Scheduled(fixedDelayString = "${app.waitlist.sweep-interval-ms:10000}")
+    public void expireOffers() {
+        List<WaitlistEntry> expired = waitlistEntryRepository.findByStatusAndOfferExpiresAtBefore(
+                WaitlistStatus.OFFERED, LocalDateTime.now());
+        for (WaitlistEntry entry : expired) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (waitlistEntryRepository.transition(entry.getId(), WaitlistStatus.OFFERED,
+                            WaitlistStatus.EXPIRED, LocalDateTime.now()) == 1) {
+                        log.info("Waitlist offer {} for car {} expired", entry.getId(), entry.getCarId());
+                        passOn(entry.getCarId(), entry.getCategoryId());
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.warn("Could not expire waitlist offer {}: {}", entry.getId(), e.getMessage());
+            }
+        }
+    }
+
+    // The car is HELD: offer it to the head of the queue in the table, or release it if nobody is waiting.
+    // A head cancelled or offered elsewhere since the read fails the guarded update; the next read skips it.
+    private void passOn(Long carId, Long categoryId) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusSeconds(offerTtlSeconds);
+        Optional<WaitlistEntry> head;
+        while ((head = waitlistEntryRepository.findFirstByCategoryIdAndStatusOrderByIdAsc(
+                categoryId, WaitlistStatus.WAITING)).isPresent()) {
+            WaitlistEntry entry = head.get();
+            if (waitlistEntryRepository.offer(entry.getId(), carId, expiresAt, now) == 1) {
+                offered(entry, carId, expiresAt);
+                afterCommit(() -> dequeue(categoryId, entry.getId()));
+                return;
+            }
+            dequeue(categoryId, entry.getId());
+        }
+        // Nobody is waiting: whatever the hint still holds is stale
+        afterCommit(() -> queues.remove(categoryId));
+        carService.releaseHold(carId);
+    }
+
+    private void offered(WaitlistEntry entry, Long carId, LocalDateTime expiresAt) {
+        log.info("Car {} offered to waitlist entry {} until {}", carId, entry.getId(), expiresAt);
+        outboxService.waitlistOffered(entry.getId(), entry.getUserId(), entry.getCategoryId(), carId, expiresAt);
+    }
+
+    private ConcurrentSkipListSet<Long> queueOf(Long categoryId) {
+        return queues.computeIfAbsent(categoryId, id -> new ConcurrentSkipListSet<>());
+    }
+
+    private void dequeue(Long categoryId, Long entryId) {
+        ConcurrentSkipListSet<Long> queue = queues.get(categoryId);
+        if (queue != null) {
+            queue.remove(entryId);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
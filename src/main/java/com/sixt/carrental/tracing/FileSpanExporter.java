@@ -0,0 +1,100 @@
+package com.sixt.carrental.tracing;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Local stand-in for a tracing backend: appends finished spans as NDJSON lines to a file.
+// Called by the SDK's batch processor on its own thread, never on a request thread.
+// Any other SpanExporter bean (e.g. Boot's OTLP exporter) receives the same spans.
+@Component
+@Slf4j
+public class FileSpanExporter implements SpanExporter {
+
+    private final boolean enabled;
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileSpanExporter(@Value("${app.tracing.file-exporter.enabled:false}") boolean enabled,
+                            @Value("${app.tracing.file-exporter.path:build/traces/spans.ndjson}") String path,
+                            ObjectMapper objectMapper) {
+        this.enabled = enabled;
+        this.path = Path.of(path);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        if (!enabled) {
+            return CompletableResultCode.ofSuccess();
+        }
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (SpanData span : spans) {
+                    writer.write(objectMapper.writeValueAsString(toMap(span)));
+                    writer.write('\n');
+                }
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Could not write {} spans to {}: {}", spans.size(), path, e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    private static Map<String, Object> toMap(SpanData span) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("traceId", span.getTraceId());
+        json.put("spanId", span.getSpanId());
+        json.put("parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+        json.put("name", span.getName());
+        json.put("kind", span.getKind().name());
+        json.put("startEpochNanos", span.getStartEpochNanos());
+        json.put("durationMicros", TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()));
+        json.put("status", span.getStatus().getStatusCode().name());
+        json.put("attributes", toMap(span.getAttributes()));
+        if (!span.getEvents().isEmpty()) {
+            json.put("events", span.getEvents().stream()
+                    .map(event -> Map.of("name", event.getName(), "attributes", toMap(event.getAttributes())))
+                    .toList());
+        }
+        return json;
+    }
+
+    private static Map<String, Object> toMap(Attributes attributes) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        attributes.forEach((key, value) -> json.put(key.getKey(), value));
+        return json;
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+}
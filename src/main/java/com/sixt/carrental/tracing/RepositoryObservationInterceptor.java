@@ -0,0 +1,39 @@
+package com.sixt.carrental.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.function.Supplier;
+
+// One "db.repository" span per repository method call, named e.g. CarRepository.transitionStatus.
+// The SQL it runs is attached by SqlSpanInspector.
+public class RepositoryObservationInterceptor implements MethodInterceptor {
+
+    private final Supplier<ObservationRegistry> observationRegistry;
+    private final String repository;
+
+    public RepositoryObservationInterceptor(Supplier<ObservationRegistry> observationRegistry, Class<?> repositoryInterface) {
+        this.observationRegistry = observationRegistry;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String method = invocation.getMethod().getName();
+        Observation observation = Observation.createNotStarted("db.repository", observationRegistry.get())
+                .contextualName(repository + "." + method)
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return invocation.proceed();
+        } catch (Throwable t) {
+            observation.error(t);
+            throw t;
+        } finally {
+            observation.stop();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.sixt.carrental.tracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+// Adds RepositoryObservationInterceptor to every Spring Data repository proxy as it is created.
+// The registry is looked up lazily: post-processors are instantiated before most other beans.
+@Component
+public class RepositoryTracingPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<ObservationRegistry> observationRegistry;
+
+    public RepositoryTracingPostProcessor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(new RepositoryObservationInterceptor(
+                            () -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP),
+                            repositoryInformation.getRepositoryInterface()))));
+        }
+        return bean;
+    }
+}
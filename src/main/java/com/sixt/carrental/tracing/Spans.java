@@ -0,0 +1,27 @@
+package com.sixt.carrental.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+// Child spans around the steps of a business operation (exported as OpenTelemetry spans,
+// also recorded as timers). Repository calls inside a step get their own spans.
+@Component
+public class Spans {
+
+    private final ObservationRegistry observationRegistry;
+
+    public Spans(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    public <T> T call(String name, Supplier<T> step) {
+        return Observation.createNotStarted(name, observationRegistry).observe(step);
+    }
+
+    public void run(String name, Runnable step) {
+        Observation.createNotStarted(name, observationRegistry).observe(step);
+    }
+}
@@ -0,0 +1,24 @@
+package com.sixt.carrental.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hibernate hook (spring.jpa.properties.hibernate.session_factory.statement_inspector): records each
+// statement on the current span, usually the repository span. Statements carry ? placeholders, never values.
+// Nothing is done for unsampled requests.
+public class SqlSpanInspector implements StatementInspector {
+
+    private static final AttributeKey<String> DB_QUERY_TEXT = AttributeKey.stringKey("db.query.text");
+
+    @Override
+    public String inspect(String sql) {
+        Span span = Span.current();
+        if (span.isRecording()) {
+            span.setAttribute(DB_QUERY_TEXT, sql); // last statement of the call
+            span.addEvent("db.query", Attributes.of(DB_QUERY_TEXT, sql));
+        }
+        return sql;
+    }
+}
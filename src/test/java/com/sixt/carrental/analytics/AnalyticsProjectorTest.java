@@ -0,0 +1,221 @@
+package com.sixt.carrental.analytics;
+
+import com.sixt.carrental.common.ClusterLock;
+import com.sixt.carrental.entity.AnalyticsCursor;
+import com.sixt.carrental.entity.OutboxEvent;
+import com.sixt.carrental.entity.OutboxEvent.AggregateType;
+import com.sixt.carrental.entity.OutboxEvent.EventType;
+import com.sixt.carrental.outbox.OutboxEventPublished;
+import com.sixt.carrental.repository.AnalyticsCursorRepository;
+import com.sixt.carrental.repository.ArchivedBookingRepository;
+import com.sixt.carrental.repository.BookingRepository;
+import com.sixt.carrental.repository.OutboxEventRepository;
+import com.sixt.carrental.repository.RevenueRollupRepository;
+import com.sixt.carrental.repository.UtilizationRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Analytics Projector Tests")
+class AnalyticsProjectorTest {
+
+    private static final String CONFIRMED_PAYLOAD = "{\"bookingId\":7,\"categoryId\":3,\"status\":\"CONFIRMED\"," +
+            "\"previousStatus\":\"PENDING\",\"durationMonths\":2,\"kmPackage\":1000,\"pricePerMonth\":26000.00," +
+            "\"totalAmount\":52000.00,\"startDate\":\"2025-01-15\",\"endDate\":\"2025-03-15\"}";
+
+    @Mock
+    private RevenueRollupRepository revenueRollupRepository;
+
+    @Mock
+    private UtilizationRollupRepository utilizationRollupRepository;
+
+    @Mock
+    private AnalyticsCursorRepository analyticsCursorRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private ClusterLock clusterLock;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private AnalyticsProjector projector;
+
+    @BeforeEach
+    void setUp() {
+        projector = new AnalyticsProjector(revenueRollupRepository, utilizationRollupRepository,
+                analyticsCursorRepository, bookingRepository, archivedBookingRepository, outboxEventRepository, clusterLock, transactionManager,
+                JsonMapper.builder().build(), true);
+    }
+
+    @Test
+    @DisplayName("Should book monthly fees per billing month and split car-days across calendar months")
+    void shouldSplitConfirmedSubscriptionAcrossMonths() {
+        // Given
+        when(analyticsCursorRepository.existsById(AnalyticsCursor.ROLLUPS)).thenReturn(true);
+        when(outboxEventRepository.markProjected(eq(11L), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        projector.on(event(11L, EventType.BOOKING_CONFIRMED, CONFIRMED_PAYLOAD));
+
+        // Then - Jan 15 .. Mar 15: two fees, car-days 17 + 28 + 14
+        BigDecimal fee = new BigDecimal("26000.00");
+        verify(revenueRollupRepository).add(LocalDate.of(2025, 1, 1), 3L, 1000, fee, 1, 0);
+        verify(revenueRollupRepository).add(LocalDate.of(2025, 2, 1), 3L, 1000, fee, 0, 0);
+        verify(utilizationRollupRepository).add(LocalDate.of(2025, 1, 1), 3L, 17L);
+        verify(utilizationRollupRepository).add(LocalDate.of(2025, 2, 1), 3L, 28L);
+        verify(utilizationRollupRepository).add(LocalDate.of(2025, 3, 1), 3L, 14L);
+    }
+
+    @Test
+    @DisplayName("Should reverse a cancelled confirmation but ignore a cancelled request")
+    void shouldReverseOnlyConfirmedCancellations() {
+        // Given
+        when(analyticsCursorRepository.existsById(AnalyticsCursor.ROLLUPS)).thenReturn(true);
+        when(outboxEventRepository.markProjected(anyLong(), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        projector.on(event(11L, EventType.BOOKING_CANCELLED, CONFIRMED_PAYLOAD
+                .replace("\"previousStatus\":\"PENDING\"", "\"previousStatus\":\"CONFIRMED\"")));
+        projector.on(event(12L, EventType.BOOKING_CANCELLED, CONFIRMED_PAYLOAD));
+
+        // Then
+        BigDecimal reversed = new BigDecimal("-26000.00");
+        verify(revenueRollupRepository).add(LocalDate.of(2025, 1, 1), 3L, 1000, reversed, -1, 1);
+        verify(revenueRollupRepository).add(LocalDate.of(2025, 2, 1), 3L, 1000, reversed, 0, 0);
+        verify(utilizationRollupRepository).add(LocalDate.of(2025, 1, 1), 3L, -17L);
+        verify(revenueRollupRepository, times(2)).add(any(), any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should skip events that were already projected (relay re-delivery)")
+    void shouldSkipAlreadyAppliedEvents() {
+        // Given
+        when(analyticsCursorRepository.existsById(AnalyticsCursor.ROLLUPS)).thenReturn(true);
+        when(outboxEventRepository.markProjected(eq(10L), any(LocalDateTime.class))).thenReturn(0);
+
+        // When
+        projector.on(event(10L, EventType.BOOKING_CONFIRMED, CONFIRMED_PAYLOAD));
+
+        // Then
+        verifyNoInteractions(revenueRollupRepository, utilizationRollupRepository);
+    }
+
+    @Test
+    @DisplayName("Should apply a lower event ID that commits after a higher one")
+    void shouldApplyLateLowerId() {
+        // Given - IDENTITY handed out 11 before 12, but 12's transaction committed (and was relayed) first
+        when(analyticsCursorRepository.existsById(AnalyticsCursor.ROLLUPS)).thenReturn(true);
+        when(outboxEventRepository.markProjected(anyLong(), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        projector.on(event(12L, EventType.BOOKING_CONFIRMED, CONFIRMED_PAYLOAD));
+        projector.on(event(11L, EventType.BOOKING_CONFIRMED, CONFIRMED_PAYLOAD.replace("2025-01-15", "2025-06-01")));
+
+        // Then - both subscriptions counted
+        BigDecimal fee = new BigDecimal("26000.00");
+        verify(revenueRollupRepository).add(LocalDate.of(2025, 1, 1), 3L, 1000, fee, 1, 0);
+        verify(revenueRollupRepository).add(LocalDate.of(2025, 6, 1), 3L, 1000, fee, 1, 0);
+        verify(outboxEventRepository).markProjected(eq(11L), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should leave events unclaimed until the rollups are backfilled")
+    void shouldNotClaimBeforeBackfill() {
+        // Given
+        when(analyticsCursorRepository.existsById(AnalyticsCursor.ROLLUPS)).thenReturn(false);
+
+        // When
+        projector.on(event(11L, EventType.BOOKING_CONFIRMED, CONFIRMED_PAYLOAD));
+
+        // Then
+        verify(outboxEventRepository, never()).markProjected(anyLong(), any());
+        verifyNoInteractions(revenueRollupRepository, utilizationRollupRepository);
+    }
+
+    @Test
+    @DisplayName("Should backfill in one repeatable-read snapshot, then project events relayed meanwhile")
+    void shouldBackfillThenCatchUp() {
+        // Given
+        when(analyticsCursorRepository.existsById(AnalyticsCursor.ROLLUPS)).thenReturn(false);
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(transactionStatus);
+        when(clusterLock.tryLock("analytics-backfill")).thenReturn(true);
+        when(outboxEventRepository.findMaxId()).thenReturn(20L);
+        when(bookingRepository.streamFactsByStatusIn(any())).thenReturn(Stream.of(
+                new BookingFacts(3L, 1000, new BigDecimal("26000.00"), LocalDate.of(2025, 1, 1), 1)));
+        when(archivedBookingRepository.streamFactsByStatusIn(any())).thenReturn(Stream.empty());
+        OutboxEvent relayedDuringBackfill = new OutboxEvent();
+        relayedDuringBackfill.setId(19L);
+        relayedDuringBackfill.setEventType(EventType.BOOKING_CONFIRMED);
+        relayedDuringBackfill.setPayload(CONFIRMED_PAYLOAD.replace("2025-01-15", "2025-06-01"));
+        when(outboxEventRepository.findByProjectedAtIsNullAndPublishedAtIsNotNullOrderByIdAsc())
+                .thenReturn(List.of(relayedDuringBackfill));
+        when(outboxEventRepository.markProjected(eq(19L), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        projector.backfillIfEmpty();
+
+        // Then - the snapshot marks everything it saw, the late event is projected on its own
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(2)).getTransaction(definitions.capture());
+        assertEquals(TransactionDefinition.ISOLATION_REPEATABLE_READ, definitions.getAllValues().get(0).getIsolationLevel());
+        verify(outboxEventRepository).markAllProjected(any(LocalDateTime.class));
+        verify(analyticsCursorRepository).save(argThat(cursor -> cursor.getLastEventId() == 20L));
+        BigDecimal fee = new BigDecimal("26000.00");
+        verify(revenueRollupRepository).add(LocalDate.of(2025, 1, 1), 3L, 1000, fee, 1, 0);
+        verify(revenueRollupRepository).add(LocalDate.of(2025, 6, 1), 3L, 1000, fee, 1, 0);
+        verify(transactionManager, times(2)).commit(transactionStatus);
+    }
+
+    @Test
+    @DisplayName("Should not seed the rollups while another node is backfilling")
+    void shouldSkipBackfillWithoutLock() {
+        // Given
+        when(analyticsCursorRepository.existsById(AnalyticsCursor.ROLLUPS)).thenReturn(false);
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(transactionStatus);
+        when(clusterLock.tryLock("analytics-backfill")).thenReturn(false);
+        when(outboxEventRepository.findByProjectedAtIsNullAndPublishedAtIsNotNullOrderByIdAsc()).thenReturn(List.of());
+
+        // When
+        projector.backfillIfEmpty();
+
+        // Then
+        verify(outboxEventRepository, never()).markAllProjected(any());
+        verify(analyticsCursorRepository, never()).save(any());
+        verifyNoInteractions(bookingRepository, archivedBookingRepository, revenueRollupRepository);
+    }
+
+    private static OutboxEventPublished event(Long id, EventType type, String payload) {
+        return new OutboxEventPublished(id, AggregateType.BOOKING, 7L, type, payload, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,194 @@
+package com.sixt.carrental.cache;
+
+import com.sixt.carrental.config.CatalogCacheFilter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Catalog Cache Filter Tests")
+class CatalogCacheFilterTest {
+
+    private static final String BODY = "{\"success\":true,\"data\":[{\"id\":1,\"brand\":\"BMW\",\"model\":\"X5\"}]}";
+    private static final String CBOR = "application/cbor";
+    private static final String SMILE = "application/x-jackson-smile";
+
+    private CatalogVersion catalogVersion;
+    private CatalogCacheFilter filter;
+    private AtomicInteger controllerCalls;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersion = new CatalogVersion(mock(InvalidationPublisher.class));
+        filter = new CatalogCacheFilter(new CatalogResponseCache(catalogVersion, 100, 16));
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        controllerCalls = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated catalog GET without calling the controller")
+    void shouldServeFromCache() throws Exception {
+        // Given
+        MockHttpServletResponse first = get("/api/cars", null, HttpServletResponse.SC_OK);
+
+        // When
+        MockHttpServletResponse second = get("/api/cars", null, HttpServletResponse.SC_OK);
+
+        // Then
+        assertEquals(1, controllerCalls.get());
+        assertEquals(BODY, first.getContentAsString());
+        assertEquals(BODY, second.getContentAsString());
+        assertNull(second.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    @DisplayName("Should answer gzip-capable clients with the compressed body")
+    void shouldServeGzipWhenAccepted() throws Exception {
+        // Given
+        get("/api/cars", null, HttpServletResponse.SC_OK);
+
+        // When
+        MockHttpServletResponse gzipped = get("/api/cars", "gzip, deflate", HttpServletResponse.SC_OK);
+
+        // Then
+        assertEquals("gzip", gzipped.getHeader(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertEquals(BODY, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Should not cache non-200 responses")
+    void shouldNotCacheErrors() throws Exception {
+        // Given
+        get("/api/cars/999", null, HttpServletResponse.SC_NOT_FOUND);
+
+        // When
+        MockHttpServletResponse retry = get("/api/cars/999", null, HttpServletResponse.SC_NOT_FOUND);
+
+        // Then
+        assertEquals(2, controllerCalls.get());
+        assertEquals(HttpServletResponse.SC_NOT_FOUND, retry.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache for dynamic quotes")
+    void shouldBypassQuotePath() throws Exception {
+        // When
+        get("/api/pricing/quote", null, HttpServletResponse.SC_OK);
+        get("/api/pricing/quote", null, HttpServletResponse.SC_OK);
+
+        // Then
+        assertEquals(2, controllerCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should rebuild the response after a catalog write")
+    void shouldMissAfterVersionBump() throws Exception {
+        // Given
+        get("/api/categories", null, HttpServletResponse.SC_OK);
+
+        // When
+        catalogVersion.bump();
+        get("/api/categories", null, HttpServletResponse.SC_OK);
+
+        // Then
+        assertEquals(2, controllerCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should store a body under the format the controller produced, not the one the client listed first")
+    void shouldNotServeCborToJsonClients() throws Exception {
+        // Given - CBOR preferred by q-value, so the controller renders CBOR although JSON is in the header
+        MockHttpServletResponse cbor = negotiate("application/cbor, application/json;q=0.1", CBOR);
+        assertEquals(CBOR, cbor.getContentType());
+
+        // When
+        MockHttpServletResponse json = negotiate(null, "application/json");
+        MockHttpServletResponse jsonAgain = negotiate("application/json", "application/json");
+
+        // Then - the JSON clients missed the CBOR entry and share their own
+        assertEquals(2, controllerCalls.get());
+        assertEquals("application/json", json.getContentType());
+        assertEquals("application/json", jsonAgain.getContentType());
+    }
+
+    @Test
+    @DisplayName("Should pick the cached format by q-value, specificity and header order")
+    void shouldRankAcceptByQuality() throws Exception {
+        // Given - one rendering per format
+        negotiate(null, "application/json");
+        negotiate(CBOR, CBOR);
+        negotiate(SMILE, SMILE);
+
+        // When & Then - all hits
+        assertEquals(SMILE, negotiate("application/json;q=0.5, application/x-jackson-smile;q=0.9", "unused").getContentType());
+        assertEquals(CBOR, negotiate("application/json;q=0.5, application/cbor", "unused").getContentType());
+        assertEquals(CBOR, negotiate("*/*;q=0.8, application/cbor", "unused").getContentType());
+        assertEquals(CBOR, negotiate("application/cbor, application/json", "unused").getContentType());
+        assertEquals("application/json", negotiate("*/*", "unused").getContentType());
+        assertEquals("application/json", negotiate("application/*;q=0.9, text/html", "unused").getContentType());
+        assertEquals(SMILE, negotiate("application/json;q=0, application/cbor;q=0, */*", "unused").getContentType());
+        assertEquals(3, controllerCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache when the client accepts none of the cached formats")
+    void shouldBypassUnacceptableFormats() throws Exception {
+        // When
+        negotiate("text/html", "text/html");
+        negotiate("text/html", "text/html");
+        negotiate("not a media type", "application/json");
+
+        // Then
+        assertEquals(3, controllerCalls.get());
+    }
+
+    // Stand-in controller that renders BODY as the given content type (what the negotiated converter would write)
+    private MockHttpServletResponse negotiate(String accept, String producedType) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cars");
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            controllerCalls.incrementAndGet();
+            HttpServletResponse http = (HttpServletResponse) res;
+            http.setStatus(HttpServletResponse.SC_OK);
+            http.setContentType(producedType);
+            http.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+        });
+        return response;
+    }
+
+    // Runs the filter with a stand-in controller that renders BODY with the given status
+    private MockHttpServletResponse get(String uri, String acceptEncoding, int status) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            controllerCalls.incrementAndGet();
+            HttpServletResponse http = (HttpServletResponse) res;
+            http.setStatus(status);
+            http.setContentType("application/json");
+            http.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+        });
+        return response;
+    }
+}
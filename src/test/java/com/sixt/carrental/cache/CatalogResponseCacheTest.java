@@ -0,0 +1,93 @@
+package com.sixt.carrental.cache;
+
+import com.sixt.carrental.cache.CatalogResponseCache.CachedBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Catalog Response Cache Tests")
+class CatalogResponseCacheTest {
+
+    private static final byte[] BODY = "{\"success\":true,\"data\":[]}".getBytes(StandardCharsets.UTF_8);
+
+    private CatalogVersion catalogVersion;
+    private CatalogResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersion = new CatalogVersion(mock(InvalidationPublisher.class));
+        cache = new CatalogResponseCache(catalogVersion, 2, 16);
+    }
+
+    @Test
+    @DisplayName("Should serve a stored body until the catalog version changes")
+    void shouldDropEntriesOnVersionBump() {
+        // Given
+        cache.put("json:/api/cars", cache.currentVersion(), "application/json", BODY);
+        assertNotNull(cache.get("json:/api/cars"));
+
+        // When
+        catalogVersion.bump();
+
+        // Then
+        assertNull(cache.get("json:/api/cars"));
+    }
+
+    @Test
+    @DisplayName("Should skip a body built before a concurrent version bump")
+    void shouldSkipPutAfterVersionBump() {
+        // Given - the filter captured the version, then a catalog write committed
+        long versionBeforeRender = cache.currentVersion();
+        catalogVersion.bump();
+
+        // When
+        cache.put("json:/api/cars", versionBeforeRender, "application/json", BODY);
+
+        // Then
+        assertNull(cache.get("json:/api/cars"));
+    }
+
+    @Test
+    @DisplayName("Should stop storing new keys once the entry bound is reached")
+    void shouldBoundEntries() {
+        // Given
+        long version = cache.currentVersion();
+        cache.put("json:/api/cars", version, "application/json", BODY);
+        cache.put("json:/api/categories", version, "application/json", BODY);
+
+        // When
+        cache.put("json:/api/pricing", version, "application/json", BODY);
+
+        // Then
+        assertNull(cache.get("json:/api/pricing"));
+        assertNotNull(cache.get("json:/api/cars"));
+    }
+
+    @Test
+    @DisplayName("Should gzip large bodies once and keep small bodies identity-only")
+    void shouldCompressOnlyLargeBodies() throws Exception {
+        // Given
+        long version = cache.currentVersion();
+        cache.put("big", version, "application/json", BODY);
+        cache.put("small", version, "application/json", "{}".getBytes(StandardCharsets.UTF_8));
+        CachedBody big = cache.get("big");
+
+        // When
+        byte[] gzip = big.getGzip();
+
+        // Then
+        assertTrue(big.isCompressible());
+        assertFalse(cache.get("small").isCompressible());
+        assertSame(gzip, big.getGzip());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertArrayEquals(BODY, in.readAllBytes());
+        }
+    }
+}
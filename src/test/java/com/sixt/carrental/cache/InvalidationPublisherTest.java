@@ -0,0 +1,72 @@
+package com.sixt.carrental.cache;
+
+import com.sixt.carrental.cache.Invalidation.Topic;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Cache Invalidation Publisher Tests")
+class InvalidationPublisherTest {
+
+    private final BlockingQueue<Invalidation> sent = new LinkedBlockingQueue<>();
+
+    private InvalidationPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new InvalidationPublisher(new InvalidationBus() {
+            @Override
+            public void send(List<Invalidation> batch) {
+                sent.addAll(batch);
+            }
+
+            @Override
+            public void subscribe(Consumer<Invalidation> receiver, Runnable onResync) {
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should number invalidations in order and repeat the latest sequence in a heartbeat")
+    void shouldHeartbeatLatestSequence() throws InterruptedException {
+        // When - no transaction, so both go out immediately
+        publisher.publish(Topic.CAR, 7L);
+        publisher.publish(Topic.USER, 3L);
+        publisher.heartbeat();
+
+        // Then
+        assertEquals(new Invalidation(publisher.origin(), 1, Topic.CAR, 7L), next());
+        assertEquals(new Invalidation(publisher.origin(), 2, Topic.USER, 3L), next());
+        assertEquals(new Invalidation(publisher.origin(), 2, Topic.HEARTBEAT, null), next());
+    }
+
+    @Test
+    @DisplayName("Should send a heartbeat with sequence zero before anything was published")
+    void shouldHeartbeatBeforeFirstInvalidation() throws InterruptedException {
+        // When
+        publisher.heartbeat();
+
+        // Then
+        assertEquals(new Invalidation(publisher.origin(), 0, Topic.HEARTBEAT, null), next());
+    }
+
+    private Invalidation next() throws InterruptedException {
+        Invalidation invalidation = sent.poll(5, TimeUnit.SECONDS);
+        assertNotNull(invalidation, "nothing was broadcast");
+        return invalidation;
+    }
+}
@@ -0,0 +1,157 @@
+package com.sixt.carrental.cache;
+
+import com.sixt.carrental.cache.Invalidation.Topic;
+import com.sixt.carrental.notification.StatusStreamRegistry;
+import com.sixt.carrental.search.CarSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Cache Invalidation Receiver Tests")
+class InvalidationReceiverTest {
+
+    @Mock
+    private InvalidationPublisher publisher;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private CarSearchIndex carSearchIndex;
+
+    @Mock
+    private StatusStreamRegistry statusStreamRegistry;
+
+    private InvalidationReceiver receiver;
+
+    @BeforeEach
+    void setUp() {
+        receiver = new InvalidationReceiver(new LocalInvalidationBus(), publisher, catalogVersion, userCache, carSearchIndex, statusStreamRegistry);
+        lenient().when(publisher.origin()).thenReturn("self");
+    }
+
+    @Test
+    @DisplayName("Should apply invalidations from other nodes to the matching cache")
+    void shouldApplyRemoteInvalidations() {
+        // When
+        receiver.receive(new Invalidation("node-b", 1, Topic.CATALOG, null));
+        receiver.receive(new Invalidation("node-b", 2, Topic.CAR, 7L));
+        receiver.receive(new Invalidation("node-b", 3, Topic.USER, 3L));
+        receiver.receive(new Invalidation("node-b", 4, Topic.STATUS, 42L));
+
+        // Then
+        verify(catalogVersion).bumpLocal();
+        verify(carSearchIndex).refreshCar(7L);
+        verify(userCache).evictLocal(3L);
+        verify(statusStreamRegistry).onRemoteStatusChange(42L);
+        verify(carSearchIndex, never()).rebuild();
+    }
+
+    @Test
+    @DisplayName("Should ignore its own and duplicate invalidations")
+    void shouldIgnoreOwnAndDuplicates() {
+        // When
+        receiver.receive(new Invalidation("self", 1, Topic.CAR, 7L));
+        receiver.receive(new Invalidation("node-b", 5, Topic.CAR, 8L));
+        receiver.receive(new Invalidation("node-b", 5, Topic.CAR, 8L));
+        receiver.receive(new Invalidation("node-b", 4, Topic.CAR, 9L));
+
+        // Then
+        verify(carSearchIndex, never()).refreshCar(7L);
+        verify(carSearchIndex, times(1)).refreshCar(8L);
+        verify(carSearchIndex, never()).refreshCar(9L);
+    }
+
+    @Test
+    @DisplayName("Should flush every cache when a sequence gap shows lost messages")
+    void shouldFlushOnGap() {
+        // Given
+        receiver.receive(new Invalidation("node-b", 1, Topic.CAR, 7L));
+
+        // When - 2 and 3 never arrived
+        receiver.receive(new Invalidation("node-b", 4, Topic.CAR, 8L));
+
+        // Then
+        verify(catalogVersion).bumpLocal();
+        verify(userCache).clear();
+        verify(carSearchIndex).rebuild();
+
+        // And the sequence continues from 4
+        receiver.receive(new Invalidation("node-b", 5, Topic.CATEGORY, 2L));
+        verify(carSearchIndex).refreshCategory(2L);
+    }
+
+    @Test
+    @DisplayName("Should flush every cache when a heartbeat is ahead of the last sequence seen")
+    void shouldFlushOnHeartbeatAhead() {
+        // Given
+        receiver.receive(new Invalidation("node-b", 1, Topic.CAR, 7L));
+
+        // When - 2 was lost and node-b has had nothing to send since
+        receiver.receive(new Invalidation("node-b", 2, Topic.HEARTBEAT, null));
+
+        // Then
+        verify(catalogVersion).bumpLocal();
+        verify(userCache).clear();
+        verify(carSearchIndex).rebuild();
+
+        // And the sequence continues from 2
+        receiver.receive(new Invalidation("node-b", 3, Topic.CATEGORY, 2L));
+        verify(carSearchIndex).refreshCategory(2L);
+        verify(carSearchIndex, times(1)).rebuild();
+    }
+
+    @Test
+    @DisplayName("Should not flush on a heartbeat that matches the last sequence seen")
+    void shouldIgnoreHeartbeatInStep() {
+        // Given
+        receiver.receive(new Invalidation("node-b", 1, Topic.CAR, 7L));
+
+        // When
+        receiver.receive(new Invalidation("node-b", 1, Topic.HEARTBEAT, null));
+        receiver.receive(new Invalidation("node-b", 2, Topic.CAR, 8L));
+
+        // Then
+        verify(carSearchIndex).refreshCar(8L);
+        verify(carSearchIndex, never()).rebuild();
+        verifyNoInteractions(userCache);
+    }
+
+    @Test
+    @DisplayName("Should take a first heartbeat as the baseline for a new node")
+    void shouldStartFromFirstHeartbeat() {
+        // Given - nothing seen from node-b yet
+        receiver.receive(new Invalidation("node-b", 4, Topic.HEARTBEAT, null));
+        verify(carSearchIndex, never()).rebuild();
+
+        // When - 5 was lost
+        receiver.receive(new Invalidation("node-b", 6, Topic.CAR, 7L));
+
+        // Then
+        verify(carSearchIndex).rebuild();
+        verify(carSearchIndex, never()).refreshCar(7L);
+    }
+
+    @Test
+    @DisplayName("Should round-trip the wire format")
+    void shouldEncodeAndDecode() {
+        Invalidation car = new Invalidation("a1b2", 42, Topic.CAR, 7L);
+        Invalidation catalog = new Invalidation("a1b2", 43, Topic.CATALOG, null);
+        Invalidation heartbeat = new Invalidation("a1b2", 43, Topic.HEARTBEAT, null);
+
+        assertEquals(car, Invalidation.decode(car.encode()));
+        assertEquals(catalog, Invalidation.decode(catalog.encode()));
+        assertEquals(heartbeat, Invalidation.decode(heartbeat.encode()));
+        assertThrows(IllegalArgumentException.class, () -> Invalidation.decode("garbage"));
+    }
+}
@@ -0,0 +1,161 @@
+package com.sixt.carrental.cache;
+
+import com.sixt.carrental.cache.Invalidation.Topic;
+import com.sixt.carrental.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User Cache Tests")
+class UserCacheTest {
+
+    @Mock
+    private InvalidationPublisher invalidationPublisher;
+
+    private UserCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserCache(true, 60, 2, invalidationPublisher);
+    }
+
+    @Test
+    @DisplayName("Should return copies so callers can't change the cached user")
+    void shouldReturnCopies() {
+        // Given
+        cache.put(user(1L, "anna@example.com"));
+
+        // When
+        User first = cache.getById(1L).orElseThrow();
+        first.setFirstName("Changed");
+
+        // Then
+        User second = cache.getById(1L).orElseThrow();
+        assertNotSame(first, second);
+        assertEquals("Anna", second.getFirstName());
+    }
+
+    @Test
+    @DisplayName("Should expire entries after the TTL")
+    void shouldExpireAfterTtl() throws Exception {
+        // Given
+        UserCache shortLived = new UserCache(true, 0, 10, invalidationPublisher);
+        shortLived.put(user(1L, "anna@example.com"));
+
+        // When
+        Thread.sleep(5);
+
+        // Then - both lookups miss and the expired entry is dropped
+        assertTrue(shortLived.getByEmail("anna@example.com").isEmpty());
+        assertTrue(shortLived.getById(1L).isEmpty());
+        assertEquals(0, shortLived.size());
+    }
+
+    @Test
+    @DisplayName("Should not grow past the size bound but still refresh cached users")
+    void shouldBoundSize() {
+        // Given
+        cache.put(user(1L, "anna@example.com"));
+        cache.put(user(2L, "ben@example.com"));
+
+        // When
+        cache.put(user(3L, "cara@example.com"));
+        cache.put(user(2L, "ben.new@example.com"));
+
+        // Then
+        assertEquals(2, cache.size());
+        assertTrue(cache.getById(3L).isEmpty());
+        assertEquals("ben.new@example.com", cache.getById(2L).orElseThrow().getEmail());
+    }
+
+    @Test
+    @DisplayName("Should re-key the email index when a user's email changes")
+    void shouldRekeyEmailOnChange() {
+        // Given
+        cache.put(user(1L, "anna@example.com"));
+
+        // When
+        cache.put(user(1L, "anna.new@example.com"));
+
+        // Then
+        assertTrue(cache.getByEmail("anna@example.com").isEmpty());
+        assertEquals(1L, cache.getByEmail("anna.new@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Should not serve a user under an email that now belongs to someone else")
+    void shouldIgnoreStaleEmailIndex() {
+        // Given - user 1 gave up the address, user 2 took it, and user 1's entry was refreshed
+        cache.put(user(1L, "shared@example.com"));
+        cache.put(user(2L, "shared@example.com"));
+
+        // When
+        cache.put(user(1L, "anna@example.com"));
+
+        // Then
+        assertEquals(2L, cache.getByEmail("shared@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Should drop both index entries on evict and broadcast it")
+    void shouldEvictAndBroadcast() {
+        // Given
+        cache.put(user(1L, "anna@example.com"));
+
+        // When
+        cache.evict(1L);
+
+        // Then
+        assertTrue(cache.getById(1L).isEmpty());
+        assertTrue(cache.getByEmail("anna@example.com").isEmpty());
+        verify(invalidationPublisher).publish(Topic.USER, 1L);
+    }
+
+    @Test
+    @DisplayName("Should evict without broadcasting when another node sent the invalidation")
+    void shouldEvictLocallyOnRemoteInvalidation() {
+        // Given
+        cache.put(user(1L, "anna@example.com"));
+
+        // When
+        cache.evictLocal(1L);
+
+        // Then
+        assertTrue(cache.getById(1L).isEmpty());
+        verify(invalidationPublisher, never()).publish(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should neither store nor broadcast when disabled")
+    void shouldDoNothingWhenDisabled() {
+        // Given
+        UserCache disabled = new UserCache(false, 60, 10, invalidationPublisher);
+
+        // When
+        disabled.put(user(1L, "anna@example.com"));
+        disabled.evict(1L);
+
+        // Then
+        assertTrue(disabled.getById(1L).isEmpty());
+        verifyNoInteractions(invalidationPublisher);
+    }
+
+    private static User user(Long id, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setPassword("$2a$12$hash");
+        user.setFirstName("Anna");
+        user.setLastName("Schmidt");
+        user.setRole(User.UserRole.CUSTOMER);
+        return user;
+    }
+}
@@ -0,0 +1,49 @@
+package com.sixt.carrental.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Money Tests - Fixed-point quote arithmetic")
+class MoneyTest {
+
+    @Test
+    @DisplayName("Should multiply monthly price by duration")
+    void shouldMultiplyMonthlyPrice() {
+        Money total = Money.of(new BigDecimal("26000.00")).times(3);
+
+        assertEquals(7_800_000L, total.getMinorUnits());
+        assertEquals(new BigDecimal("78000.00"), total.toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("Should keep cents when converting from BigDecimal")
+    void shouldKeepCents() {
+        assertEquals(12_345L, Money.of(new BigDecimal("123.45")).getMinorUnits());
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1.005")));
+    }
+
+    @Test
+    @DisplayName("Should serialize as a plain JSON number")
+    void shouldSerializeAsJsonNumber() {
+        JsonMapper mapper = JsonMapper.builder().build();
+
+        assertEquals("78000.00", mapper.writeValueAsString(Money.ofMinor(7_800_000L)));
+        assertEquals("-0.05", mapper.writeValueAsString(Money.ofMinor(-5L)));
+        assertEquals("0.00", mapper.writeValueAsString(Money.ofMinor(0L)));
+    }
+
+    @Test
+    @DisplayName("Should reject mixing currencies")
+    void shouldRejectCurrencyMismatch() {
+        Money inr = Money.ofMinor(100L);
+        Money eur = Money.ofMinor(100L, Currency.getInstance("EUR"));
+
+        assertThrows(IllegalArgumentException.class, () -> inr.plus(eur));
+    }
+}
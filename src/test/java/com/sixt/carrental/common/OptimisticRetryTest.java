@@ -0,0 +1,122 @@
+package com.sixt.carrental.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Optimistic Retry Tests")
+class OptimisticRetryTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private AtomicInteger attempts;
+
+    @BeforeEach
+    void setUp() {
+        attempts = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    @DisplayName("Should retry a version conflict in a fresh transaction until it succeeds")
+    void shouldRetryUntilSuccess() {
+        // Given
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(transactionStatus);
+        OptimisticRetry retry = new OptimisticRetry(transactionManager, 4, 0);
+
+        // When
+        String result = retry.inTransaction(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw conflict();
+            }
+            return "saved";
+        });
+
+        // Then - two rollbacks, one commit
+        assertEquals("saved", result);
+        assertEquals(3, attempts.get());
+        verify(transactionManager, times(2)).rollback(transactionStatus);
+        verify(transactionManager, times(1)).commit(transactionStatus);
+    }
+
+    @Test
+    @DisplayName("Should give up after the configured number of attempts")
+    void shouldStopAtMaxAttempts() {
+        // Given
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(transactionStatus);
+        OptimisticRetry retry = new OptimisticRetry(transactionManager, 3, 0);
+
+        // When
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> retry.inTransaction(() -> {
+            attempts.incrementAndGet();
+            throw conflict();
+        }));
+
+        // Then
+        assertEquals(3, attempts.get());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should run once and not retry when joining an outer transaction")
+    void shouldNotRetryInsideOuterTransaction() {
+        // Given
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        OptimisticRetry retry = new OptimisticRetry(transactionManager, 4, 0);
+
+        // When
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> retry.inTransaction(() -> {
+            attempts.incrementAndGet();
+            throw conflict();
+        }));
+
+        // Then
+        assertEquals(1, attempts.get());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should draw backoff uniformly below an exponentially growing, capped ceiling")
+    void shouldJitterWithinRange() {
+        // Given
+        OptimisticRetry retry = new OptimisticRetry(transactionManager, 4, 10);
+
+        // When & Then
+        for (int i = 0; i < 1_000; i++) {
+            long first = retry.backoffMillis(1);
+            long third = retry.backoffMillis(3);
+            long late = retry.backoffMillis(40);
+            assertTrue(first >= 0 && first <= 10, "attempt 1: " + first);
+            assertTrue(third >= 0 && third <= 40, "attempt 3: " + third);
+            assertTrue(late >= 0 && late <= 10L << 10, "attempt 40: " + late);
+        }
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException("Car", 1L);
+    }
+}
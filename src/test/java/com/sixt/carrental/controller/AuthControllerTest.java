@@ -0,0 +1,61 @@
+package com.sixt.carrental.controller;
+
+import com.sixt.carrental.config.JwtTokenProvider;
+import com.sixt.carrental.dto.request.LoginRequest;
+import com.sixt.carrental.dto.response.ApiResponse;
+import com.sixt.carrental.entity.User;
+import com.sixt.carrental.service.PasswordHashingService.HashingBusyException;
+import com.sixt.carrental.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Auth Controller Tests")
+class AuthControllerTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @InjectMocks
+    private AuthController authController;
+
+    @Test
+    @DisplayName("Should answer 503 with Retry-After when the hashing pool is saturated")
+    void shouldReturnServiceUnavailableWhenHashingIsBusy() {
+        // Given
+        User user = new User();
+        user.setEmail("test@example.com");
+        user.setPassword("$2a$10$hash");
+        when(userService.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(userService.verifyPassword(any(User.class), anyString())).thenThrow(new HashingBusyException());
+        LoginRequest request = new LoginRequest();
+        request.setEmail("test@example.com");
+        request.setPassword("password123");
+
+        // When
+        ResponseEntity<ApiResponse> response = authController.login(request);
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertFalse(response.getBody().getSuccess());
+        verifyNoInteractions(jwtTokenProvider);
+    }
+}
@@ -0,0 +1,74 @@
+package com.sixt.carrental.controller;
+
+import com.sixt.carrental.config.JwtAuthenticationFilter;
+import com.sixt.carrental.notification.StatusStreamRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Event Stream Controller Tests")
+class EventStreamControllerTest {
+
+    @Mock
+    private StatusStreamRegistry statusStreamRegistry;
+
+    @InjectMocks
+    private EventStreamController eventStreamController;
+
+    @Test
+    @DisplayName("Should open a stream for the authenticated user")
+    void shouldSubscribeAuthenticatedUser() {
+        // Given
+        SseEmitter emitter = new SseEmitter();
+        when(statusStreamRegistry.subscribe(1L)).thenReturn(emitter);
+
+        // When
+        SseEmitter result = eventStreamController.stream(authenticated(1L));
+
+        // Then
+        assertSame(emitter, result);
+    }
+
+    @Test
+    @DisplayName("Should answer 401 without an authenticated user")
+    void shouldRejectAnonymous() {
+        // When
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> eventStreamController.stream(new MockHttpServletRequest()));
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, e.getStatusCode());
+        verifyNoInteractions(statusStreamRegistry);
+    }
+
+    @Test
+    @DisplayName("Should answer 429 when the user is over the stream cap")
+    void shouldRejectOverCap() {
+        // Given
+        when(statusStreamRegistry.subscribe(1L)).thenThrow(new IllegalStateException("Too many open event streams for user 1"));
+
+        // When
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> eventStreamController.stream(authenticated(1L)));
+
+        // Then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatusCode());
+    }
+
+    private MockHttpServletRequest authenticated(Long userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events/stream");
+        request.setAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE, userId);
+        return request;
+    }
+}
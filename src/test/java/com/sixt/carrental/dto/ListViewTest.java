@@ -0,0 +1,214 @@
+package com.sixt.carrental.dto;
+
+import com.sixt.carrental.config.WebFormatConfig;
+import com.sixt.carrental.dto.response.BookingSummary;
+import com.sixt.carrental.dto.response.CarSummary;
+import com.sixt.carrental.entity.Booking;
+import com.sixt.carrental.entity.Car;
+import com.sixt.carrental.entity.Category;
+import com.sixt.carrental.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@DisplayName("List View Tests")
+class ListViewTest {
+
+    private static final String CBOR = "application/cbor";
+    private static final String SMILE = "application/x-jackson-smile";
+
+    private final ObjectMapper json = JsonMapper.builder().build();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        // Same converter set the application registers: defaults plus WebFormatConfig's binary formats
+        HttpMessageConverters.ServerBuilder builder = HttpMessageConverters.forServer().registerDefaults();
+        new WebFormatConfig().configureMessageConverters(builder);
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        builder.build().forEach(converters::add);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new SummaryController())
+                .setMessageConverters(converters.toArray(HttpMessageConverter[]::new))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should drop the external image URL once an uploaded image exists")
+    void shouldPreferImageKey() {
+        // Given
+        Car uploaded = car(1L, "img-1", "https://cdn.example.com/1.jpg");
+        Car external = car(2L, null, "https://cdn.example.com/2.jpg");
+
+        // When
+        CarSummary withKey = CarSummary.from(uploaded);
+        CarSummary withUrl = CarSummary.from(external);
+
+        // Then
+        assertEquals("img-1", withKey.imageKey());
+        assertNull(withKey.imageUrl());
+        assertNull(withUrl.imageKey());
+        assertEquals("https://cdn.example.com/2.jpg", withUrl.imageUrl());
+        assertEquals(new CarSummary.CategoryRef(3L, "SUV", "SUV"), withKey.category());
+    }
+
+    @Test
+    @DisplayName("Should leave null fields out of the car summary JSON")
+    void shouldOmitNullCarFields() {
+        // Given
+        CarSummary summary = CarSummary.from(car(1L, "img-1", "https://cdn.example.com/1.jpg"));
+
+        // When
+        JsonNode node = json.readTree(json.writeValueAsString(summary));
+
+        // Then
+        assertEquals("img-1", node.get("imageKey").asString());
+        assertFalse(node.has("imageUrl"));
+        assertEquals("SUV", node.get("category").get("code").asString());
+        assertFalse(node.get("category").has("description"));
+    }
+
+    @Test
+    @DisplayName("Should reference the car by ID and leave out the user and version")
+    void shouldSummariseBooking() {
+        // Given
+        Booking booking = booking();
+
+        // When
+        JsonNode node = json.readTree(json.writeValueAsString(BookingSummary.from(booking)));
+
+        // Then
+        assertEquals(1L, node.get("carId").asLong());
+        assertEquals("CONFIRMED", node.get("status").asString());
+        assertEquals(0, new BigDecimal("499.00").compareTo(node.get("pricePerMonth").decimalValue()));
+        assertFalse(node.has("car"));
+        assertFalse(node.has("user"));
+        assertFalse(node.has("version"));
+        assertFalse(node.has("updatedAt"));
+    }
+
+    @Test
+    @DisplayName("Should answer JSON when the client does not ask for a binary format")
+    void shouldDefaultToJson() throws Exception {
+        for (String accept : new String[]{null, "*/*", "application/json"}) {
+            // When
+            MockHttpServletResponse response = fetch(accept);
+
+            // Then
+            assertEquals(200, response.getStatus(), String.valueOf(accept));
+            assertTrue(response.getContentType().startsWith("application/json"), String.valueOf(accept));
+            assertEquals("img-1", json.readTree(response.getContentAsByteArray()).get(0).get("imageKey").asString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer CBOR to CBOR clients, including when JSON is a lower-quality fallback")
+    void shouldNegotiateCbor() throws Exception {
+        for (String accept : new String[]{CBOR, CBOR + ", application/json;q=0.1"}) {
+            // When
+            MockHttpServletResponse response = fetch(accept);
+
+            // Then
+            assertEquals(CBOR, response.getContentType(), accept);
+            JsonNode body = CBORMapper.builder().build().readTree(response.getContentAsByteArray());
+            assertEquals("img-1", body.get(0).get("imageKey").asString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer Smile to Smile clients")
+    void shouldNegotiateSmile() throws Exception {
+        // When
+        MockHttpServletResponse response = fetch(SMILE);
+
+        // Then
+        assertEquals(SMILE, response.getContentType());
+        JsonNode body = SmileMapper.builder().build().readTree(response.getContentAsByteArray());
+        assertEquals("img-1", body.get(0).get("imageKey").asString());
+    }
+
+    @Test
+    @DisplayName("Should answer JSON when the client ranks it above CBOR")
+    void shouldHonourQuality() throws Exception {
+        // When
+        MockHttpServletResponse response = fetch(CBOR + ";q=0.5, application/json");
+
+        // Then
+        assertTrue(response.getContentType().startsWith("application/json"));
+    }
+
+    private MockHttpServletResponse fetch(String accept) throws Exception {
+        var request = get("/summaries");
+        if (accept != null) {
+            request.header("Accept", accept);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private static Car car(Long id, String imageKey, String imageUrl) {
+        Category category = new Category();
+        category.setId(3L);
+        category.setCode("SUV");
+        category.setName("SUV");
+        category.setDescription("Sport utility vehicles");
+
+        Car car = new Car();
+        car.setId(id);
+        car.setBrand("BMW");
+        car.setModel("X1");
+        car.setStatus(Car.CarStatus.AVAILABLE);
+        car.setImageKey(imageKey);
+        car.setImageUrl(imageUrl);
+        car.setCategory(category);
+        return car;
+    }
+
+    private static Booking booking() {
+        User user = new User();
+        user.setId(9L);
+
+        Booking booking = new Booking();
+        booking.setId(4L);
+        booking.setUser(user);
+        booking.setCar(car(1L, "img-1", null));
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        booking.setDurationMonths(6);
+        booking.setKmPackage(1000);
+        booking.setPricePerMonth(new BigDecimal("499.00"));
+        booking.setTotalAmount(new BigDecimal("2994.00"));
+        booking.setStartDate(LocalDate.of(2026, 1, 1));
+        booking.setEndDate(LocalDate.of(2026, 7, 1));
+        booking.setVersion(2L);
+        return booking;
+    }
+
+    @RestController
+    static class SummaryController {
+
+        @GetMapping("/summaries")
+        List<CarSummary> summaries() {
+            return List.of(CarSummary.from(car(1L, "img-1", null)));
+        }
+    }
+}
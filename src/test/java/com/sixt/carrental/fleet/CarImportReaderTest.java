@@ -0,0 +1,89 @@
+package com.sixt.carrental.fleet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CarImportReaderTest {
+
+    @Test
+    @DisplayName("Should read CSV rows by header name, with quoted fields and optional columns")
+    void shouldReadCsv() throws IOException {
+        // Given
+        CarImportReader reader = CarImportReader.csv(new StringReader("""
+                brand,model,categoryCode,imageUrl
+                BMW,X5,SUV,
+                "Mercedes-Benz","C ""Avantgarde"", Kombi",SEDAN,https://img/c.jpg
+                """));
+
+        // When
+        CarImportReader.Line first = reader.next();
+        CarImportReader.Line second = reader.next();
+
+        // Then
+        assertEquals(2, first.number());
+        assertEquals(new CarImportRow(null, "SUV", "BMW", "X5", null, null), first.row());
+        assertEquals("C \"Avantgarde\", Kombi", second.row().model());
+        assertEquals("https://img/c.jpg", second.row().imageUrl());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should report a broken row and keep reading the next ones")
+    void shouldReportBrokenCsvRow() throws IOException {
+        // Given
+        CarImportReader reader = CarImportReader.csv(new StringReader("""
+                id,categoryCode,brand,model
+                abc,SUV,BMW,X5
+
+                7,SUV,BMW,X6
+                """));
+
+        // When
+        CarImportReader.Line broken = reader.next();
+        CarImportReader.Line update = reader.next();
+
+        // Then
+        assertEquals(2, broken.number());
+        assertEquals("Invalid id: abc", broken.error());
+        assertEquals(4, update.number());
+        assertEquals(7L, update.row().id());
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV header without the required columns")
+    void shouldRejectIncompleteHeader() {
+        // Given
+        CarImportReader reader = CarImportReader.csv(new StringReader("brand,model\nBMW,X5\n"));
+
+        // When / Then
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, reader::next);
+        assertTrue(e.getMessage().contains("categorycode"));
+    }
+
+    @Test
+    @DisplayName("Should read NDJSON rows and report malformed lines")
+    void shouldReadNdjson() throws IOException {
+        // Given
+        CarImportReader reader = CarImportReader.ndjson(new StringReader("""
+                {"categoryCode":"SUV","brand":"Audi","model":"Q7","status":"MAINTENENCE"}
+                {"categoryCode":"SUV",
+                """), JsonMapper.builder().build());
+
+        // When
+        CarImportReader.Line first = reader.next();
+        CarImportReader.Line second = reader.next();
+
+        // Then
+        assertEquals("Q7", first.row().model());
+        assertEquals("MAINTENENCE", first.row().status());
+        assertNull(second.row());
+        assertTrue(second.error().startsWith("Invalid JSON"));
+        assertNull(reader.next());
+    }
+}
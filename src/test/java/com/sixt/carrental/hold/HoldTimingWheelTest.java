@@ -0,0 +1,87 @@
+package com.sixt.carrental.hold;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Hold Timing Wheel Tests")
+class HoldTimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    @DisplayName("Should expire a hold once its deadline has passed, not before")
+    void shouldExpireAtDeadline() {
+        // Given - deadline in the middle of a tick
+        HoldTimingWheel wheel = new HoldTimingWheel(TICK, 8, 0);
+        wheel.schedule(1L, 2_500);
+
+        // When & Then
+        assertEquals(List.of(), wheel.advance(2_000));
+        assertEquals(List.of(), wheel.advance(2_499));
+        assertEquals(List.of(1L), wheel.advance(3_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should keep holds that are more than one revolution away")
+    void shouldKeepLaterRounds() {
+        // Given - 8 slots of 1s, deadline 10s out shares a slot with 2s
+        HoldTimingWheel wheel = new HoldTimingWheel(TICK, 8, 0);
+        wheel.schedule(1L, 2_000);
+        wheel.schedule(2L, 10_000);
+
+        // When & Then
+        assertEquals(List.of(1L), wheel.advance(2_000));
+        assertEquals(List.of(), wheel.advance(9_000));
+        assertEquals(List.of(2L), wheel.advance(10_000));
+    }
+
+    @Test
+    @DisplayName("Should not fire cancelled holds")
+    void shouldNotFireCancelled() {
+        // Given
+        HoldTimingWheel wheel = new HoldTimingWheel(TICK, 8, 0);
+        wheel.schedule(1L, 1_000);
+        wheel.schedule(2L, 1_000);
+
+        // When
+        assertTrue(wheel.cancel(1L));
+
+        // Then
+        assertFalse(wheel.cancel(1L));
+        assertEquals(List.of(2L), wheel.advance(1_000));
+    }
+
+    @Test
+    @DisplayName("Should fire overdue holds on the next advance")
+    void shouldFireOverdueHolds() {
+        // Given - replayed from the table after a restart, already expired
+        HoldTimingWheel wheel = new HoldTimingWheel(TICK, 8, 5_000);
+        wheel.schedule(1L, 1_000);
+
+        // When & Then
+        assertEquals(List.of(1L), wheel.advance(6_000));
+    }
+
+    @Test
+    @DisplayName("Should catch up after a pause longer than one revolution")
+    void shouldCatchUpAfterLongPause() {
+        // Given
+        HoldTimingWheel wheel = new HoldTimingWheel(TICK, 8, 0);
+        wheel.schedule(1L, 3_000);
+        wheel.schedule(2L, 7_000);
+        wheel.schedule(3L, 40_000);
+
+        // When
+        List<Long> expired = wheel.advance(20_000);
+
+        // Then
+        assertEquals(2, expired.size());
+        assertTrue(expired.containsAll(List.of(1L, 2L)));
+        assertEquals(1, wheel.size());
+    }
+}
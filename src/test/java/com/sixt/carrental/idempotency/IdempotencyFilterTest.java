@@ -0,0 +1,239 @@
+package com.sixt.carrental.idempotency;
+
+import com.sixt.carrental.config.IdempotencyFilter;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Idempotency-Key Filter Tests")
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"userId\":1,\"carId\":2,\"categoryId\":1,\"durationMonths\":3,\"kmPackage\":1000,\"startDate\":\"2025-03-01\"}";
+
+    private IdempotencyStore store;
+    private IdempotencyFilter filter;
+    private AtomicInteger bookings;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(60, 100);
+        filter = new IdempotencyFilter(store, true, 1024);
+        bookings = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should replay the first response for a retried request")
+    void shouldReplayRetry() throws Exception {
+        // Given
+        MockHttpServletResponse first = post("key-1", BODY, HttpServletResponse.SC_CREATED);
+
+        // When
+        MockHttpServletResponse retry = post("key-1", BODY, HttpServletResponse.SC_CREATED);
+
+        // Then - booking code ran once, the retry got the same body
+        assertEquals(1, bookings.get());
+        assertEquals(HttpServletResponse.SC_CREATED, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void shouldRejectDifferentBody() throws Exception {
+        // Given
+        post("key-1", BODY, HttpServletResponse.SC_CREATED);
+
+        // When
+        MockHttpServletResponse other = post("key-1", BODY.replace("\"carId\":2", "\"carId\":3"), HttpServletResponse.SC_CREATED);
+
+        // Then
+        assertEquals(422, other.getStatus());
+        assertEquals(1, bookings.get());
+    }
+
+    @Test
+    @DisplayName("Should let server errors be retried with the same key")
+    void shouldNotStoreServerErrors() throws Exception {
+        // Given
+        post("key-1", BODY, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+
+        // When
+        MockHttpServletResponse retry = post("key-1", BODY, HttpServletResponse.SC_CREATED);
+
+        // Then
+        assertEquals(2, bookings.get());
+        assertEquals(HttpServletResponse.SC_CREATED, retry.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should reject a body above the limit with 413 before booking")
+    void shouldRejectOversizedBody() throws Exception {
+        // When
+        MockHttpServletResponse response = post("key-1", BODY + " ".repeat(1024), HttpServletResponse.SC_CREATED);
+
+        // Then
+        assertEquals(413, response.getStatus());
+        assertEquals(0, bookings.get());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Should reject an oversized body sent without a Content-Length")
+    void shouldRejectOversizedBodyWithoutLength() throws Exception {
+        // Given - chunked upload: no declared length, the cap applies to the bytes read
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bookings") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.addHeader(IdempotencyFilter.HEADER, "key-1");
+        request.setContent(new byte[2048]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, (req, res) -> bookings.incrementAndGet());
+
+        // Then
+        assertEquals(413, response.getStatus());
+        assertEquals(0, bookings.get());
+    }
+
+    @Test
+    @DisplayName("Should hand the buffered body to a non-blocking reader")
+    void shouldSupportReadListener() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bookings");
+        request.addHeader(IdempotencyFilter.HEADER, "key-1");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            ServletInputStream in = req.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (in.isReady() && !in.isFinished()) {
+                        received.write(in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+        });
+
+        // Then
+        assertTrue(allRead.get());
+        assertEquals(BODY, received.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should answer a concurrent duplicate with 409 while the first is running")
+    void shouldRejectInFlightDuplicate() {
+        // Given
+        assertEquals(IdempotencyStore.Status.STARTED, store.begin("k", "fp").status());
+
+        // When & Then
+        assertEquals(IdempotencyStore.Status.IN_PROGRESS, store.begin("k", "fp").status());
+        store.abandon("k");
+        assertEquals(IdempotencyStore.Status.STARTED, store.begin("k", "fp").status());
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest key and keep tracking new ones when the store is full")
+    void shouldEvictOldestWhenFull() {
+        // Given
+        IdempotencyStore small = new IdempotencyStore(60, 2);
+        small.begin("a", "fp");
+        small.begin("b", "fp");
+        small.complete("a", "fp", new IdempotencyStore.StoredResponse(201, "application/json", new byte[0]));
+
+        // When
+        IdempotencyStore.Lookup third = small.begin("c", "fp");
+
+        // Then - "a" is the oldest even though it completed last; "b" and "c" are still protected
+        assertEquals(IdempotencyStore.Status.STARTED, third.status());
+        assertEquals(2, small.size());
+        assertEquals(IdempotencyStore.Status.IN_PROGRESS, small.begin("b", "fp").status());
+        assertEquals(IdempotencyStore.Status.IN_PROGRESS, small.begin("c", "fp").status());
+        assertEquals(IdempotencyStore.Status.STARTED, small.begin("a", "fp").status());
+    }
+
+    @Test
+    @DisplayName("Should replay requests through a full store")
+    void shouldReplayThroughFullStore() throws Exception {
+        // Given - a one-entry store that is already full
+        filter = new IdempotencyFilter(new IdempotencyStore(60, 1), true, 1024);
+        post("old-key", BODY, 201);
+
+        // When
+        post("new-key", BODY, 201);
+        MockHttpServletResponse retry = post("new-key", BODY, 201);
+
+        // Then - the new key is tracked, so its retry is answered from the store
+        assertEquals(2, bookings.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should drop expired keys as new ones arrive")
+    void shouldDropExpiredKeys() throws InterruptedException {
+        // Given - zero ttl: every key is expired right after it is recorded
+        IdempotencyStore shortLived = new IdempotencyStore(0, 10);
+        shortLived.begin("a", "fp");
+        shortLived.begin("b", "fp");
+        Thread.sleep(5);
+
+        // When
+        IdempotencyStore.Lookup lookup = shortLived.begin("a", "other-fp");
+
+        // Then - the expired key is treated as new instead of as a mismatch
+        assertEquals(IdempotencyStore.Status.STARTED, lookup.status());
+        assertEquals(1, shortLived.size());
+    }
+
+    // Runs the filter with a stand-in controller that "books" and answers with the given status
+    private MockHttpServletResponse post(String key, String body, int status) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bookings");
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            String received = new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(body, received); // controller still sees the body
+            int id = bookings.incrementAndGet();
+            HttpServletResponse http = (HttpServletResponse) res;
+            http.setStatus(status);
+            http.setContentType("application/json");
+            http.getWriter().write("{\"success\":true,\"data\":{\"id\":" + id + "}}");
+        });
+        return response;
+    }
+}
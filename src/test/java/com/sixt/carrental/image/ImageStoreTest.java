@@ -0,0 +1,87 @@
+package com.sixt.carrental.image;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Image Store Tests")
+class ImageStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should store all variants with thumbnails resized to the configured width")
+    void shouldStoreResizedVariants() throws IOException {
+        // Given
+        ImageStore store = new ImageStore(dir.toString(), 320, 960, 0.8f, 40_000_000);
+
+        // When
+        String key = store.store(png(1600, 900));
+
+        // Then
+        BufferedImage thumb = ImageIO.read(store.locate(key, ImageVariant.THUMB).toFile());
+        BufferedImage medium = ImageIO.read(store.locate(key, ImageVariant.MEDIUM).toFile());
+        BufferedImage original = ImageIO.read(store.locate(key, ImageVariant.ORIGINAL).toFile());
+        assertEquals(320, thumb.getWidth());
+        assertEquals(180, thumb.getHeight());  // aspect ratio kept
+        assertEquals(960, medium.getWidth());
+        assertEquals(1600, original.getWidth());
+    }
+
+    @Test
+    @DisplayName("Should derive the same key from the same bytes and never upscale")
+    void shouldBeContentAddressed() throws IOException {
+        // Given
+        ImageStore store = new ImageStore(dir.toString(), 320, 960, 0.8f, 40_000_000);
+        byte[] small = png(200, 100);
+
+        // When
+        String first = store.store(small);
+        String second = store.store(small);
+
+        // Then
+        assertEquals(first, second);
+        assertEquals(200, ImageIO.read(store.locate(first, ImageVariant.THUMB).toFile()).getWidth());
+    }
+
+    @Test
+    @DisplayName("Should reject non-images and unknown or malformed keys")
+    void shouldRejectBadInput() {
+        ImageStore store = new ImageStore(dir.toString(), 320, 960, 0.8f, 40_000_000);
+
+        assertThrows(IllegalArgumentException.class, () -> store.store("not an image".getBytes()));
+        assertNull(store.locate("../../etc/passwd", ImageVariant.ORIGINAL));
+        assertNull(store.locate("0123456789abcdef01234567", ImageVariant.THUMB));
+    }
+
+    @Test
+    @DisplayName("Should reject images above the pixel cap before decoding them")
+    void shouldRejectOversizedImages() throws IOException {
+        // Given
+        ImageStore store = new ImageStore(dir.toString(), 320, 960, 0.8f, 1_000_000);
+        byte[] large = png(1001, 1000);
+
+        // When
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> store.store(large));
+
+        // Then - nothing stored, and an image at the cap is still accepted
+        assertTrue(e.getMessage().contains("1001x1000"));
+        assertNotNull(store.locate(store.store(png(1000, 1000)), ImageVariant.THUMB));
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,47 @@
+package com.sixt.carrental.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Log Sampling Tests")
+class SamplingTurboFilterTest {
+
+    private SamplingTurboFilter filter;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        filter = new SamplingTurboFilter();
+        filter.setSampleEvery(10);
+        logger = new LoggerContext().getLogger("test");
+    }
+
+    @Test
+    @DisplayName("Should keep every n-th sampled info event")
+    void shouldSampleMarkedInfo() {
+        int kept = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (filter.decide(LogSampling.SAMPLED, logger, Level.INFO, "msg", null, null) != FilterReply.DENY) {
+                kept++;
+            }
+        }
+
+        assertEquals(100, kept);
+    }
+
+    @Test
+    @DisplayName("Should never drop unmarked events or warnings")
+    void shouldKeepUnmarkedAndWarnings() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, "msg", null, null));
+            assertEquals(FilterReply.NEUTRAL, filter.decide(LogSampling.SAMPLED, logger, Level.WARN, "msg", null, null));
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.sixt.carrental.notification;
+
+import com.sixt.carrental.cache.Invalidation.Topic;
+import com.sixt.carrental.cache.InvalidationPublisher;
+import com.sixt.carrental.entity.OutboxEvent;
+import com.sixt.carrental.entity.OutboxEvent.AggregateType;
+import com.sixt.carrental.entity.OutboxEvent.EventType;
+import com.sixt.carrental.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Status Stream Registry Tests")
+class StatusStreamRegistryTest {
+
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final InvalidationPublisher invalidationPublisher = mock(InvalidationPublisher.class);
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    private StatusStreamRegistry registry;
+    private volatile boolean stallSends;
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(emitter -> emitter.release.countDown());
+        if (registry != null) {
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should cap open streams per user")
+    void shouldCapStreamsPerUser() {
+        // Given
+        registry = registry(32, 2);
+        registry.subscribe(1L);
+        registry.subscribe(1L);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> registry.subscribe(1L));
+        assertDoesNotThrow(() -> registry.subscribe(2L));
+        assertEquals(3, registry.getConnectionCount());
+    }
+
+    @Test
+    @DisplayName("Should hold the per-user cap under concurrent connects")
+    void shouldCapConcurrentConnects() throws Exception {
+        // Given
+        registry = registry(32, 5);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    start.await();
+                    registry.subscribe(1L);
+                } catch (IllegalStateException | InterruptedException ignored) {
+                    // over the cap
+                }
+            }));
+        }
+
+        // When
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertEquals(5, registry.getConnectionCount());
+    }
+
+    @Test
+    @DisplayName("Should deliver status changes to every stream of the user")
+    void shouldDeliverToUserStreams() throws Exception {
+        // Given
+        registry = registry(32, 5);
+        registry.subscribe(1L);
+        registry.subscribe(1L);
+        registry.subscribe(2L);
+
+        // When
+        registry.onStatusChange(change(1L));
+
+        // Then - user 1's streams get it after the "connected" comment, user 2's does not
+        assertTrue(emitters.get(0).nextSent().contains("connected"));
+        assertTrue(emitters.get(0).nextSent().contains("BOOKING_CONFIRMED"));
+        assertTrue(emitters.get(1).nextSent().contains("connected"));
+        assertTrue(emitters.get(1).nextSent().contains("BOOKING_CONFIRMED"));
+        assertTrue(emitters.get(2).nextSent().contains("connected"));
+        assertNull(emitters.get(2).sent.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Should broadcast a status change to the other nodes by its outbox event ID")
+    void shouldBroadcastStatusChange() {
+        // Given
+        registry = registry(32, 5);
+
+        // When
+        registry.broadcast(change(1L));
+
+        // Then
+        verify(invalidationPublisher).publish(Topic.STATUS, 1L);
+    }
+
+    @Test
+    @DisplayName("Should deliver a change committed on another node to the user's streams here")
+    void shouldDeliverRemoteStatusChange() throws Exception {
+        // Given
+        registry = registry(32, 5);
+        registry.subscribe(1L);
+        registry.subscribe(2L);
+        OutboxEvent event = new OutboxEvent();
+        event.setId(42L);
+        event.setAggregateType(AggregateType.PAYMENT);
+        event.setAggregateId(10L);
+        event.setEventType(EventType.PAYMENT_SUCCEEDED);
+        event.setPayload("{\"bookingId\":10,\"userId\":1}");
+        when(outboxEventRepository.findById(42L)).thenReturn(Optional.of(event));
+
+        // When
+        registry.onRemoteStatusChange(42L);
+
+        // Then
+        assertTrue(emitters.get(0).nextSent().contains("connected"));
+        String delivered = emitters.get(0).nextSent();
+        assertTrue(delivered.contains("PAYMENT_SUCCEEDED"));
+        assertTrue(delivered.contains("42"));
+        assertTrue(emitters.get(1).nextSent().contains("connected"));
+        assertNull(emitters.get(1).sent.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Should not read remote changes back while nobody is connected")
+    void shouldSkipRemoteChangeWithoutStreams() {
+        // Given
+        registry = registry(32, 5);
+
+        // When
+        registry.onRemoteStatusChange(42L);
+
+        // Then
+        verifyNoInteractions(outboxEventRepository);
+    }
+
+    @Test
+    @DisplayName("Should disconnect a subscriber whose pending queue overflows")
+    void shouldDropSlowSubscriber() throws Exception {
+        // Given - the client stalls on the first send
+        registry = registry(2, 5);
+        stallSends = true;
+        registry.subscribe(1L);
+        RecordingEmitter slow = emitters.get(0);
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+        stallSends = false;
+
+        // When
+        registry.onStatusChange(change(1L));
+        registry.onStatusChange(change(1L));
+        registry.onStatusChange(change(1L));
+
+        // Then - third pending event exceeds the bound
+        assertTrue(slow.completed);
+        assertEquals(0, registry.getConnectionCount());
+        assertDoesNotThrow(() -> registry.subscribe(1L));
+    }
+
+    @Test
+    @DisplayName("Should send a heartbeat comment to idle streams")
+    void shouldHeartbeatIdleStreams() throws Exception {
+        // Given
+        registry = registry(32, 5);
+        registry.subscribe(1L);
+        RecordingEmitter emitter = emitters.get(0);
+        assertTrue(emitter.nextSent().contains("connected"));
+
+        // When
+        registry.heartbeat();
+
+        // Then
+        assertTrue(emitter.nextSent().contains("heartbeat"));
+    }
+
+    private StatusStreamRegistry registry(int maxPending, int maxConnectionsPerUser) {
+        return new StatusStreamRegistry(invalidationPublisher, outboxEventRepository, JsonMapper.builder().build(),
+                60_000, maxPending, maxConnectionsPerUser) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter(timeoutMillis, stallSends);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private static StatusChange change(Long userId) {
+        return new StatusChange(1L, userId, 10L, EventType.BOOKING_CONFIRMED, "{\"bookingId\":10}");
+    }
+
+    // Records rendered events; can stall the first send to simulate a slow client
+    private static final class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final boolean blockSends;
+        private volatile boolean completed;
+
+        private RecordingEmitter(long timeout, boolean blockSends) {
+            super(timeout);
+            this.blockSends = blockSends;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sending.countDown();
+            if (blockSends) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        private String nextSent() throws InterruptedException {
+            String event = sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event);
+            return event;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.sixt.carrental.outbox;
+
+import com.sixt.carrental.entity.OutboxEvent;
+import com.sixt.carrental.entity.OutboxEvent.AggregateType;
+import com.sixt.carrental.entity.OutboxEvent.EventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.sixt.carrental.outbox.OutboxRelayTest.event;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Event Sink Tests")
+class EventSinkTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should append one NDJSON line per event across batches")
+    void shouldAppendNdjsonLines() throws Exception {
+        // Given
+        Path file = tempDir.resolve("outbox/events.ndjson");
+        FileEventSink sink = new FileEventSink(true, file.toString());
+
+        // When
+        sink.publish(List.of(event(1L), event(2L)));
+        sink.publish(List.of(event(3L)));
+
+        // Then - each line is a standalone JSON document with the payload embedded as JSON
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        JsonNode first = new ObjectMapper().readTree(lines.get(0));
+        assertEquals(1L, first.get("id").asLong());
+        assertEquals("BOOKING", first.get("aggregateType").asString());
+        assertEquals(11L, first.get("aggregateId").asLong());
+        assertEquals("BOOKING_CREATED", first.get("eventType").asString());
+        assertEquals(11L, first.get("payload").get("bookingId").asLong());
+        assertEquals(3L, new ObjectMapper().readTree(lines.get(2)).get("id").asLong());
+    }
+
+    @Test
+    @DisplayName("Should not write anything when the file sink is disabled")
+    void shouldSkipWhenDisabled() throws Exception {
+        // Given
+        Path file = tempDir.resolve("events.ndjson");
+        FileEventSink sink = new FileEventSink(false, file.toString());
+
+        // When
+        sink.publish(List.of(event(1L)));
+
+        // Then
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    @DisplayName("Should raise one application event per outbox event in batch order")
+    void shouldPublishApplicationEventsInOrder() {
+        // Given
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        InProcessEventSink sink = new InProcessEventSink(publisher);
+        OutboxEvent payment = event(2L);
+        payment.setAggregateType(AggregateType.PAYMENT);
+        payment.setEventType(EventType.PAYMENT_SUCCEEDED);
+
+        // When
+        sink.publish(List.of(event(1L), payment));
+
+        // Then
+        ArgumentCaptor<OutboxEventPublished> published = ArgumentCaptor.forClass(OutboxEventPublished.class);
+        verify(publisher, times(2)).publishEvent(published.capture());
+        List<OutboxEventPublished> events = published.getAllValues();
+        assertEquals(1L, events.get(0).id());
+        assertEquals(EventType.BOOKING_CREATED, events.get(0).eventType());
+        assertEquals(2L, events.get(1).id());
+        assertEquals(AggregateType.PAYMENT, events.get(1).aggregateType());
+        assertEquals(12L, events.get(1).aggregateId());
+        assertEquals(payment.getPayload(), events.get(1).payload());
+    }
+}
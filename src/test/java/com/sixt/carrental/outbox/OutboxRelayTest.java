@@ -0,0 +1,154 @@
+package com.sixt.carrental.outbox;
+
+import com.sixt.carrental.common.ClusterLock;
+import com.sixt.carrental.entity.OutboxEvent;
+import com.sixt.carrental.entity.OutboxEvent.AggregateType;
+import com.sixt.carrental.entity.OutboxEvent.EventType;
+import com.sixt.carrental.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Outbox Relay Tests")
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private EventSink firstSink;
+
+    @Mock
+    private EventSink secondSink;
+
+    @Mock
+    private ClusterLock clusterLock;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(clusterLock.tryLock("outbox-relay")).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should mark the batch published once every sink accepted it")
+    void shouldMarkPublishedAfterAllSinks() throws Exception {
+        // Given
+        List<OutboxEvent> batch = List.of(event(1L), event(2L));
+        when(outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(any(Pageable.class))).thenReturn(batch);
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, List.of(firstSink, secondSink), clusterLock, true, 100, 7);
+
+        // When
+        relay.relay();
+
+        // Then
+        InOrder inOrder = inOrder(firstSink, secondSink, outboxEventRepository);
+        inOrder.verify(firstSink).publish(batch);
+        inOrder.verify(secondSink).publish(batch);
+        inOrder.verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should leave the batch unpublished when a sink fails and retry it in ID order")
+    void shouldRetryFailedBatchInOrder() throws Exception {
+        // Given - the first attempt fails in the second sink
+        List<OutboxEvent> batch = List.of(event(1L), event(2L), event(3L));
+        when(outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(any(Pageable.class))).thenReturn(batch);
+        doThrow(new IOException("broker down")).doNothing().when(secondSink).publish(anyList());
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, List.of(firstSink, secondSink), clusterLock, true, 100, 7);
+
+        // When
+        relay.relay();
+
+        // Then - nothing marked yet
+        verify(outboxEventRepository, never()).markPublished(anyList(), any());
+
+        // When - the next poll sees the same batch again
+        relay.relay();
+
+        // Then - the whole batch goes out again, oldest first, and is marked once
+        ArgumentCaptor<List<Long>> ids = ArgumentCaptor.captor();
+        verify(outboxEventRepository, times(1)).markPublished(ids.capture(), any(LocalDateTime.class));
+        assertEquals(List.of(1L, 2L, 3L), ids.getValue());
+        verify(firstSink, times(2)).publish(batch);
+        verify(secondSink, times(2)).publish(batch);
+    }
+
+    @Test
+    @DisplayName("Should skip polling when the batch is empty or the relay is disabled")
+    void shouldSkipWhenIdleOrDisabled() throws Exception {
+        // Given
+        when(outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(any(Pageable.class))).thenReturn(List.of());
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, List.of(firstSink), clusterLock, true, 100, 7);
+        OutboxRelay disabled = new OutboxRelay(outboxEventRepository, List.of(firstSink), clusterLock, false, 100, 7);
+
+        // When
+        relay.relay();
+        disabled.relay();
+        disabled.purgePublished();
+
+        // Then
+        verify(outboxEventRepository, times(1)).findByPublishedAtIsNullOrderByIdAsc(any(Pageable.class));
+        verifyNoInteractions(firstSink);
+        verify(outboxEventRepository, never()).deletePublishedBefore(any());
+    }
+
+    @Test
+    @DisplayName("Should leave polling and purging to the node holding the relay lock")
+    void shouldSkipWithoutLock() {
+        // Given - another node is relaying
+        when(clusterLock.tryLock("outbox-relay")).thenReturn(false);
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, List.of(firstSink), clusterLock, true, 100, 7);
+
+        // When
+        relay.relay();
+        relay.purgePublished();
+
+        // Then
+        verifyNoInteractions(outboxEventRepository, firstSink);
+    }
+
+    @Test
+    @DisplayName("Should purge events published before the retention window")
+    void shouldPurgeOldPublishedEvents() {
+        // Given
+        when(outboxEventRepository.deletePublishedBefore(any(LocalDateTime.class))).thenReturn(3);
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, List.of(firstSink), clusterLock, true, 100, 7);
+
+        // When
+        relay.purgePublished();
+
+        // Then
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxEventRepository).deletePublishedBefore(cutoff.capture());
+        LocalDateTime expected = LocalDateTime.now().minusDays(7);
+        assertTrue(cutoff.getValue().isAfter(expected.minusMinutes(1)));
+        assertTrue(cutoff.getValue().isBefore(expected.plusMinutes(1)));
+    }
+
+    static OutboxEvent event(Long id) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setAggregateType(AggregateType.BOOKING);
+        event.setAggregateId(10L + id);
+        event.setEventType(EventType.BOOKING_CREATED);
+        event.setPayload("{\"bookingId\":" + (10L + id) + "}");
+        event.setCreatedAt(LocalDateTime.of(2025, 3, 1, 12, 0));
+        return event;
+    }
+}
@@ -0,0 +1,60 @@
+package com.sixt.carrental.pricing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pricing Rules Tests")
+class PricingRulesTest {
+
+    private static final String SEASONS = "1.00,1.00,1.00,1.00,1.00,1.00,1.10,1.10,1.00,1.00,1.00,1.00";
+
+    private final PricingRules rules = PricingRules.compile(
+            "60:1.05,80:1.10", "0:1.08,7:1.03,30:1.00", SEASONS, "0.90", "1.20");
+
+    @Test
+    @DisplayName("Should apply the highest tier at or below the input")
+    void shouldPickTiers() {
+        assertEquals(1_000_000L, rules.multiplier(59, 30, 3));  // below lowest utilization tier
+        assertEquals(1_050_000L, rules.multiplier(60, 30, 3));
+        assertEquals(1_100_000L, rules.multiplier(100, 400, 3)); // lead time beyond last tier keeps x1.00
+        assertEquals(1_030_000L, rules.multiplier(0, 7, 3));
+        assertEquals(1_080_000L, rules.multiplier(0, -5, 3));   // start date in the past counts as today
+    }
+
+    @Test
+    @DisplayName("Should combine factors and clamp to the configured range")
+    void shouldCombineAndClamp() {
+        // 1.05 x 1.03 x 1.10 = 1.18965
+        assertEquals(1_189_650L, rules.multiplier(60, 10, 7));
+        // 1.10 x 1.08 x 1.10 = 1.3068 -> capped at 1.20
+        assertEquals(1_200_000L, rules.multiplier(90, 0, 8));
+    }
+
+    @Test
+    @DisplayName("Should round adjusted prices half up in minor units")
+    void shouldRoundHalfUp() {
+        assertEquals(2_808_000L, rules.apply(2_600_000L, 1_080_000L)); // 26000.00 x 1.08 = 28080.00
+        assertEquals(2L, rules.apply(1L, 1_500_000L));                 // 0.015 -> 0.02
+        assertEquals(1L, rules.apply(1L, 1_400_000L));                 // 0.014 -> 0.01
+    }
+
+    @Test
+    @DisplayName("Flat rules should leave prices unchanged")
+    void shouldLeavePricesUnchangedWhenFlat() {
+        PricingRules flat = PricingRules.flat();
+        assertEquals(1_000_000L, flat.multiplier(100, 0, 12));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed rules at startup")
+    void shouldRejectMalformedRules() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PricingRules.compile("80:1.10,60:1.05", "", "", "1.00", "1.00"));
+        assertThrows(IllegalArgumentException.class,
+                () -> PricingRules.compile("", "", "1.00,1.10", "1.00", "1.00"));
+        assertThrows(IllegalArgumentException.class,
+                () -> PricingRules.compile("", "", "", "1.20", "0.90"));
+    }
+}
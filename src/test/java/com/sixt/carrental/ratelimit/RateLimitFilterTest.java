@@ -0,0 +1,103 @@
+package com.sixt.carrental.ratelimit;
+
+import com.sixt.carrental.config.JwtAuthenticationFilter;
+import com.sixt.carrental.config.RateLimitFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Rate Limit Filter Tests")
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+    private AtomicInteger passed;
+
+    @BeforeEach
+    void setUp() {
+        // Burst of 2 per bucket, refilling so slowly that nothing comes back during the test
+        filter = new RateLimitFilter(true, 100, 2, 0.01, 2, 0.01, 2, 0.01);
+        passed = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once the burst is used up")
+    void shouldRejectWithRetryAfter() throws Exception {
+        // Given
+        assertEquals(200, call("POST", "/api/auth/login", "10.0.0.1", null).getStatus());
+        assertEquals(200, call("POST", "/api/auth/login", "10.0.0.1", null).getStatus());
+
+        // When
+        MockHttpServletResponse rejected = call("POST", "/api/auth/login", "10.0.0.1", null);
+
+        // Then
+        assertEquals(429, rejected.getStatus());
+        assertTrue(Long.parseLong(rejected.getHeader(HttpHeaders.RETRY_AFTER)) > 0);
+        assertEquals("application/json", rejected.getContentType());
+        assertTrue(rejected.getContentAsString().contains("\"success\":false"));
+        assertEquals(2, passed.get());
+    }
+
+    @Test
+    @DisplayName("Should give each anonymous client address its own bucket")
+    void shouldKeyAnonymousCallersByAddress() throws Exception {
+        // Given
+        call("GET", "/api/cars", "203.0.113.7", null);
+        call("GET", "/api/cars", "203.0.113.7", null);
+
+        // When
+        MockHttpServletResponse sameClient = call("GET", "/api/cars", "203.0.113.7", null);
+        MockHttpServletResponse otherClient = call("GET", "/api/cars", "203.0.113.8", null);
+
+        // Then
+        assertEquals(429, sameClient.getStatus());
+        assertEquals(200, otherClient.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should key authenticated calls by user, not by the shared address")
+    void shouldKeyAuthenticatedCallersByUser() throws Exception {
+        // Given - user 1 used up its bucket
+        call("GET", "/api/bookings", "10.0.0.1", 1L);
+        call("GET", "/api/bookings", "10.0.0.1", 1L);
+
+        // When - same address, other user
+        MockHttpServletResponse user1 = call("GET", "/api/bookings", "10.0.0.1", 1L);
+        MockHttpServletResponse user2 = call("GET", "/api/bookings", "10.0.0.1", 2L);
+
+        // Then
+        assertEquals(429, user1.getStatus());
+        assertEquals(200, user2.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should key login by address even when a token is presented")
+    void shouldKeyLoginByAddress() throws Exception {
+        // Given
+        call("POST", "/api/auth/login", "10.0.0.1", 1L);
+        call("POST", "/api/auth/login", "10.0.0.1", 2L);
+
+        // When - a third user ID does not buy a fresh bucket
+        MockHttpServletResponse response = call("POST", "/api/auth/login", "10.0.0.1", 3L);
+
+        // Then
+        assertEquals(429, response.getStatus());
+    }
+
+    private MockHttpServletResponse call(String method, String uri, String remoteAddr, Long userId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        if (userId != null) {
+            request.setAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE, userId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> passed.incrementAndGet());
+        return response;
+    }
+}
@@ -0,0 +1,51 @@
+package com.sixt.carrental.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Token Bucket Tests - Rate limiting")
+class TokenBucketTest {
+
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and then reject")
+    void shouldAllowBurstUpToCapacity() {
+        long now = 1_000L;
+        TokenBucket bucket = new TokenBucket(ONE_SECOND, 3, now);
+
+        assertTrue(bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now));
+        assertFalse(bucket.tryAcquire(now));
+    }
+
+    @Test
+    @DisplayName("Should refill one token per emission interval")
+    void shouldRefillOverTime() {
+        long now = -5_000L; // nanoTime may be negative
+        TokenBucket bucket = new TokenBucket(ONE_SECOND, 1, now);
+
+        assertTrue(bucket.tryAcquire(now));
+        assertFalse(bucket.tryAcquire(now + ONE_SECOND / 2));
+        assertTrue(bucket.tryAcquire(now + ONE_SECOND));
+        assertFalse(bucket.isFull(now + ONE_SECOND));
+        assertTrue(bucket.isFull(now + 3 * ONE_SECOND));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the overflow bucket when the key map is full")
+    void shouldBoundKeyMap() {
+        RateLimiter limiter = new RateLimiter("test", 1, 0.001, 2);
+
+        assertTrue(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("b"));
+        assertTrue(limiter.tryAcquire("c"));  // overflow bucket, first token
+        assertFalse(limiter.tryAcquire("d")); // overflow bucket shared and empty
+        assertEquals(2, limiter.size());
+    }
+}
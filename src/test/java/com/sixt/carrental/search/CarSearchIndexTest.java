@@ -0,0 +1,138 @@
+package com.sixt.carrental.search;
+
+import com.sixt.carrental.cache.InvalidationPublisher;
+import com.sixt.carrental.dto.response.CarSearchResponse;
+import com.sixt.carrental.entity.Car;
+import com.sixt.carrental.entity.Car.CarStatus;
+import com.sixt.carrental.entity.Category;
+import com.sixt.carrental.repository.CarRepository;
+import com.sixt.carrental.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Car Search Index Tests")
+class CarSearchIndexTest {
+
+    @Mock
+    private CarRepository carRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private InvalidationPublisher invalidationPublisher;
+
+    @InjectMocks
+    private CarSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Category sedan = new Category(1L, "SEDAN_STANDARD", "Standard Sedan", null, null);
+        Category luxury = new Category(3L, "LUXURY_EXECUTIVE", "Luxury Executive", null, null);
+        index.indexCategory(sedan);
+        index.indexCategory(luxury);
+
+        index.index(car(1L, sedan, "Honda", "City", CarStatus.AVAILABLE));
+        index.index(car(2L, luxury, "BMW", "5 Series", CarStatus.AVAILABLE));
+        index.index(car(3L, luxury, "BMW", "X5", CarStatus.RENTED));
+        index.index(car(4L, luxury, "Mercedes-Benz", "E-Class", CarStatus.AVAILABLE));
+    }
+
+    @Test
+    @DisplayName("Should match by prefix across brand and model")
+    void shouldMatchByPrefix() {
+        CarSearchResponse response = index.search("bm", null, null, null, 10);
+
+        assertEquals(2, response.getTotal());
+        assertEquals(2, response.getFacets().get("status").size());
+    }
+
+    @Test
+    @DisplayName("Should tolerate one typo")
+    void shouldTolerateTypo() {
+        CarSearchResponse response = index.search("mercedez", null, null, null, 10);
+
+        assertEquals(1, response.getTotal());
+        assertEquals(4L, response.getResults().get(0).id());
+    }
+
+    @Test
+    @DisplayName("Should combine text, category and status filters with disjunctive facets")
+    void shouldCombineFilters() {
+        CarSearchResponse response = index.search("luxury", null, 3L, CarStatus.AVAILABLE, 10);
+
+        assertEquals(2, response.getTotal());
+        // status facet ignores the status filter itself
+        assertEquals(1, response.getFacets().get("status").get("RENTED"));
+    }
+
+    @Test
+    @DisplayName("Should apply status changes and deletions incrementally")
+    void shouldUpdateIncrementally() {
+        index.updateStatus(1L, CarStatus.RENTED);
+        index.remove(2L);
+
+        assertEquals(0, index.search("honda", null, null, CarStatus.AVAILABLE, 10).getTotal());
+        assertEquals(1, index.search("bmw", null, null, null, 10).getTotal());
+    }
+
+    @Test
+    @DisplayName("Should browse by filters alone with the same totals and disjunctive facets")
+    void shouldBrowseWithoutQuery() {
+        CarSearchResponse response = index.search(null, null, 3L, CarStatus.AVAILABLE, 10);
+
+        assertEquals(2, response.getTotal());
+        assertEquals(List.of(2L, 4L), response.getResults().stream().map(CarDocument::id).toList());
+        assertEquals(1, response.getFacets().get("status").get("RENTED"));
+        assertEquals(2, response.getFacets().get("status").get("AVAILABLE"));
+        assertEquals(1, response.getFacets().get("category").get("Standard Sedan"));
+        assertEquals(Map.of("BMW", 1, "Mercedes-Benz", 1), response.getFacets().get("brand"));
+    }
+
+    @Test
+    @DisplayName("Should page a filter-only browse by lowest ID and match brands case-insensitively")
+    void shouldPageBrowseResults() {
+        CarSearchResponse all = index.search("", null, null, null, 2);
+        CarSearchResponse bmw = index.search(null, "bmw", null, null, 10);
+
+        assertEquals(4, all.getTotal());
+        assertEquals(List.of(1L, 2L), all.getResults().stream().map(CarDocument::id).toList());
+        assertEquals(List.of(2L, 3L), bmw.getResults().stream().map(CarDocument::id).toList());
+    }
+
+    @Test
+    @DisplayName("Should keep filter postings and facet counts in step with incremental updates")
+    void shouldUpdateBrowseIncrementally() {
+        index.updateStatus(1L, CarStatus.RENTED);
+        index.remove(2L);
+
+        CarSearchResponse rented = index.search(null, null, null, CarStatus.RENTED, 10);
+        CarSearchResponse available = index.search(null, null, null, CarStatus.AVAILABLE, 10);
+
+        assertEquals(List.of(1L, 3L), rented.getResults().stream().map(CarDocument::id).toList());
+        assertEquals(List.of(4L), available.getResults().stream().map(CarDocument::id).toList());
+        assertEquals(Map.of("AVAILABLE", 1, "RENTED", 2), rented.getFacets().get("status"));
+        assertEquals(Map.of("BMW", 1, "Honda", 1), rented.getFacets().get("brand"));
+    }
+
+    private Car car(Long id, Category category, String brand, String model, CarStatus status) {
+        Car car = new Car();
+        car.setId(id);
+        car.setCategory(category);
+        car.setBrand(brand);
+        car.setModel(model);
+        car.setStatus(status);
+        return car;
+    }
+}
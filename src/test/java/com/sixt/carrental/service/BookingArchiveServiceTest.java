@@ -0,0 +1,115 @@
+package com.sixt.carrental.service;
+
+import com.sixt.carrental.common.ClusterLock;
+import com.sixt.carrental.repository.ArchivedBookingRepository;
+import com.sixt.carrental.repository.BookingRepository;
+import com.sixt.carrental.repository.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingArchiveServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Mock
+    private ClusterLock clusterLock;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookingArchiveService bookingArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        bookingArchiveService = new BookingArchiveService(bookingRepository, paymentRepository,
+                archivedBookingRepository, clusterLock, new TransactionTemplate(transactionManager), true, 180, 2);
+        lenient().when(clusterLock.tryLock("booking-archive")).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should move terminal bookings in batches until a batch comes back short")
+    void shouldArchiveInBatches() {
+        // Given
+        when(bookingRepository.findArchivableIds(anyCollection(), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(archivedBookingRepository.copyFromBookings(anyCollection(), anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(2, 1);
+        when(bookingRepository.deleteArchived(anyCollection(), anyCollection())).thenReturn(2, 1);
+
+        // When
+        bookingArchiveService.archive();
+
+        // Then
+        verify(paymentRepository).deleteByBookingIds(List.of(1L, 2L));
+        verify(paymentRepository).deleteByBookingIds(List.of(3L));
+        verify(bookingRepository, times(2)).findArchivableIds(anyCollection(), any(LocalDateTime.class), any(Pageable.class));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should roll the batch back when the archive copy and the delete disagree")
+    void shouldRollBackOnMismatch() {
+        // Given
+        when(bookingRepository.findArchivableIds(anyCollection(), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L));
+        when(archivedBookingRepository.copyFromBookings(anyCollection(), anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(bookingRepository.deleteArchived(anyCollection(), anyCollection())).thenReturn(2);
+
+        // When
+        bookingArchiveService.archive();
+
+        // Then
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when archival is disabled on this node")
+    void shouldSkipWhenDisabled() {
+        // Given
+        BookingArchiveService disabled = new BookingArchiveService(bookingRepository, paymentRepository,
+                archivedBookingRepository, clusterLock, new TransactionTemplate(transactionManager), false, 180, 2);
+
+        // When
+        disabled.archive();
+
+        // Then
+        verifyNoInteractions(bookingRepository, paymentRepository, archivedBookingRepository, clusterLock);
+    }
+
+    @Test
+    @DisplayName("Should leave the batch to the node that holds the archive lock")
+    void shouldSkipWhenAnotherNodeArchives() {
+        // Given
+        when(clusterLock.tryLock("booking-archive")).thenReturn(false);
+
+        // When
+        bookingArchiveService.archive();
+
+        // Then - one empty transaction, no batch read or moved
+        verifyNoInteractions(bookingRepository, paymentRepository, archivedBookingRepository);
+        verify(transactionManager).commit(any());
+    }
+}
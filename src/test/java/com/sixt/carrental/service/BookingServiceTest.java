@@ -1,21 +1,36 @@
 package com.sixt.carrental.service;
 
+import com.sixt.carrental.common.Money;
+import com.sixt.carrental.common.OptimisticRetry;
 import com.sixt.carrental.entity.*;
+import com.sixt.carrental.entity.Booking.BookingStatus;
+import com.sixt.carrental.entity.OutboxEvent.EventType;
+import com.sixt.carrental.pricing.PriceQuote;
 import com.sixt.carrental.repository.BookingRepository;
+import com.sixt.carrental.tracing.Spans;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +49,24 @@ class BookingServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Mock
+    private CarHoldService carHoldService;
+
+    @Mock
+    private OptimisticRetry optimisticRetry;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private Spans spans = new Spans(ObservationRegistry.NOOP);
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -82,6 +115,7 @@ class BookingServiceTest {
         when(userService.findById(1L)).thenReturn(Optional.of(testUser));
         when(carService.findById(1L)).thenReturn(Optional.of(testCar));
         when(pricingService.findPricingPlan(1L, 3, 1000)).thenReturn(Optional.of(pricingPlan));
+        when(pricingService.quote(eq(pricingPlan), any(LocalDate.class))).thenAnswer(invocation -> quote(invocation.getArgument(1), "26000.00"));
         when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
             Booking booking = invocation.getArgument(0);
             booking.setId(1L);
@@ -93,8 +127,8 @@ class BookingServiceTest {
 
         // Then - CRITICAL: Verify price is snapshotted!
         assertNotNull(booking);
-        assertEquals(new BigDecimal("26000"), booking.getPricePerMonth());  // Snapshot!
-        assertEquals(new BigDecimal("78000"), booking.getTotalAmount());    // 26000 × 3
+        assertEquals(new BigDecimal("26000.00"), booking.getPricePerMonth());  // Snapshot of the quoted price!
+        assertEquals(new BigDecimal("78000.00"), booking.getTotalAmount()); // 26000 × 3, scale 2 like the column
         assertEquals(3, booking.getDurationMonths());
         assertEquals(1000, booking.getKmPackage());
         assertEquals(startDate, booking.getStartDate());
@@ -132,6 +166,7 @@ class BookingServiceTest {
         when(userService.findById(1L)).thenReturn(Optional.of(testUser));
         when(carService.findById(1L)).thenReturn(Optional.of(testCar));
         when(pricingService.findPricingPlan(1L, 6, 2000)).thenReturn(Optional.of(pricingPlan));
+        when(pricingService.quote(eq(pricingPlan), any(LocalDate.class))).thenAnswer(invocation -> quote(invocation.getArgument(1), "26000.00"));
         when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
@@ -148,12 +183,238 @@ class BookingServiceTest {
         when(userService.findById(1L)).thenReturn(Optional.of(testUser));
         when(carService.findById(1L)).thenReturn(Optional.of(testCar));
         when(pricingService.findPricingPlan(1L, 3, 1000)).thenReturn(Optional.of(pricingPlan));
-        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(pricingService.quote(eq(pricingPlan), any(LocalDate.class))).thenAnswer(invocation -> quote(invocation.getArgument(1), "26000.00"));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(5L);
+            return booking;
+        });
 
         // When
         bookingService.createBooking(1L, 1L, 1L, 3, 1000, LocalDate.now());
 
         // Then
         verify(carService).markAsRented(1L);  // Car status updated!
+        verify(carHoldService).place(5L, 1L); // ...until the checkout hold expires
+    }
+
+    @Test
+    @DisplayName("Should snapshot the dynamic quote, not the base plan price")
+    void shouldSnapshotDynamicQuote() {
+        // Given - demand rules put 8% on top of the 26000 base price
+        LocalDate startDate = LocalDate.of(2024, 12, 1);
+
+        when(userService.findById(1L)).thenReturn(Optional.of(testUser));
+        when(carService.findById(1L)).thenReturn(Optional.of(testCar));
+        when(pricingService.findPricingPlan(1L, 3, 1000)).thenReturn(Optional.of(pricingPlan));
+        when(pricingService.quote(pricingPlan, startDate)).thenReturn(quote(startDate, "28080.00"));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Booking booking = bookingService.createBooking(1L, 1L, 1L, 3, 1000, startDate);
+
+        // Then
+        assertEquals(new BigDecimal("28080.00"), booking.getPricePerMonth());
+        assertEquals(new BigDecimal("84240.00"), booking.getTotalAmount());
+    }
+
+    @Test
+    @DisplayName("Should let the offered waitlist user book a held car")
+    void shouldBookHeldCarWithWaitlistOffer() {
+        // Given
+        testCar.setStatus(Car.CarStatus.HELD);
+
+        when(userService.findById(1L)).thenReturn(Optional.of(testUser));
+        when(carService.findById(1L)).thenReturn(Optional.of(testCar));
+        when(waitlistService.claimOffer(1L, 1L)).thenReturn(true);
+        when(pricingService.findPricingPlan(1L, 3, 1000)).thenReturn(Optional.of(pricingPlan));
+        when(pricingService.quote(eq(pricingPlan), any(LocalDate.class))).thenAnswer(invocation -> quote(invocation.getArgument(1), "26000.00"));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        bookingService.createBooking(1L, 1L, 1L, 3, 1000, LocalDate.now());
+
+        // Then
+        verify(carService).markHeldAsRented(1L);
+        verify(carService, never()).markAsRented(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject a held car for users without the offer")
+    void shouldRejectHeldCarWithoutOffer() {
+        // Given
+        testCar.setStatus(Car.CarStatus.HELD);
+
+        when(userService.findById(1L)).thenReturn(Optional.of(testUser));
+        when(carService.findById(1L)).thenReturn(Optional.of(testCar));
+        when(waitlistService.claimOffer(1L, 1L)).thenReturn(false);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                bookingService.createBooking(1L, 1L, 1L, 3, 1000, LocalDate.now()));
+
+        assertTrue(exception.getMessage().contains("not available"));
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Should sync only bookings changed since the watermark, re-reading a short overlap")
+    void shouldSyncChangedBookingsWithOverlap() {
+        // Given
+        LocalDateTime since = LocalDateTime.of(2025, 6, 1, 10, 0, 0);
+        Booking changed = new Booking();
+        changed.setId(9L);
+        when(bookingRepository.findByUser_IdAndUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(1L, since.minusSeconds(5)))
+                .thenReturn(List.of(changed));
+
+        // When
+        List<Booking> result = bookingService.getUserBookingsChangedSince(1L, since);
+
+        // Then
+        assertEquals(List.of(changed), result);
+        verify(bookingRepository, never()).findByUser_Id(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should confirm a pending booking, settle its hold and keep the car rented")
+    void shouldConfirmPendingBooking() {
+        // Given - the booking was loaded before the UPDATE (payment flow), so it still reads PENDING
+        runRetriesInline();
+        Booking booking = booking(BookingStatus.PENDING);
+        when(bookingRepository.transitionStatus(eq(1L), eq(Set.of(BookingStatus.PENDING)), eq(BookingStatus.CONFIRMED), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+        // When
+        Booking result = bookingService.confirmBooking(1L);
+
+        // Then - the stale instance is refreshed rather than the whole persistence context cleared
+        assertSame(booking, result);
+        verify(entityManager).refresh(booking);
+        verify(carHoldService).settle(1L);
+        verifyNoInteractions(waitlistService);
+        verify(carService, never()).markAsAvailable(anyLong());
+        verify(outboxService).bookingChanged(booking, EventType.BOOKING_CONFIRMED, BookingStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("Should refuse to confirm a booking that is no longer pending")
+    void shouldRefuseConfirmWhenGuardFails() {
+        // Given
+        runRetriesInline();
+        when(bookingRepository.transitionStatus(eq(1L), any(), eq(BookingStatus.CONFIRMED), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(bookingRepository.findStatusById(1L)).thenReturn(Optional.of(BookingStatus.CANCELLED));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> bookingService.confirmBooking(1L));
+
+        assertEquals("Cannot change booking 1 from CANCELLED to CONFIRMED", exception.getMessage());
+        verifyNoInteractions(carHoldService, waitlistService, outboxService, entityManager);
+        verify(carService, never()).markAsAvailable(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should cancel a pending booking, settle its hold and release the car")
+    void shouldCancelPendingBooking() {
+        // Given
+        runRetriesInline();
+        Booking booking = booking(BookingStatus.CANCELLED);
+        when(bookingRepository.transitionStatus(eq(1L), eq(Set.of(BookingStatus.PENDING)), eq(BookingStatus.CANCELLED), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(waitlistService.offerReleasedCar(1L, 1L)).thenReturn(false);
+
+        // When
+        bookingService.cancelBooking(1L);
+
+        // Then - only the first source status was tried
+        verify(bookingRepository, never()).transitionStatus(eq(1L), eq(Set.of(BookingStatus.CONFIRMED)), any(), any());
+        verify(carHoldService).settle(1L);
+        verify(carService).markAsAvailable(1L);
+        verify(entityManager, never()).refresh(booking);
+        verify(entityManager).refresh(testCar);
+        verify(outboxService).bookingChanged(booking, EventType.BOOKING_CANCELLED, BookingStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("Should cancel a confirmed booking without touching the settled hold and offer the car to the waitlist")
+    void shouldCancelConfirmedBooking() {
+        // Given
+        runRetriesInline();
+        Booking booking = booking(BookingStatus.CANCELLED);
+        when(bookingRepository.transitionStatus(eq(1L), eq(Set.of(BookingStatus.PENDING)), eq(BookingStatus.CANCELLED), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(bookingRepository.transitionStatus(eq(1L), eq(Set.of(BookingStatus.CONFIRMED)), eq(BookingStatus.CANCELLED), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(waitlistService.offerReleasedCar(1L, 1L)).thenReturn(true);
+
+        // When
+        bookingService.cancelBooking(1L);
+
+        // Then - the waitlist took the car, so it is not put back on the market
+        verify(carHoldService, never()).settle(anyLong());
+        verify(carService, never()).markAsAvailable(anyLong());
+        verify(outboxService).bookingChanged(booking, EventType.BOOKING_CANCELLED, BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    @DisplayName("Should refuse to complete a booking that is not confirmed")
+    void shouldRefuseCompleteWhenGuardFails() {
+        // Given
+        runRetriesInline();
+        when(bookingRepository.transitionStatus(eq(1L), any(), eq(BookingStatus.COMPLETED), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(bookingRepository.findStatusById(1L)).thenReturn(Optional.of(BookingStatus.PENDING));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> bookingService.completeBooking(1L));
+
+        assertEquals("Cannot change booking 1 from PENDING to COMPLETED", exception.getMessage());
+        verify(bookingRepository, never()).findById(anyLong());
+        verify(carService, never()).markAsAvailable(anyLong());
+        verifyNoInteractions(carHoldService, waitlistService, outboxService);
+    }
+
+    @Test
+    @DisplayName("Should complete a confirmed booking and release the car")
+    void shouldCompleteConfirmedBooking() {
+        // Given
+        runRetriesInline();
+        Booking booking = booking(BookingStatus.COMPLETED);
+        when(bookingRepository.transitionStatus(eq(1L), eq(Set.of(BookingStatus.CONFIRMED)), eq(BookingStatus.COMPLETED), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(waitlistService.offerReleasedCar(1L, 1L)).thenReturn(false);
+
+        // When
+        bookingService.completeBooking(1L);
+
+        // Then
+        verify(carHoldService, never()).settle(anyLong());
+        verify(carService).markAsAvailable(1L);
+        verify(outboxService).bookingChanged(booking, EventType.BOOKING_COMPLETED, BookingStatus.CONFIRMED);
+    }
+
+    // Transitions go through OptimisticRetry; run the action directly
+    private void runRetriesInline() {
+        when(optimisticRetry.inTransaction(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+    }
+
+    private Booking booking(BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setUser(testUser);
+        booking.setCar(testCar);
+        booking.setStatus(status);
+        return booking;
+    }
+
+    private PriceQuote quote(LocalDate startDate, String pricePerMonth) {
+        Money base = Money.of(pricingPlan.getPricePerMonth());
+        Money price = Money.of(new BigDecimal(pricePerMonth));
+        return new PriceQuote(pricingPlan.getId(), startDate, base, price,
+                price.times(pricingPlan.getDurationMonths()), 1.0, 0, 0);
     }
-}
\ No newline at end of file
+}
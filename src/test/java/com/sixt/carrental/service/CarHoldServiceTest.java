@@ -0,0 +1,143 @@
+package com.sixt.carrental.service;
+
+import com.sixt.carrental.entity.CarHold;
+import com.sixt.carrental.hold.CarHoldExpired;
+import com.sixt.carrental.repository.CarHoldRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Car Hold Service Tests")
+class CarHoldServiceTest {
+
+    private static final long TICK_MS = 10;
+
+    @Mock
+    private CarHoldRepository carHoldRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    @DisplayName("Should announce a hold once its tick has passed")
+    void shouldPublishExpiredHoldOnTick() throws InterruptedException {
+        // Given - zero ttl, placed outside a transaction so the wheel learns about it immediately
+        CarHoldService service = service(0);
+        stubSave();
+        service.place(5L, 7L);
+        assertEquals(1, service.pendingHolds());
+
+        // When
+        Thread.sleep(5 * TICK_MS);
+        service.tick();
+
+        // Then
+        verify(eventPublisher).publishEvent(new CarHoldExpired(5L));
+        assertEquals(0, service.pendingHolds());
+    }
+
+    @Test
+    @DisplayName("Should not expire a hold that payment settled first")
+    void shouldNotExpireSettledHold() throws InterruptedException {
+        // Given
+        CarHoldService service = service(0);
+        stubSave();
+        service.place(5L, 7L);
+        when(carHoldRepository.release(5L)).thenReturn(1);
+
+        // When - payment deletes the row before the tick
+        service.settle(5L);
+        Thread.sleep(5 * TICK_MS);
+        service.tick();
+
+        // Then - the wheel entry is gone and a late claim finds no row
+        assertEquals(0, service.pendingHolds());
+        verify(eventPublisher, never()).publishEvent(any());
+        when(carHoldRepository.releaseIfExpired(eq(5L), any(LocalDateTime.class))).thenReturn(0);
+        assertFalse(service.releaseIfExpired(5L));
+    }
+
+    @Test
+    @DisplayName("Should leave the wheel alone when expiry claimed the hold first")
+    void shouldIgnoreSettleAfterExpiry() {
+        // Given
+        CarHoldService service = service(900);
+        stubSave();
+        service.place(5L, 7L);
+        when(carHoldRepository.releaseIfExpired(eq(5L), any(LocalDateTime.class))).thenReturn(1);
+        when(carHoldRepository.release(5L)).thenReturn(0);
+
+        // When
+        boolean expired = service.releaseIfExpired(5L);
+        service.settle(5L);
+
+        // Then - settle lost the race, so it must not touch the wheel
+        assertTrue(expired);
+        assertEquals(1, service.pendingHolds());
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of payment and expiry claim a hold when they race")
+    void shouldLetOneSideWinRace() throws Exception {
+        // Given - the repository deletes the single row for whichever caller gets there first
+        CarHoldService service = service(0);
+        AtomicBoolean row = new AtomicBoolean(true);
+        AtomicBoolean paymentWon = new AtomicBoolean(false);
+        when(carHoldRepository.release(5L)).thenAnswer(inv -> {
+            boolean deleted = row.getAndSet(false);
+            paymentWon.set(deleted);
+            return deleted ? 1 : 0;
+        });
+        when(carHoldRepository.releaseIfExpired(eq(5L), any(LocalDateTime.class)))
+                .thenAnswer(inv -> row.getAndSet(false) ? 1 : 0);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        CompletableFuture<Void> payment = CompletableFuture.runAsync(() -> {
+            await(start);
+            service.settle(5L);
+        });
+        CompletableFuture<Boolean> expiry = CompletableFuture.supplyAsync(() -> {
+            await(start);
+            return service.releaseIfExpired(5L);
+        });
+        start.countDown();
+        payment.get(5, TimeUnit.SECONDS);
+        boolean expiryWon = expiry.get(5, TimeUnit.SECONDS);
+
+        // Then - the row is deleted exactly once: expiry wins only if payment found nothing to delete
+        assertFalse(row.get());
+        assertNotEquals(paymentWon.get(), expiryWon);
+    }
+
+    private CarHoldService service(long ttlSeconds) {
+        return new CarHoldService(carHoldRepository, eventPublisher, ttlSeconds, TICK_MS, 60);
+    }
+
+    private void stubSave() {
+        when(carHoldRepository.save(any(CarHold.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.sixt.carrental.service;
+
+import com.sixt.carrental.cache.CatalogVersion;
+import com.sixt.carrental.common.OptimisticRetry;
+import com.sixt.carrental.entity.Car;
+import com.sixt.carrental.entity.Car.CarStatus;
+import com.sixt.carrental.entity.Category;
+import com.sixt.carrental.repository.CarRepository;
+import com.sixt.carrental.search.CarSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Car Service Tests")
+class CarServiceTest {
+
+    @Mock
+    private CarRepository carRepository;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private CarSearchIndex carSearchIndex;
+
+    @Mock
+    private OptimisticRetry optimisticRetry;
+
+    @InjectMocks
+    private CarService carService;
+
+    private Category category;
+    private Car car;
+
+    @BeforeEach
+    void setUp() {
+        category = new Category();
+        category.setId(1L);
+        category.setCode("SEDAN_STANDARD");
+
+        car = new Car();
+        car.setId(1L);
+        car.setCategory(category);
+        car.setBrand("BMW");
+        car.setModel("3 Series");
+        car.setImageUrl("https://example.com/bmw.jpg");
+        car.setStatus(CarStatus.AVAILABLE);
+        car.setVersion(5L);
+    }
+
+    @Test
+    @DisplayName("Should reject a car update carrying a stale version")
+    void shouldRejectStaleCarUpdate() {
+        // Given - the client read version 4, the row is at version 5
+        when(carRepository.findById(1L)).thenReturn(Optional.of(car));
+        Car update = new Car();
+        update.setId(1L);
+        update.setVersion(4L);
+        update.setModel("5 Series");
+
+        // When & Then - surfaced as a conflict, nothing written or re-indexed
+        assertThrows(OptimisticLockingFailureException.class, () -> carService.updateCar(update));
+        assertEquals("3 Series", car.getModel());
+        verify(carRepository, never()).save(any());
+        verifyNoInteractions(catalogVersion, carSearchIndex);
+    }
+
+    @Test
+    @DisplayName("Should apply only the non-null fields of a car update")
+    void shouldApplyPartialCarUpdate() {
+        // Given - status is defaulted on a new Car, so clear it to leave it untouched
+        when(carRepository.findById(1L)).thenReturn(Optional.of(car));
+        when(carRepository.save(car)).thenReturn(car);
+        Car update = new Car();
+        update.setId(1L);
+        update.setVersion(5L);
+        update.setModel("5 Series");
+        update.setStatus(null);
+
+        // When
+        Car saved = carService.updateCar(update);
+
+        // Then
+        assertEquals("5 Series", saved.getModel());
+        assertEquals("BMW", saved.getBrand());
+        assertEquals("https://example.com/bmw.jpg", saved.getImageUrl());
+        assertEquals(CarStatus.AVAILABLE, saved.getStatus());
+        assertSame(category, saved.getCategory());
+        verify(catalogVersion).bump();
+        verify(carSearchIndex).index(car);
+    }
+
+    @Test
+    @DisplayName("Should accept a car update without a version")
+    void shouldAcceptUnversionedCarUpdate() {
+        // Given
+        when(carRepository.findById(1L)).thenReturn(Optional.of(car));
+        when(carRepository.save(car)).thenReturn(car);
+        Car update = new Car();
+        update.setId(1L);
+        update.setStatus(CarStatus.MAINTENENCE);
+
+        // When
+        Car saved = carService.updateCar(update);
+
+        // Then
+        assertEquals(CarStatus.MAINTENENCE, saved.getStatus());
+        assertEquals("3 Series", saved.getModel());
+    }
+}
@@ -0,0 +1,145 @@
+package com.sixt.carrental.service;
+
+import com.sixt.carrental.cache.CatalogVersion;
+import com.sixt.carrental.dto.response.FleetImportReport;
+import com.sixt.carrental.entity.Category;
+import com.sixt.carrental.fleet.CarImportReader;
+import com.sixt.carrental.repository.CategoryRepository;
+import com.sixt.carrental.search.CarSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FleetImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private CarSearchIndex carSearchIndex;
+
+    private FleetImportService fleetImportService;
+
+    @BeforeEach
+    void setUp() {
+        fleetImportService = new FleetImportService(jdbcTemplate, new TransactionTemplate(transactionManager),
+                categoryRepository, catalogVersion, carSearchIndex, 2);
+        when(categoryRepository.findAll()).thenReturn(List.of(new Category(1L, "SUV", "SUV", null, null)));
+    }
+
+    private FleetImportReport importCsv(String csv) throws IOException {
+        return fleetImportService.importCars(CarImportReader.csv(new StringReader(csv)));
+    }
+
+    @Test
+    @DisplayName("Should insert valid rows in batches and report invalid ones by line")
+    @SuppressWarnings("unchecked")
+    void shouldBatchInsertsAndReportInvalidRows() throws IOException {
+        // Given
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT"), anyList()))
+                .thenReturn(new int[]{-2, -2}, new int[]{-2});
+
+        // When
+        FleetImportReport report = importCsv("""
+                categoryCode,brand,model,status
+                SUV,BMW,X5,
+                VAN,VW,Bus,
+                SUV,Audi,Q7,RENTED
+                SUV,Audi,Q5,
+                SUV,Kia,Sorento,MAINTENENCE
+                """);
+
+        // Then
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("INSERT"), batches.capture());
+        assertEquals(List.of(2, 1), batches.getAllValues().stream().map(List::size).toList());
+        assertEquals(5, report.rows());
+        assertEquals(3, report.inserted());
+        assertEquals(2, report.failed());
+        assertEquals(3, report.errors().get(0).line());
+        assertEquals("Unknown category: VAN", report.errors().get(0).message());
+        assertEquals(4, report.errors().get(1).line());
+        verify(catalogVersion).bump();
+        verify(carSearchIndex).reindexAll();
+    }
+
+    @Test
+    @DisplayName("Should retry a failing batch row by row and report only the rows that fail")
+    void shouldIsolateFailingRows() throws IOException {
+        // Given
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT"), anyList()))
+                .thenThrow(new DataIntegrityViolationException("batch failed"));
+        when(jdbcTemplate.update(startsWith("INSERT"), any(Object[].class)))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+
+        // When
+        FleetImportReport report = importCsv("""
+                categoryCode,brand,model
+                SUV,BMW,X5
+                SUV,BMW,X6
+                """);
+
+        // Then
+        assertEquals(1, report.inserted());
+        assertEquals(1, report.failed());
+        assertEquals(3, report.errors().get(0).line());
+        assertEquals("value too long", report.errors().get(0).message());
+    }
+
+    @Test
+    @DisplayName("Should update cars by ID and report unknown IDs")
+    void shouldUpdateById() throws IOException {
+        // Given
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE"), anyList())).thenReturn(new int[]{1, 0});
+
+        // When
+        FleetImportReport report = importCsv("""
+                id,categoryCode,brand,model
+                10,,,X5 M
+                99,SUV,,
+                """);
+
+        // Then
+        assertEquals(1, report.updated());
+        assertEquals(1, report.failed());
+        assertEquals("Car not found with ID: 99", report.errors().get(0).message());
+    }
+
+    @Test
+    @DisplayName("Should leave caches alone when nothing was written")
+    void shouldNotRefreshCachesWithoutChanges() throws IOException {
+        // When
+        FleetImportReport report = importCsv("categoryCode,brand,model\nVAN,VW,Bus\n");
+
+        // Then
+        assertEquals(1, report.failed());
+        verifyNoInteractions(jdbcTemplate, catalogVersion, carSearchIndex);
+    }
+}
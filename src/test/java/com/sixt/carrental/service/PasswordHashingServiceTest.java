@@ -0,0 +1,101 @@
+package com.sixt.carrental.service;
+
+import com.sixt.carrental.service.PasswordHashingService.HashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Password Hashing Service Tests")
+class PasswordHashingServiceTest {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingService passwordHashingService;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordHashingService.shutdown();
+    }
+
+    // Every encode blocks until the test releases it; "started" counts down once a worker is inside BCrypt
+    private void blockEncoding(CountDownLatch started) {
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return "hash";
+        });
+    }
+
+    private double rejected() {
+        return meterRegistry.get("password.hash.rejected").counter().count();
+    }
+
+    @Test
+    @DisplayName("Should reject immediately when the worker and the queue are full")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        // Given - one worker busy, one call waiting in the single queue slot
+        passwordHashingService = new PasswordHashingService(passwordEncoder, meterRegistry, 1, 1, 10_000);
+        CountDownLatch started = new CountDownLatch(1);
+        blockEncoding(started);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHashingService.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHashingService.encode("b"));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("password.hash.queue.depth").gauge().value() < 1) {
+            assertTrue(System.currentTimeMillis() < deadline, "second call never reached the queue");
+            Thread.sleep(5);
+        }
+
+        // When & Then
+        assertThrows(HashingBusyException.class, () -> passwordHashingService.encode("c"));
+        assertEquals(1.0, rejected());
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should give up with HashingBusyException when hashing exceeds the timeout")
+    void shouldTimeOut() {
+        // Given
+        passwordHashingService = new PasswordHashingService(passwordEncoder, meterRegistry, 1, 4, 50);
+        blockEncoding(new CountDownLatch(1));
+
+        // When & Then
+        assertThrows(HashingBusyException.class, () -> passwordHashingService.encode("slow"));
+        assertEquals(1.0, rejected());
+    }
+
+    @Test
+    @DisplayName("Should pass encoder failures through unchanged")
+    void shouldPropagateEncoderFailures() {
+        // Given
+        passwordHashingService = new PasswordHashingService(passwordEncoder, meterRegistry, 1, 4, 5000);
+        when(passwordEncoder.matches("raw", "broken")).thenThrow(new IllegalArgumentException("Invalid hash"));
+
+        // When & Then
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> passwordHashingService.matches("raw", "broken"));
+        assertEquals("Invalid hash", e.getMessage());
+        assertEquals(0.0, rejected());
+    }
+}
@@ -1,5 +1,7 @@
 package com.sixt.carrental.service;
 
+import com.sixt.carrental.cache.CatalogVersion;
+import com.sixt.carrental.common.Money;
 import com.sixt.carrental.entity.Category;
 import com.sixt.carrental.entity.PricingPlan;
 import com.sixt.carrental.repository.PricingPlanRepository;
@@ -10,11 +12,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.math.BigDecimal;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +28,9 @@ class PricingServiceTest {
     @Mock
     private PricingPlanRepository pricingPlanRepository;
 
+    @Mock
+    private CatalogVersion catalogVersion;
+
     @InjectMocks
     private PricingService pricingService;
 
@@ -46,6 +53,7 @@ class PricingServiceTest {
         pricingPlan.setKmPackage(1000);
         pricingPlan.setPricePerMonth(new BigDecimal("26000"));
         pricingPlan.setIsActive(true);
+        pricingPlan.setVersion(2L);
     }
 
     @Test
@@ -57,10 +65,10 @@ class PricingServiceTest {
         )).thenReturn(Optional.of(pricingPlan));
 
         // When
-        BigDecimal totalPrice = pricingService.calculateTotalPrice(1L, 3, 1000);
+        Money totalPrice = pricingService.calculateTotalPrice(1L, 3, 1000);
 
         // Then
-        assertEquals(new BigDecimal("78000"), totalPrice);
+        assertEquals(new BigDecimal("78000.00"), totalPrice.toBigDecimal());
         verify(pricingPlanRepository).findByCategoryIdAndDurationMonthsAndKmPackageAndIsActiveTrue(1L, 3, 1000);
     }
 
@@ -113,10 +121,10 @@ class PricingServiceTest {
         )).thenReturn(Optional.of(oneMonthPlan));
 
         // When
-        BigDecimal totalPrice = pricingService.calculateTotalPrice(1L, 1, 500);
+        Money totalPrice = pricingService.calculateTotalPrice(1L, 1, 500);
 
         // Then
-        assertEquals(new BigDecimal("25000"), totalPrice);  // 25000 × 1
+        assertEquals(new BigDecimal("25000.00"), totalPrice.toBigDecimal());  // 25000 × 1
     }
 
     @Test
@@ -134,9 +142,49 @@ class PricingServiceTest {
         )).thenReturn(Optional.of(sixMonthPlan));
 
         // When
-        BigDecimal totalPrice = pricingService.calculateTotalPrice(1L, 6, 2000);
+        Money totalPrice = pricingService.calculateTotalPrice(1L, 6, 2000);
+
+        // Then
+        assertEquals(new BigDecimal("168000.00"), totalPrice.toBigDecimal());  // 28000 × 6
+    }
+
+    @Test
+    @DisplayName("Should reject a pricing plan update carrying a stale version")
+    void shouldRejectStalePricingPlanUpdate() {
+        // Given - the client read version 1, the row is at version 2
+        when(pricingPlanRepository.findById(1L)).thenReturn(Optional.of(pricingPlan));
+        PricingPlan update = new PricingPlan();
+        update.setId(1L);
+        update.setVersion(1L);
+        update.setPricePerMonth(new BigDecimal("27000"));
+
+        // When & Then - surfaced as a conflict, nothing written
+        assertThrows(OptimisticLockingFailureException.class, () -> pricingService.updatePricingPlan(update));
+        assertEquals(new BigDecimal("26000"), pricingPlan.getPricePerMonth());
+        verify(pricingPlanRepository, never()).save(any());
+        verifyNoInteractions(catalogVersion);
+    }
+
+    @Test
+    @DisplayName("Should apply only the non-null fields of a pricing plan update")
+    void shouldApplyPartialPricingPlanUpdate() {
+        // Given
+        when(pricingPlanRepository.findById(1L)).thenReturn(Optional.of(pricingPlan));
+        when(pricingPlanRepository.save(pricingPlan)).thenReturn(pricingPlan);
+        PricingPlan update = new PricingPlan();
+        update.setId(1L);
+        update.setVersion(2L);
+        update.setPricePerMonth(new BigDecimal("27000"));
+
+        // When
+        PricingPlan saved = pricingService.updatePricingPlan(update);
 
         // Then
-        assertEquals(new BigDecimal("168000"), totalPrice);  // 28000 × 6
+        assertEquals(new BigDecimal("27000"), saved.getPricePerMonth());
+        assertEquals(3, saved.getDurationMonths());
+        assertEquals(1000, saved.getKmPackage());
+        assertTrue(saved.getIsActive());
+        assertSame(sedanCategory, saved.getCategory());
+        verify(catalogVersion).bump();
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,16 @@
 package com.sixt.carrental.service;
 
+import com.sixt.carrental.cache.InvalidationPublisher;
+import com.sixt.carrental.cache.UserCache;
 import com.sixt.carrental.entity.User;
 import com.sixt.carrental.entity.User.UserRole;
 import com.sixt.carrental.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,6 +19,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,13 +32,17 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
-    @InjectMocks
+    private PasswordHashingService passwordHashingService;
     private UserService userService;
 
     private User testUser;
 
     @BeforeEach
     void setUp() {
+        userService = new UserService(userRepository, passwordHashingService);
+        passwordHashingService = new PasswordHashingService(passwordEncoder, new SimpleMeterRegistry(), 1, 4, 5000);
+        userService = new UserService(userRepository, passwordHashingService, new UserCache(true, 60, 100, mock(InvalidationPublisher.class)));
+
         // Create test user
         testUser = new User();
         testUser.setId(1L);
@@ -46,6 +54,11 @@ class UserServiceTest {
         testUser.setRole(UserRole.CUSTOMER);
     }
 
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
     @Test
     @DisplayName("Should register user with encrypted password")
     void shouldRegisterUserWithEncryptedPassword() {
@@ -124,4 +137,82 @@ class UserServiceTest {
         assertTrue(isValid);
         verify(passwordEncoder).matches(rawPassword, encodedPassword);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should rehash the stored password on login when the work factor changed")
+    void shouldRehashOutdatedPasswordOnLogin() {
+        // Given
+        String oldHash = "$2a$08$outdated...";
+        testUser.setPassword(oldHash);
+        when(passwordEncoder.matches("password123", oldHash)).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(oldHash)).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("$2a$12$upgraded...");
+
+        // When
+        boolean isValid = userService.verifyPassword(testUser, "password123");
+
+        // Then
+        assertTrue(isValid);
+        assertEquals("$2a$12$upgraded...", testUser.getPassword());
+        verify(userRepository).save(testUser);
+    }
+
+    @Test
+    @DisplayName("Should keep the stored hash when it is current or the password is wrong")
+    void shouldNotRehashCurrentOrWrongPassword() {
+        // Given
+        String hash = testUser.getPassword();
+        when(passwordEncoder.matches("password123", hash)).thenReturn(true);
+        when(passwordEncoder.matches("wrong", hash)).thenReturn(false);
+        when(passwordEncoder.upgradeEncoding(hash)).thenReturn(false);
+
+        // When
+        boolean valid = userService.verifyPassword(testUser, "password123");
+        boolean invalid = userService.verifyPassword(testUser, "wrong");
+
+        // Then
+        assertTrue(valid);
+        assertFalse(invalid);
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups by ID and email from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        // When
+        userService.findById(1L);
+        Optional<User> byId = userService.findById(1L);
+        Optional<User> byEmail = userService.findByEmail(testUser.getEmail());
+
+        // Then - one database read, and callers get copies rather than the cached instance
+        assertTrue(byId.isPresent());
+        assertTrue(byEmail.isPresent());
+        assertNotSame(testUser, byId.get());
+        assertEquals(testUser.getEmail(), byEmail.get().getEmail());
+        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    @DisplayName("Should evict cached user on update and delete")
+    void shouldEvictCachedUserOnUpdateAndDelete() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        userService.findById(1L);
+
+        // When
+        userService.updateUser(testUser);
+        userService.findById(1L);
+        userService.deleteUser(1L);
+        userService.findById(1L);
+
+        // Then - every lookup after a write goes back to the database
+        verify(userRepository, times(3)).findById(1L);
+    }
+}
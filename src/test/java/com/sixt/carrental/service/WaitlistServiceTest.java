@@ -0,0 +1,189 @@
+package com.sixt.carrental.service;
+
+import com.sixt.carrental.entity.WaitlistEntry;
+import com.sixt.carrental.entity.WaitlistEntry.WaitlistStatus;
+import com.sixt.carrental.repository.WaitlistEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Waitlist Service Tests")
+class WaitlistServiceTest {
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private CarService carService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private WaitlistService waitlistService;
+
+    @BeforeEach
+    void setUp() {
+        waitlistService = new WaitlistService(waitlistEntryRepository, carService, outboxService, transactionTemplate, 900);
+    }
+
+    @Test
+    @DisplayName("Should not hold a released car when nobody is waiting")
+    void shouldNotHoldCarWithEmptyQueue() {
+        // Given
+        when(waitlistEntryRepository.findByStatusOrderByIdAsc(WaitlistStatus.WAITING)).thenReturn(List.of());
+        waitlistService.loadQueues();
+        when(waitlistEntryRepository.existsByCategoryIdAndStatus(1L, WaitlistStatus.WAITING)).thenReturn(false);
+
+        // When
+        boolean offered = waitlistService.offerReleasedCar(7L, 1L);
+
+        // Then - caller makes the car AVAILABLE itself
+        assertFalse(offered);
+        verifyNoInteractions(carService, outboxService);
+    }
+
+    @Test
+    @DisplayName("Should offer to an entry joined on another node when the local queue is empty")
+    void shouldFallBackToTableWhenLocalQueueEmpty() {
+        // Given - entry 20 was accepted by another node and is not in this node's queue
+        when(waitlistEntryRepository.findByStatusOrderByIdAsc(WaitlistStatus.WAITING)).thenReturn(List.of());
+        waitlistService.loadQueues();
+        WaitlistEntry remote = entry(20L, 1L);
+        when(waitlistEntryRepository.existsByCategoryIdAndStatus(1L, WaitlistStatus.WAITING)).thenReturn(true);
+        when(carService.holdForWaitlist(7L)).thenReturn(true);
+        when(waitlistEntryRepository.findFirstByCategoryIdAndStatusOrderByIdAsc(1L, WaitlistStatus.WAITING))
+                .thenReturn(Optional.of(remote));
+        when(waitlistEntryRepository.offer(eq(20L), eq(7L), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        boolean offered = waitlistService.offerReleasedCar(7L, 1L);
+
+        // Then
+        assertTrue(offered);
+        verify(carService, never()).releaseHold(anyLong());
+        verify(outboxService).waitlistOffered(eq(20L), eq(120L), eq(1L), eq(7L), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should offer a released car to the head of the queue in the table")
+    void shouldOfferToHeadOfQueue() {
+        // Given - this node only knows about entry 12; entry 10 joined on another node and is ahead of it
+        when(waitlistEntryRepository.findByStatusOrderByIdAsc(WaitlistStatus.WAITING))
+                .thenReturn(List.of(entry(12L, 1L), entry(11L, 2L)));
+        waitlistService.loadQueues();
+        when(carService.holdForWaitlist(7L)).thenReturn(true);
+        when(waitlistEntryRepository.findFirstByCategoryIdAndStatusOrderByIdAsc(1L, WaitlistStatus.WAITING))
+                .thenReturn(Optional.of(entry(10L, 1L)));
+        when(waitlistEntryRepository.offer(eq(10L), eq(7L), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        boolean offered = waitlistService.offerReleasedCar(7L, 1L);
+
+        // Then - the offer is recorded for the user's live stream
+        assertTrue(offered);
+        verify(waitlistEntryRepository, never()).offer(eq(12L), anyLong(), any(), any());
+        verify(outboxService).waitlistOffered(eq(10L), eq(110L), eq(1L), eq(7L), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should count the position in the table, including entries joined on other nodes")
+    void shouldCountPositionFromTable() {
+        // Given - nothing mirrored locally; two entries are ahead of 12 in the table
+        when(waitlistEntryRepository.findByStatusOrderByIdAsc(WaitlistStatus.WAITING)).thenReturn(List.of());
+        waitlistService.loadQueues();
+        when(waitlistEntryRepository.countByCategoryIdAndStatusAndIdLessThan(1L, WaitlistStatus.WAITING, 12L))
+                .thenReturn(2L);
+        WaitlistEntry offered = entry(13L, 1L);
+        offered.setStatus(WaitlistStatus.OFFERED);
+
+        // When
+        Optional<Integer> position = waitlistService.position(entry(12L, 1L));
+
+        // Then
+        assertEquals(Optional.of(3), position);
+        assertEquals(Optional.empty(), waitlistService.position(offered));
+    }
+
+    @Test
+    @DisplayName("Should skip entries that are no longer waiting")
+    void shouldSkipStaleEntries() {
+        // Given - entry 10 was cancelled on another node between reading the head and offering
+        when(waitlistEntryRepository.findByStatusOrderByIdAsc(WaitlistStatus.WAITING))
+                .thenReturn(List.of(entry(10L, 1L), entry(11L, 1L)));
+        waitlistService.loadQueues();
+        when(carService.holdForWaitlist(7L)).thenReturn(true);
+        when(waitlistEntryRepository.findFirstByCategoryIdAndStatusOrderByIdAsc(1L, WaitlistStatus.WAITING))
+                .thenReturn(Optional.of(entry(10L, 1L)), Optional.of(entry(11L, 1L)));
+        when(waitlistEntryRepository.offer(eq(10L), eq(7L), any(), any())).thenReturn(0);
+        when(waitlistEntryRepository.offer(eq(11L), eq(7L), any(), any())).thenReturn(1);
+
+        // When
+        waitlistService.offerReleasedCar(7L, 1L);
+
+        // Then
+        verify(waitlistEntryRepository).offer(eq(11L), eq(7L), any(), any());
+        verify(carService, never()).releaseHold(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should release the hold when every entry turns out stale")
+    void shouldReleaseHoldWhenQueueDrains() {
+        // Given
+        when(waitlistEntryRepository.findByStatusOrderByIdAsc(WaitlistStatus.WAITING))
+                .thenReturn(List.of(entry(10L, 1L)));
+        waitlistService.loadQueues();
+        when(carService.holdForWaitlist(7L)).thenReturn(true);
+        when(waitlistEntryRepository.offer(eq(10L), eq(7L), any(), any())).thenReturn(0);
+        when(waitlistEntryRepository.findFirstByCategoryIdAndStatusOrderByIdAsc(1L, WaitlistStatus.WAITING))
+                .thenReturn(Optional.of(entry(10L, 1L)), Optional.empty());
+        when(waitlistEntryRepository.existsByCategoryIdAndStatus(1L, WaitlistStatus.WAITING)).thenReturn(false);
+
+        // When
+        waitlistService.offerReleasedCar(7L, 1L);
+        boolean offeredAgain = waitlistService.offerReleasedCar(8L, 1L);
+
+        // Then - the stale hint is gone, so the next release checks the table instead of holding the car
+        verify(carService).releaseHold(7L);
+        verify(carService, never()).holdForWaitlist(8L);
+        verifyNoInteractions(outboxService);
+        assertFalse(offeredAgain);
+    }
+
+    @Test
+    @DisplayName("Should reject joining while cars are available")
+    void shouldRejectJoinWhenCarsAvailable() {
+        // Given
+        when(carService.hasAvailableCars(1L)).thenReturn(true);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> waitlistService.join(5L, 1L));
+        verify(waitlistEntryRepository, never()).save(any());
+    }
+
+    private static WaitlistEntry entry(Long id, Long categoryId) {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setId(id);
+        entry.setUserId(100L + id);
+        entry.setCategoryId(categoryId);
+        entry.setStatus(WaitlistStatus.WAITING);
+        return entry;
+    }
+}
@@ -0,0 +1,325 @@
+package com.sixt.carrental.stress;
+
+import com.sixt.carrental.entity.Booking;
+import com.sixt.carrental.entity.Car;
+import com.sixt.carrental.entity.Car.CarStatus;
+import com.sixt.carrental.entity.User;
+import com.sixt.carrental.repository.CarRepository;
+import com.sixt.carrental.repository.CategoryRepository;
+import com.sixt.carrental.repository.UserRepository;
+import com.sixt.carrental.service.BookingService;
+import com.sixt.carrental.service.PaymentService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Multi-threaded runs of the real services against embedded H2 (seeded catalog), checking the booking
+// invariants afterwards. Not part of ./gradlew test - run with ./gradlew stressTest [-Pstress.ops=2000].
+// Operations may fail under contention (guarded transitions, duplicate payments); the invariants may not:
+//  - at most one active (PENDING/CONFIRMED) booking per car, and a car is RENTED exactly while it has one
+//  - at most one payment per booking
+//  - CONFIRMED/COMPLETED bookings have a successful payment; a successful payment never leaves a booking PENDING
+@Tag("stress")
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=16",
+        "management.tracing.sampling.probability=0.0",
+        // The analytics rollups upsert with Postgres-only ON CONFLICT, which H2 rejects
+        "app.outbox.relay-enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingConcurrencyStressTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingConcurrencyStressTest.class);
+
+    private static final int THREADS = 8;
+    private static final int OPS_PER_THREAD = Integer.getInteger("stress.ops", 400);
+    private static final int DURATION_MONTHS = 3;
+    private static final int KM_PACKAGE = 1000;
+
+    // Business-rule rejections the services raise when another thread got there first
+    private static final List<String> EXPECTED_REJECTIONS = List.of(
+            "Car is not available for booking",
+            "Car is no longer held for this booking",
+            "Cannot change booking",
+            "Payment already exists for booking");
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeAll
+    void createUsers() {
+        for (int i = 0; i < THREADS; i++) {
+            User user = new User();
+            user.setEmail("stress-" + UUID.randomUUID() + "@example.com");
+            user.setPassword("not-used");
+            user.setFirstName("Stress");
+            user.setLastName("User" + i);
+            user.setPhoneNumber("0000000000");
+            userIds.add(userRepository.save(user).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Mixed create/pay/cancel/complete on four cars keeps every booking invariant")
+    void mixedWorkloadKeepsInvariants() throws Exception {
+        // Given: the four seeded sedans, all contended by every thread
+        Fleet fleet = fleet("SEDAN_STANDARD");
+        List<Long> bookingIds = new ArrayList<>();
+        Map<String, LongAdder[]> outcomes = new ConcurrentHashMap<>();
+
+        // When
+        long started = System.nanoTime();
+        runConcurrently(THREADS, thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Long userId = userIds.get(thread);
+            for (int i = 0; i < OPS_PER_THREAD; i++) {
+                int dice = random.nextInt(100);
+                if (dice < 35) {
+                    Long carId = fleet.carIds().get(random.nextInt(fleet.carIds().size()));
+                    record(outcomes, "create", () -> {
+                        Booking booking = bookingService.createBooking(userId, carId, fleet.categoryId(),
+                                DURATION_MONTHS, KM_PACKAGE, LocalDate.now().plusDays(1));
+                        synchronized (bookingIds) {
+                            bookingIds.add(booking.getId());
+                        }
+                    });
+                    continue;
+                }
+                Long bookingId = pick(bookingIds, random);
+                if (bookingId == null) {
+                    continue;
+                }
+                if (dice < 65) {
+                    boolean succeed = random.nextInt(10) < 8;
+                    record(outcomes, "pay", () -> paymentService.processPayment(bookingId, succeed));
+                } else if (dice < 85) {
+                    record(outcomes, "cancel", () -> bookingService.cancelBooking(bookingId));
+                } else {
+                    record(outcomes, "complete", () -> bookingService.completeBooking(bookingId));
+                }
+            }
+        });
+        report("mixed", outcomes, System.nanoTime() - started);
+
+        // Then
+        assertInvariants(fleet);
+        assertTrue(outcomes.get("create")[0].sum() > 0, "no booking was ever created");
+        assertTrue(outcomes.get("pay")[0].sum() > 0, "no payment ever went through");
+    }
+
+    @Test
+    @DisplayName("Concurrent payments for the same booking leave exactly one payment")
+    void concurrentPaymentsCreateOnePayment() throws Exception {
+        Fleet fleet = fleet("SUV_STANDARD");
+        Map<String, LongAdder[]> outcomes = new ConcurrentHashMap<>();
+        long started = System.nanoTime();
+
+        for (int round = 0; round < OPS_PER_THREAD / 20; round++) {
+            // Given
+            Long bookingId = bookingService.createBooking(userIds.get(0), fleet.carIds().get(0), fleet.categoryId(),
+                    DURATION_MONTHS, KM_PACKAGE, LocalDate.now().plusDays(1)).getId();
+
+            // When
+            runConcurrently(THREADS, thread -> record(outcomes, "pay",
+                    () -> paymentService.processPayment(bookingId, thread % 4 != 0)));
+
+            // Then
+            Integer payments = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM payments WHERE booking_id = ?", Integer.class, bookingId);
+            assertEquals(1, payments, "payments for booking " + bookingId);
+            bookingService.cancelBooking(bookingId); // frees the car for the next round
+        }
+        report("double-pay", outcomes, System.nanoTime() - started);
+        assertInvariants(fleet);
+    }
+
+    @Test
+    @DisplayName("Payment racing cancellation ends either confirmed-then-cancelled or cancelled-unpaid")
+    void paymentRacingCancellation() throws Exception {
+        Fleet fleet = fleet("LUXURY_EXECUTIVE");
+        Map<String, LongAdder[]> outcomes = new ConcurrentHashMap<>();
+        long started = System.nanoTime();
+
+        for (int round = 0; round < OPS_PER_THREAD / 10; round++) {
+            // Given
+            Long bookingId = bookingService.createBooking(userIds.get(1), fleet.carIds().get(0), fleet.categoryId(),
+                    DURATION_MONTHS, KM_PACKAGE, LocalDate.now().plusDays(1)).getId();
+
+            // When
+            runConcurrently(2, thread -> {
+                if (thread == 0) {
+                    record(outcomes, "pay", () -> paymentService.processPayment(bookingId, true));
+                } else {
+                    record(outcomes, "cancel", () -> bookingService.cancelBooking(bookingId));
+                }
+            });
+
+            // Then: if the payment lost, nothing of it may remain
+            String status = jdbcTemplate.queryForObject(
+                    "SELECT status FROM bookings WHERE id = ?", String.class, bookingId);
+            Integer payments = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM payments WHERE booking_id = ?", Integer.class, bookingId);
+            assertTrue(status.equals("CANCELLED") || status.equals("CONFIRMED"), "unexpected status " + status);
+            if (status.equals("CONFIRMED")) {
+                assertEquals(1, payments);
+                bookingService.cancelBooking(bookingId);
+            }
+        }
+        report("pay-vs-cancel", outcomes, System.nanoTime() - started);
+        assertInvariants(fleet);
+    }
+
+    // ---- invariants ----
+
+    private void assertInvariants(Fleet fleet) {
+        assertEquals(List.of(), jdbcTemplate.queryForList(
+                "SELECT car_id FROM bookings WHERE status IN ('PENDING', 'CONFIRMED') " +
+                        "GROUP BY car_id HAVING COUNT(*) > 1", Long.class),
+                "cars with more than one active booking");
+        assertEquals(List.of(), jdbcTemplate.queryForList(
+                "SELECT b.id FROM bookings b JOIN cars c ON c.id = b.car_id " +
+                        "WHERE b.status IN ('PENDING', 'CONFIRMED') AND c.status <> 'RENTED'", Long.class),
+                "active bookings on a released car");
+        assertEquals(List.of(), jdbcTemplate.queryForList(
+                "SELECT c.id FROM cars c WHERE c.category_id = ? AND c.status = 'RENTED' AND NOT EXISTS " +
+                        "(SELECT 1 FROM bookings b WHERE b.car_id = c.id AND b.status IN ('PENDING', 'CONFIRMED'))",
+                Long.class, fleet.categoryId()),
+                "rented cars without an active booking");
+        assertEquals(List.of(), jdbcTemplate.queryForList(
+                "SELECT booking_id FROM payments GROUP BY booking_id HAVING COUNT(*) > 1", Long.class),
+                "bookings with more than one payment");
+        assertEquals(List.of(), jdbcTemplate.queryForList(
+                "SELECT b.id FROM bookings b WHERE b.status IN ('CONFIRMED', 'COMPLETED') AND NOT EXISTS " +
+                        "(SELECT 1 FROM payments p WHERE p.booking_id = b.id AND p.status = 'SUCCESS')", Long.class),
+                "confirmed bookings without a successful payment");
+        assertEquals(List.of(), jdbcTemplate.queryForList(
+                "SELECT b.id FROM bookings b JOIN payments p ON p.booking_id = b.id " +
+                        "WHERE p.status = 'SUCCESS' AND b.status = 'PENDING'", Long.class),
+                "paid bookings still pending");
+    }
+
+    // ---- harness ----
+
+    private record Fleet(Long categoryId, List<Long> carIds) {
+    }
+
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    private interface Operation {
+        void run();
+    }
+
+    private Fleet fleet(String categoryCode) {
+        Long categoryId = categoryRepository.findByCode(categoryCode).orElseThrow().getId();
+        List<Long> carIds = carRepository.findByCategoryIdAndStatus(categoryId, CarStatus.AVAILABLE).stream()
+                .map(Car::getId)
+                .toList();
+        assertFalse(carIds.isEmpty(), "no available cars in " + categoryCode);
+        return new Fleet(categoryId, carIds);
+    }
+
+    // All workers start together on a barrier for maximum overlap; worker failures fail the test
+    private static void runConcurrently(int threads, Worker worker) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    worker.run(thread);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // [0] succeeded, [1] rejected (guard, conflict or constraint - expected under contention);
+    // anything else is rethrown and fails the test through runConcurrently
+    private static void record(Map<String, LongAdder[]> outcomes, String name, Operation operation) {
+        LongAdder[] counters = outcomes.computeIfAbsent(name, n -> new LongAdder[]{new LongAdder(), new LongAdder()});
+        try {
+            operation.run();
+            counters[0].increment();
+        } catch (RuntimeException e) {
+            if (!isExpectedRejection(e)) {
+                throw new AssertionError(name + " failed unexpectedly", e);
+            }
+            counters[1].increment();
+        }
+    }
+
+    private static boolean isExpectedRejection(RuntimeException e) {
+        if (e instanceof DataIntegrityViolationException || e instanceof OptimisticLockingFailureException) {
+            return true;
+        }
+        return e.getClass() == RuntimeException.class && e.getMessage() != null
+                && EXPECTED_REJECTIONS.stream().anyMatch(e.getMessage()::startsWith);
+    }
+
+    private static Long pick(List<Long> ids, ThreadLocalRandom random) {
+        synchronized (ids) {
+            return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+        }
+    }
+
+    private static void report(String scenario, Map<String, LongAdder[]> outcomes, long elapsedNanos) {
+        long total = outcomes.values().stream().mapToLong(c -> c[0].sum() + c[1].sum()).sum();
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder line = new StringBuilder();
+        outcomes.forEach((name, c) -> line.append(' ').append(name).append('=')
+                .append(c[0].sum()).append('/').append(c[0].sum() + c[1].sum()));
+        log.info("Stress [{}]: {} ops in {} s = {} ops/s (succeeded/attempted:{})", scenario, total,
+                String.format("%.2f", seconds), String.format("%.0f", total / seconds), line);
+    }
+}
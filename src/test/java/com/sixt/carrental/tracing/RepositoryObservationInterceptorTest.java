@@ -0,0 +1,80 @@
+package com.sixt.carrental.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepositoryObservationInterceptorTest {
+
+    interface SampleRepository {
+        String findName(Long id);
+    }
+
+    private final List<Observation.Context> stopped = new ArrayList<>();
+    private ObservationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+    }
+
+    private SampleRepository proxy(SampleRepository target) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addInterface(SampleRepository.class);
+        factory.addAdvice(new RepositoryObservationInterceptor(() -> registry, SampleRepository.class));
+        return (SampleRepository) factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Should record one span per repository call, named after repository and method")
+    void shouldObserveRepositoryCall() {
+        // Given
+        SampleRepository repository = proxy(id -> "car-" + id);
+
+        // When
+        String result = repository.findName(7L);
+
+        // Then
+        assertEquals("car-7", result);
+        assertEquals(1, stopped.size());
+        Observation.Context context = stopped.get(0);
+        assertEquals("db.repository", context.getName());
+        assertEquals("SampleRepository.findName", context.getContextualName());
+        assertEquals("findName", context.getLowCardinalityKeyValue("method").getValue());
+        assertNull(context.getError());
+    }
+
+    @Test
+    @DisplayName("Should record the error and rethrow it when the repository call fails")
+    void shouldRecordFailure() {
+        // Given
+        SampleRepository repository = proxy(id -> {
+            throw new IllegalStateException("connection lost");
+        });
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> repository.findName(1L));
+        assertEquals(1, stopped.size());
+        assertInstanceOf(IllegalStateException.class, stopped.get(0).getError());
+    }
+}